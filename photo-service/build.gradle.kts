@@ -3,6 +3,7 @@ plugins {
 	id("org.springframework.boot") version "3.3.0"
 	id("io.spring.dependency-management") version "1.1.5"
 	id("com.google.cloud.tools.jib") version "3.4.2"
+	id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "kr.mafoo"
@@ -31,7 +32,10 @@ dependencies {
 	testImplementation("org.springframework.boot:spring-boot-starter-test")
 	testImplementation("io.projectreactor:reactor-test")
 	testImplementation("org.springframework.security:spring-security-test")
+	testImplementation("com.squareup.okhttp3:mockwebserver:4.12.0")
 	testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+	jmh("org.springframework.boot:spring-boot-starter-test")
+	jmh("com.squareup.okhttp3:mockwebserver:4.12.0")
 	implementation("org.projectlombok:lombok:1.18.32")
 	annotationProcessor("org.projectlombok:lombok:1.18.32")
 	implementation("com.github.f4b6a3:ulid-creator:5.2.3")
@@ -40,13 +44,103 @@ dependencies {
 	implementation("io.opentelemetry:opentelemetry-exporter-zipkin:1.40.0")
 	implementation("io.micrometer:micrometer-registry-prometheus:1.13.2")
 	implementation("com.slack.api:slack-api-client:1.40.3")
-	implementation("net.bramp.ffmpeg:ffmpeg:0.8.0")
 }
 
 tasks.withType<Test> {
 	useJUnitPlatform()
 }
 
+// 성능 측정용 벤치마크, 테스트의 벤더 시뮬레이터를 재사용 (./gradlew jmh)
+jmh {
+	includeTests.set(true)
+	profilers.set(listOf("gc"))
+	resultFormat.set("JSON")
+	jvmArgsAppend.add("-Drecap.benchmark.report-dir=${layout.buildDirectory.dir("results/recap-benchmark").get().asFile}")
+}
+
+// 리캡 벤치마크가 남긴 앨범별 리포트를 기준 장비에서 기록한 기준값과 비교, 허용 범위를 넘게 느려지거나 커지면 실패
+// 기준값 파일이 없거나 리포트의 앨범이 기준값에 빠져 있으면 비교할 수 없으므로 실패
+val recapBenchmarkReports = layout.buildDirectory.dir("results/recap-benchmark")
+val recapBenchmarkBaseline = layout.projectDirectory.file("src/jmh/resources/recap-benchmark-baseline.json")
+
+fun readRecapBenchmarkReports(): Map<String, Map<String, Double>> =
+	recapBenchmarkReports.get().asFile.listFiles { file -> file.extension == "json" }.orEmpty()
+		.sortedBy { it.name }
+		.associate { file ->
+			@Suppress("UNCHECKED_CAST")
+			val report = groovy.json.JsonSlurper().parse(file) as Map<String, Any>
+			val metrics = report.filterValues { it is Number }.mapValues { (it.value as Number).toDouble() }.toMutableMap()
+			@Suppress("UNCHECKED_CAST")
+			(report["stages"] as Map<String, Number>? ?: emptyMap()).forEach { (stage, millis) -> metrics["stages.$stage"] = millis.toDouble() }
+			report["album"] as String to metrics
+		}
+
+tasks.register("recapBenchmarkCheck") {
+	group = "verification"
+	description = "Compares recap benchmark reports against the committed baseline"
+	doLast {
+		if (!recapBenchmarkBaseline.asFile.exists()) {
+			throw GradleException("No recap benchmark baseline, run recapBenchmarkBaseline on the reference machine first")
+		}
+		@Suppress("UNCHECKED_CAST")
+		val baseline = groovy.json.JsonSlurper().parse(recapBenchmarkBaseline.asFile) as Map<String, Any>
+		val tolerance = (baseline["tolerance"] as Number).toDouble()
+		@Suppress("UNCHECKED_CAST")
+		val baselineAlbums = baseline["albums"] as Map<String, Map<String, Number>>
+
+		val reports = readRecapBenchmarkReports()
+		if (reports.isEmpty()) {
+			throw GradleException("No recap benchmark reports, run ./gradlew jmh -Pjmh.includes=RecapPipelineBenchmark first")
+		}
+
+		val regressions = mutableListOf<String>()
+		reports.forEach { (album, metrics) ->
+			val expected = baselineAlbums[album]
+			if (expected == null) {
+				regressions += "$album: no baseline recorded"
+				return@forEach
+			}
+			metrics.forEach { (metric, actual) ->
+				val limit = expected[metric]?.toDouble()?.times(1 + tolerance)
+				if (limit != null && actual > limit) {
+					regressions += "$album $metric: $actual > ${expected[metric]} (+${(tolerance * 100).toInt()}%)"
+				}
+			}
+		}
+		if (regressions.isNotEmpty()) {
+			throw GradleException("Recap benchmark regressed:\n" + regressions.joinToString("\n"))
+		}
+	}
+}
+
+// 기준 장비에서 측정한 결과로 기준값을 갱신 (./gradlew jmh -Pjmh.includes=RecapPipelineBenchmark recapBenchmarkBaseline)
+tasks.register("recapBenchmarkBaseline") {
+	group = "verification"
+	description = "Records the current recap benchmark reports as the baseline"
+	doLast {
+		@Suppress("UNCHECKED_CAST")
+		val baseline = if (recapBenchmarkBaseline.asFile.exists()) {
+			groovy.json.JsonSlurper().parse(recapBenchmarkBaseline.asFile) as Map<String, Any>
+		} else {
+			mapOf("tolerance" to 0.2, "albums" to emptyMap<String, Any>())
+		}
+		@Suppress("UNCHECKED_CAST")
+		val albums = (baseline["albums"] as Map<String, Any>).toMutableMap()
+		albums.putAll(readRecapBenchmarkReports())
+		val updated = mapOf("tolerance" to baseline["tolerance"], "albums" to albums.toSortedMap())
+		recapBenchmarkBaseline.asFile.writeText(groovy.json.JsonOutput.prettyPrint(groovy.json.JsonOutput.toJson(updated)) + "\n")
+	}
+}
+
+tasks.named("jmh") {
+	// 이전 실행의 리포트가 이번 결과와 섞여 비교되지 않도록 비움
+	doFirst { delete(recapBenchmarkReports) }
+	// 기준 장비에서 기준값을 기록한 뒤부터 jmh 실행이 끝나면 바로 비교
+	if (recapBenchmarkBaseline.asFile.exists()) {
+		finalizedBy("recapBenchmarkCheck")
+	}
+}
+
 jib {
 	val activeProfile: String? = System.getenv("SPRING_PROFILES_ACTIVE")
 	val imageName: String? = System.getenv("IMAGE_NAME")
@@ -0,0 +1,93 @@
+package kr.mafoo.photo.benchmark;
+
+import kr.mafoo.photo.domain.enums.AlbumType;
+import kr.mafoo.photo.service.Graphics2dService;
+import kr.mafoo.photo.service.RecapRenderCache;
+import kr.mafoo.photo.util.RecapProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 리캡 요청마다 새로 그리는 앨범 칩의 처리량(chips/s), 여러 리캡이 동시에 그리는 경우도 함께 측정
+// 폰트와 아이콘은 배포 이미지와 같은 경로에서 읽으며, 다른 위치는 -Drecap.path.src=<경로/> 로 지정
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AlbumChipRenderBenchmark {
+
+    private static final String DEFAULT_SRC_PATH = "/usr/bin/recap/src/";
+
+    // 칩 폭은 앨범 이름 길이에 따라 달라지므로 짧은 이름부터 긴 이름까지 돌아가며 사용
+    private static final List<String> ALBUM_NAMES = List.of(
+            "우리",
+            "제주도 여행",
+            "2024 여름 방학 추억",
+            "Mafoo recap benchmark album"
+    );
+
+    @Param({"HEART", "SUMONE"})
+    private AlbumType albumType;
+
+    private Graphics2dService graphics2dService;
+
+    @Setup
+    public void setUp() {
+        String srcPath = System.getProperty("recap.path.src", DEFAULT_SRC_PATH);
+        if (!Files.isDirectory(Path.of(srcPath, "font"))) {
+            throw new IllegalStateException("Recap assets not found under " + srcPath + ", set -Drecap.path.src");
+        }
+
+        RecapProperties recapProperties = new RecapProperties();
+        ReflectionTestUtils.setField(recapProperties, "srcPath", srcPath);
+
+        // 캐시 크기를 0으로 두어 매번 칩을 새로 그리도록 함
+        RecapRenderCache recapRenderCache = new RecapRenderCache();
+        ReflectionTestUtils.setField(recapRenderCache, "maxSize", 0L);
+
+        graphics2dService = new Graphics2dService(recapProperties, recapRenderCache);
+        graphics2dService.preloadAssets();
+    }
+
+    @State(Scope.Thread)
+    public static class AlbumNameCursor {
+        private int index;
+
+        String next() {
+            index = (index + 1) % ALBUM_NAMES.size();
+            return ALBUM_NAMES.get(index);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public BufferedImage chipsPerSecond(AlbumNameCursor cursor) throws IOException {
+        return graphics2dService.renderAlbumChip(cursor.next(), albumType.name());
+    }
+
+    // 여러 리캡이 동시에 칩을 그리는 경우, 캐시와 스레드별 캔버스 경합을 함께 측정
+    @Benchmark
+    @Threads(4)
+    public BufferedImage chipsPerSecondConcurrent(AlbumNameCursor cursor) throws IOException {
+        return graphics2dService.renderAlbumChip(cursor.next(), albumType.name());
+    }
+}
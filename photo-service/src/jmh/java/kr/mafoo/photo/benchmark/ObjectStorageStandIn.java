@@ -0,0 +1,119 @@
+package kr.mafoo.photo.benchmark;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 리캡 파이프라인이 쓰는 S3 API(객체 GET, 멀티파트 업로드)만 흉내 내는 로컬 저장소
+// 업로드된 파트는 보관하지 않고 크기만 세어, 영상 크기에 비례해 벤치마크 메모리가 늘지 않도록 함
+public class ObjectStorageStandIn implements Closeable {
+
+    private final MockWebServer server = new MockWebServer();
+    private final String bucketName;
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    private final AtomicLong uploadedBytes = new AtomicLong();
+    private final AtomicLong uploadIds = new AtomicLong();
+
+    private ObjectStorageStandIn(String bucketName) {
+        this.bucketName = bucketName;
+        this.server.setDispatcher(new StorageDispatcher());
+    }
+
+    public static ObjectStorageStandIn start(String bucketName) throws IOException {
+        ObjectStorageStandIn standIn = new ObjectStorageStandIn(bucketName);
+        standIn.server.start();
+        return standIn;
+    }
+
+    public String endpoint() {
+        return "http://" + server.getHostName() + ":" + server.getPort();
+    }
+
+    // ObjectStorageService.generateFileLink 와 같은 path-style url을 반환
+    public String putObject(String keyName, byte[] content) {
+        objects.put(keyName, content);
+        return endpoint() + "/" + bucketName + "/" + keyName;
+    }
+
+    public long uploadedBytes() {
+        return uploadedBytes.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.shutdown();
+    }
+
+    private class StorageDispatcher extends Dispatcher {
+        @Override
+        public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+            // MockWebServer는 받은 요청을 본문째 큐에 쌓아 두므로, 요청마다 하나씩 비워 파트가 메모리에 남지 않도록 함
+            server.takeRequest(0, TimeUnit.MILLISECONDS);
+
+            String path = request.getRequestUrl().encodedPath();
+            String prefix = "/" + bucketName + "/";
+            if (!path.startsWith(prefix)) {
+                return new MockResponse().setResponseCode(404);
+            }
+            String keyName = path.substring(prefix.length());
+            String uploadId = request.getRequestUrl().queryParameter("uploadId");
+
+            return switch (request.getMethod()) {
+                case "GET" -> getObject(keyName);
+                case "POST" -> uploadId == null ? initiateUpload(keyName) : completeUpload(keyName);
+                case "PUT" -> uploadPart(request);
+                case "DELETE" -> new MockResponse().setResponseCode(204);
+                default -> new MockResponse().setResponseCode(405);
+            };
+        }
+
+        private MockResponse getObject(String keyName) {
+            byte[] content = objects.get(keyName);
+            if (content == null) {
+                return new MockResponse().setResponseCode(404);
+            }
+            return new MockResponse()
+                    .setHeader("Content-Type", "image/jpeg")
+                    .setBody(new Buffer().write(content));
+        }
+
+        private MockResponse initiateUpload(String keyName) {
+            return xml("<InitiateMultipartUploadResult>"
+                    + "<Bucket>" + bucketName + "</Bucket>"
+                    + "<Key>" + keyName + "</Key>"
+                    + "<UploadId>upload-" + uploadIds.incrementAndGet() + "</UploadId>"
+                    + "</InitiateMultipartUploadResult>");
+        }
+
+        // SDK가 파트 본문의 MD5와 ETag를 비교하므로 실제 MD5를 돌려줌
+        private MockResponse uploadPart(RecordedRequest request) {
+            Buffer body = request.getBody();
+            uploadedBytes.addAndGet(body.size());
+            return new MockResponse().setHeader("ETag", "\"" + body.md5().hex() + "\"");
+        }
+
+        private MockResponse completeUpload(String keyName) {
+            return xml("<CompleteMultipartUploadResult>"
+                    + "<Location>" + endpoint() + "/" + bucketName + "/" + keyName + "</Location>"
+                    + "<Bucket>" + bucketName + "</Bucket>"
+                    + "<Key>" + keyName + "</Key>"
+                    + "<ETag>\"benchmark\"</ETag>"
+                    + "</CompleteMultipartUploadResult>");
+        }
+
+        private MockResponse xml(String body) {
+            return new MockResponse()
+                    .setHeader("Content-Type", "application/xml")
+                    .setBody("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + body);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package kr.mafoo.photo.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kr.mafoo.photo.domain.PhotoEntity;
+import kr.mafoo.photo.domain.PhotoObjectEntity;
+import kr.mafoo.photo.domain.enums.BrandType;
+import kr.mafoo.photo.repository.ObjectTombstoneRepository;
+import kr.mafoo.photo.repository.PhotoObjectRepository;
+import kr.mafoo.photo.service.ImageProcessingService;
+import kr.mafoo.photo.service.ObjectStorageService;
+import kr.mafoo.photo.service.PhotoCommand;
+import kr.mafoo.photo.service.PhotoObjectService;
+import kr.mafoo.photo.service.PhotoService;
+import kr.mafoo.photo.service.dto.PhotoUrlDto;
+import kr.mafoo.photo.support.VendorSimulator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static kr.mafoo.photo.support.PhotoServiceBuilder.photoService;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 녹화된 브랜드 응답을 재생하는 시뮬레이터 위에서 PhotoService.addPhotoWithQrUrl 전체 경로를 측정
+// QR 파싱, 다운로드, 재시도, 이미지 정규화는 실제 코드로 돌리고 저장소와 DB만 mock으로 대체
+// 가져오기당 할당량은 gc 프로파일러의 gc.alloc.rate.norm 값으로 확인
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(8)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+public class QrImportBenchmark {
+
+    @Param({
+            "LIFE_FOUR_CUTS", "PHOTOISM", "HARU_FILM", "DONT_LOOK_UP", "MY_FOUR_CUT",
+            "PHOTOGRAY", "MONOMANSION", "PHOTO_SIGNATURE", "PICDOT", "MAFOO"
+    })
+    private BrandType brandType;
+
+    private VendorSimulator vendorSimulator;
+    private Scheduler imageProcessingScheduler;
+    private PhotoService photoService;
+    private String qrUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        vendorSimulator = VendorSimulator.start();
+        qrUrl = vendorSimulator.recording(brandType).validQrUrl();
+
+        // 운영과 같이 CPU 코어 수로 제한된 풀에서 정규화
+        imageProcessingScheduler = Schedulers.newBoundedElastic(
+                Runtime.getRuntime().availableProcessors(), 100, "benchmark-image-processing");
+        ImageProcessingService imageProcessingService = new ImageProcessingService(imageProcessingScheduler);
+        ReflectionTestUtils.setField(imageProcessingService, "thumbnailWidth", 360);
+        ReflectionTestUtils.setField(imageProcessingService, "mediumWidth", 1080);
+        ReflectionTestUtils.setField(imageProcessingService, "variantQuality", 0.85f);
+
+        ObjectStorageService objectStorageService = mock(ObjectStorageService.class);
+        when(objectStorageService.uploadImageWithVariants(anyString(), any())).thenAnswer(invocation -> {
+            String objectId = invocation.getArgument(0);
+            return Mono.just(new PhotoUrlDto(
+                    "https://storage.mafoo.kr/" + objectId,
+                    "https://storage.mafoo.kr/" + objectId + "_thumbnail",
+                    "https://storage.mafoo.kr/" + objectId + "_medium"));
+        });
+
+        // 중복 제거로 업로드가 생략되지 않도록 매번 새 원본처럼 처리
+        PhotoObjectRepository photoObjectRepository = mock(PhotoObjectRepository.class);
+        when(photoObjectRepository.findByIdForShare(anyString())).thenReturn(Mono.empty());
+        when(photoObjectRepository.save(any(PhotoObjectEntity.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(photoObjectRepository.updateUrls(anyString(), any(), any(), any())).thenReturn(Mono.just(1));
+
+        ObjectTombstoneRepository objectTombstoneRepository = mock(ObjectTombstoneRepository.class);
+        when(objectTombstoneRepository.countPendingByReferenceUrl(anyString())).thenReturn(Mono.just(0L));
+
+        PhotoCommand photoCommand = mock(PhotoCommand.class);
+        when(photoCommand.addPhotoWithoutOwnerAndAlbum(any(), any())).thenAnswer(invocation -> {
+            PhotoUrlDto photoUrls = invocation.getArgument(0);
+            return Mono.just(PhotoEntity.newPhoto("benchmark", photoUrls.photoUrl(), invocation.getArgument(1), null, null, null));
+        });
+
+        // DB가 없으므로 트랜잭션 경계는 그대로 통과하고, 지정하지 않은 협력 객체는 mock
+        photoService = photoService()
+                .photoCommand(photoCommand)
+                .qrService(vendorSimulator.qrService())
+                .objectStorageService(objectStorageService)
+                .photoObjectService(new PhotoObjectService(photoObjectRepository, objectTombstoneRepository, objectStorageService, imageProcessingService, new SimpleMeterRegistry()))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        vendorSimulator.close();
+        imageProcessingScheduler.dispose();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public PhotoEntity importsPerSecond() {
+        return importPhoto();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public PhotoEntity importLatency() {
+        return importPhoto();
+    }
+
+    private PhotoEntity importPhoto() {
+        return photoService.addPhotoWithQrUrl(qrUrl, "benchmark-member", null).block();
+    }
+}
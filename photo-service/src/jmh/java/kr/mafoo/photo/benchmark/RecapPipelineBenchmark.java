@@ -0,0 +1,396 @@
+package kr.mafoo.photo.benchmark;
+
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder;
+import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import kr.mafoo.photo.domain.AlbumEntity;
+import kr.mafoo.photo.domain.PhotoEntity;
+import kr.mafoo.photo.domain.enums.AlbumType;
+import kr.mafoo.photo.domain.enums.BrandType;
+import kr.mafoo.photo.service.AlbumPermissionVerifier;
+import kr.mafoo.photo.service.Graphics2dService;
+import kr.mafoo.photo.service.LocalFileService;
+import kr.mafoo.photo.service.MemberService;
+import kr.mafoo.photo.service.ObjectStorageService;
+import kr.mafoo.photo.service.PhotoService;
+import kr.mafoo.photo.service.RecapCacheService;
+import kr.mafoo.photo.service.RecapRenderCache;
+import kr.mafoo.photo.service.RecapServiceOld;
+import kr.mafoo.photo.service.RecapStageObserver;
+import kr.mafoo.photo.service.RecapVideoEncoder;
+import kr.mafoo.photo.support.ApplicationProperties;
+import kr.mafoo.photo.util.IdGenerator;
+import kr.mafoo.photo.util.RecapEncodingProperties;
+import kr.mafoo.photo.util.RecapProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.runner.IterationType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 합성한 2~10장짜리 앨범으로 RecapServiceOld 전체 경로(다운로드, 합성, ffmpeg 인코딩, 멀티파트 업로드)를 측정
+// 저장소는 로컬 S3 대역(ObjectStorageService 그대로 사용), 권한 확인과 사진 조회, 리캡 캐시만 mock으로 대체
+// 조합마다 단계별 평균 시간, 최대 RSS, 작업 공간 크기를 recap.benchmark.report-dir 에 JSON으로 남기고
+// recapBenchmarkBaseline 태스크로 기준 장비의 결과를 recap-benchmark-baseline.json 에 기록하고, recapBenchmarkCheck 태스크로 비교함
+// ffmpeg 위치는 -Dffmpeg.path, 실제 폰트와 배경은 -Drecap.path.src 로 지정 (없으면 합성 배경과 시스템 폰트 사용)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RecapPipelineBenchmark {
+
+    private static final String BUCKET_NAME = "mafoo-benchmark";
+    private static final String ALBUM_ID = "benchmark-album";
+    private static final String MEMBER_ID = "benchmark-member";
+    private static final AlbumType ALBUM_TYPE = AlbumType.HEART;
+
+    // 합성 배경 크기, 배경 크기가 곧 영상 크기가 되며 사진은 1200x1776 안에 맞춰 그려짐
+    private static final int FRAME_WIDTH = 1440;
+    private static final int FRAME_HEIGHT = 2560;
+
+    @Param({"2", "5", "10"})
+    private int photoCount;
+
+    // 부스 사진 원본과 휴대폰 사진 크기
+    @Param({"1200x1800", "2400x3600", "3024x4032"})
+    private String resolution;
+
+    private Path workDirectory;
+    private ObjectStorageStandIn objectStorageStandIn;
+    private Scheduler recapRenderScheduler;
+    private SimpleMeterRegistry meterRegistry;
+    private RecapServiceOld recapServiceOld;
+
+    private final List<Long> latencies = new ArrayList<>();
+    private Map<String, double[]> stageBaseline;
+    private double[] workspaceBaseline;
+    private long uploadedBaseline;
+    private boolean measuring;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        workDirectory = Files.createTempDirectory("recap-benchmark");
+        objectStorageStandIn = ObjectStorageStandIn.start(BUCKET_NAME);
+
+        Path tmpPath = Files.createDirectories(workDirectory.resolve("tmp"));
+        RecapProperties recapProperties = new RecapProperties();
+        ReflectionTestUtils.setField(recapProperties, "tmpPath", tmpPath + "/");
+        ReflectionTestUtils.setField(recapProperties, "srcPath", recapAssetPath());
+
+        List<PhotoEntity> album = syntheticAlbum();
+
+        AlbumPermissionVerifier albumPermissionVerifier = mock(AlbumPermissionVerifier.class);
+        when(albumPermissionVerifier.verifyOwnershipOrAccessPermission(anyString(), anyString(), any()))
+                .thenReturn(Mono.just(AlbumEntity.newAlbum(ALBUM_ID, "벤치마크 앨범", ALBUM_TYPE, MEMBER_ID, null)));
+
+        PhotoService photoService = mock(PhotoService.class);
+        when(photoService.findPhotoListByAlbumId(anyString(), anyString(), any()))
+                .thenAnswer(invocation -> Flux.fromIterable(album));
+
+        // 매번 새로 렌더링하도록 캐시는 항상 비어 있음
+        RecapCacheService recapCacheService = mock(RecapCacheService.class);
+        when(recapCacheService.fingerprint(any(), any(), any(), any(), any())).thenReturn("benchmark");
+        when(recapCacheService.findRecapUrl(anyString(), anyString())).thenReturn(Mono.empty());
+        when(recapCacheService.saveRecapUrl(anyString(), anyString(), anyString())).thenReturn(Mono.empty());
+
+        RecapRenderCache recapRenderCache = new RecapRenderCache();
+        ReflectionTestUtils.setField(recapRenderCache, "maxSize", 0L);
+        Graphics2dService graphics2dService = new Graphics2dService(recapProperties, recapRenderCache);
+        graphics2dService.preloadAssets();
+
+        RecapVideoEncoder recapVideoEncoder = new RecapVideoEncoder(
+                ApplicationProperties.bind("recap.encoding", RecapEncodingProperties.class));
+        ReflectionTestUtils.setField(recapVideoEncoder, "ffmpegPath", System.getProperty("ffmpeg.path", "ffmpeg"));
+
+        meterRegistry = new SimpleMeterRegistry();
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+
+        // 운영 기본값과 같은 동시 렌더링 수와 대기열
+        recapRenderScheduler = Schedulers.newBoundedElastic(2, 20, "benchmark-recap-render");
+
+        recapServiceOld = new RecapServiceOld(
+                albumPermissionVerifier,
+                photoService,
+                mock(MemberService.class),
+                objectStorageService(recapProperties),
+                graphics2dService,
+                recapVideoEncoder,
+                recapRenderScheduler,
+                new LocalFileService(),
+                recapCacheService,
+                new RecapStageObserver(observationRegistry),
+                meterRegistry,
+                recapProperties
+        );
+        // 운영 한도(recap.max-size)보다 큰 앨범도 전부 렌더링하도록 앨범 크기만큼 허용
+        ReflectionTestUtils.setField(recapServiceOld, "recapImageMaxSize", photoCount);
+    }
+
+    // 워밍업 중에 기록된 단계 시간은 빼고 측정 구간만 보고하도록 첫 측정 반복에서 기준점을 잡음
+    @Setup(Level.Iteration)
+    public void startIteration(IterationParams iterationParams) {
+        measuring = iterationParams.getType() == IterationType.MEASUREMENT;
+        if (measuring && stageBaseline == null) {
+            stageBaseline = stageSnapshots();
+            workspaceBaseline = workspaceSnapshot();
+            uploadedBaseline = objectStorageStandIn.uploadedBytes();
+        }
+    }
+
+    @Benchmark
+    public String createRecap() {
+        long startedAt = System.nanoTime();
+        String recapUrl = recapServiceOld.createRecap(
+                IdGenerator.generate(), ALBUM_ID, MEMBER_ID, "벤치마크", null, progress -> Mono.empty()
+        ).block();
+        if (measuring) {
+            latencies.add(System.nanoTime() - startedAt);
+        }
+        return recapUrl;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try {
+            writeReport();
+        } finally {
+            recapRenderScheduler.dispose();
+            objectStorageStandIn.close();
+            try (Stream<Path> paths = Files.walk(workDirectory)) {
+                paths.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    private void writeReport() throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("album", photoCount + "x" + resolution);
+        report.put("latencyMs", toMillis(latencies.stream().mapToLong(Long::longValue).average().orElse(0)));
+
+        Map<String, Object> stages = new LinkedHashMap<>();
+        stageSnapshots().forEach((stage, snapshot) -> {
+            double[] before = stageBaseline.getOrDefault(stage, new double[2]);
+            double count = snapshot[0] - before[0];
+            if (count > 0) {
+                stages.put(stage, round((snapshot[1] - before[1]) / count));
+            }
+        });
+        report.put("stages", stages);
+
+        // 리캡 하나당 평균 작업 공간 크기와 업로드한 영상 크기
+        double[] workspace = workspaceSnapshot();
+        double recaps = Math.max(1, latencies.size());
+        report.put("workspaceMb", toMegabytes((workspace[1] - workspaceBaseline[1]) / Math.max(1, workspace[0] - workspaceBaseline[0])));
+        report.put("uploadedMb", toMegabytes((objectStorageStandIn.uploadedBytes() - uploadedBaseline) / recaps));
+        peakRssMb().ifPresent(peakRss -> report.put("peakRssMb", peakRss));
+
+        Path reportDirectory = Path.of(System.getProperty("recap.benchmark.report-dir", "build/results/recap-benchmark"));
+        Files.createDirectories(reportDirectory);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(reportDirectory.resolve(photoCount + "x" + resolution + ".json").toFile(), report);
+    }
+
+    // 같은 단계라도 album.type, error 태그에 따라 타이머가 나뉘므로 단계 이름으로 합친 {횟수, 누적 ms}
+    private Map<String, double[]> stageSnapshots() {
+        Map<String, double[]> snapshots = new LinkedHashMap<>();
+        meterRegistry.find("recap.stage").timers().forEach(timer -> snapshots.merge(
+                timer.getId().getTag("stage"),
+                new double[]{timer.count(), timer.totalTime(TimeUnit.MILLISECONDS)},
+                (left, right) -> new double[]{left[0] + right[0], left[1] + right[1]}
+        ));
+        return snapshots;
+    }
+
+    private double[] workspaceSnapshot() {
+        DistributionSummary workspaceSize = meterRegistry.find("recap.workspace.size").summary();
+        return workspaceSize == null ? new double[2] : new double[]{workspaceSize.count(), workspaceSize.totalAmount()};
+    }
+
+    // 리눅스에서만 제공되는 프로세스 최대 RSS, 다른 OS에서는 보고하지 않음
+    private static Optional<Long> peakRssMb() {
+        Path status = Path.of("/proc/self/status");
+        if (!Files.isReadable(status)) {
+            return Optional.empty();
+        }
+        try (Stream<String> lines = Files.lines(status)) {
+            return lines.filter(line -> line.startsWith("VmHWM:"))
+                    .map(line -> Long.parseLong(line.replaceAll("\\D", "")) / 1024)
+                    .findFirst();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ObjectStorageService objectStorageService(RecapProperties recapProperties) {
+        AmazonS3Client amazonS3Client = (AmazonS3Client) AmazonS3ClientBuilder.standard()
+                .withCredentials(new AWSStaticCredentialsProvider(new BasicAWSCredentials("benchmark", "benchmark")))
+                .withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(objectStorageStandIn.endpoint(), "kr-standard"))
+                .withClientConfiguration(new ClientConfiguration().withSignerOverride("AWSS3V4SignerType"))
+                .withPathStyleAccessEnabled(true)
+                .build();
+
+        ObjectStorageService objectStorageService = new ObjectStorageService(
+                amazonS3Client,
+                null,
+                null,
+                recapProperties,
+                WebClient.create(),
+                Schedulers.boundedElastic()
+        );
+        ReflectionTestUtils.setField(objectStorageService, "endpoint", objectStorageStandIn.endpoint());
+        ReflectionTestUtils.setField(objectStorageService, "bucketName", BUCKET_NAME);
+        ReflectionTestUtils.setField(objectStorageService, "recapDownloadConcurrency", 5);
+        ReflectionTestUtils.setField(objectStorageService, "recapDownloadTimeout", Duration.ofSeconds(10));
+        return objectStorageService;
+    }
+
+    // 사진처럼 압축되도록 그라데이션 위에 무작위 도형을 그린 JPEG를 저장소 대역에 올림
+    private List<PhotoEntity> syntheticAlbum() throws IOException {
+        String[] size = resolution.split("x");
+        int width = Integer.parseInt(size[0]);
+        int height = Integer.parseInt(size[1]);
+        Random random = new Random(photoCount * 31L + width);
+
+        List<PhotoEntity> album = new ArrayList<>(photoCount);
+        for (int i = 0; i < photoCount; i++) {
+            BufferedImage photo = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g2d = photo.createGraphics();
+            g2d.setPaint(new GradientPaint(0, 0, new Color(random.nextInt()), width, height, new Color(random.nextInt())));
+            g2d.fillRect(0, 0, width, height);
+            for (int j = 0; j < 500; j++) {
+                g2d.setColor(new Color(random.nextInt()));
+                g2d.fillOval(random.nextInt(width), random.nextInt(height), width / 40 + random.nextInt(width / 10), width / 40 + random.nextInt(width / 10));
+            }
+            g2d.dispose();
+
+            String photoUrl = objectStorageStandIn.putObject("photo/" + resolution + "/" + i + ".jpeg", toJpeg(photo));
+            album.add(PhotoEntity.newPhoto("benchmark-photo-" + i, photoUrl, BrandType.EXTERNAL, ALBUM_ID, i, MEMBER_ID));
+        }
+        return album;
+    }
+
+    // 배포 환경의 리캡 리소스가 없으면 같은 구조로 합성 배경과 아이콘을 만들고 시스템 폰트를 복사해서 사용
+    private String recapAssetPath() throws IOException {
+        String assetPath = System.getProperty("recap.path.src");
+        if (assetPath != null) {
+            return assetPath;
+        }
+
+        Path source = workDirectory.resolve("src");
+        Files.createDirectories(source.resolve("background"));
+        Files.createDirectories(source.resolve("icon"));
+        Files.createDirectories(source.resolve("font"));
+
+        BufferedImage background = new BufferedImage(FRAME_WIDTH, FRAME_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D backgroundGraphics = background.createGraphics();
+        backgroundGraphics.setPaint(new GradientPaint(0, 0, new Color(255, 154, 162), 0, FRAME_HEIGHT, new Color(255, 218, 193)));
+        backgroundGraphics.fillRect(0, 0, FRAME_WIDTH, FRAME_HEIGHT);
+        backgroundGraphics.dispose();
+
+        BufferedImage icon = new BufferedImage(44, 44, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D iconGraphics = icon.createGraphics();
+        iconGraphics.setColor(new Color(255, 99, 132));
+        iconGraphics.fillOval(0, 0, 44, 44);
+        iconGraphics.dispose();
+
+        for (AlbumType albumType : AlbumType.values()) {
+            ImageIO.write(background, "png", source.resolve("background/" + albumType.name() + ".png").toFile());
+            ImageIO.write(icon, "png", source.resolve("icon/" + albumType.name() + ".png").toFile());
+        }
+
+        Path font = systemFont();
+        for (String fontName : List.of("Pretendard-SemiBold.otf", "SB_AggroOTF_M.otf", "SB_AggroOTF_B.otf")) {
+            Files.copy(font, source.resolve("font/" + fontName));
+        }
+        return source + "/";
+    }
+
+    private static Path systemFont() throws IOException {
+        String fontPath = System.getProperty("benchmark.font");
+        if (fontPath != null) {
+            return Path.of(fontPath);
+        }
+        for (String fontDirectory : List.of("/usr/share/fonts", "/Library/Fonts", "/System/Library/Fonts", "C:/Windows/Fonts")) {
+            Path directory = Path.of(fontDirectory);
+            if (!Files.isDirectory(directory)) {
+                continue;
+            }
+            try (Stream<Path> paths = Files.walk(directory)) {
+                Optional<Path> font = paths.filter(path -> path.toString().toLowerCase().endsWith(".ttf")).findFirst();
+                if (font.isPresent()) {
+                    return font.get();
+                }
+            }
+        }
+        throw new IllegalStateException("No TrueType font found, set -Dbenchmark.font or -Drecap.path.src");
+    }
+
+    private static byte[] toJpeg(BufferedImage image) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpeg", outputStream);
+        return outputStream.toByteArray();
+    }
+
+    private static double toMillis(double nanos) {
+        return round(nanos / 1_000_000);
+    }
+
+    private static double toMegabytes(double bytes) {
+        return round(bytes / (1024 * 1024));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+}
@@ -4,9 +4,11 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import kr.mafoo.photo.annotation.RequestMemberId;
 import kr.mafoo.photo.controller.dto.request.ObjectStoragePreSignedUrlRequest;
+import kr.mafoo.photo.controller.dto.response.PreSignedPostResponse;
 import kr.mafoo.photo.controller.dto.response.PreSignedUrlResponse;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Validated
@@ -24,6 +26,16 @@ public interface ObjectStorageApi {
             ObjectStoragePreSignedUrlRequest request
     );
 
+    @Operation(summary = "Pre-signed POST 요청", description = "파일 크기와 형식이 제한된 Pre-signed POST 정책 목록을 발급합니다.")
+    @PostMapping("/presigned-posts")
+    Flux<PreSignedPostResponse> createPreSignedPosts(
+            @RequestMemberId
+            String memberId,
+
+            @RequestBody
+            ObjectStoragePreSignedUrlRequest request
+    );
+
     @Operation(summary = "리캡 Pre-signed Url 요청", description = "리캡 생성을 위한 Pre-signed Url 목록을 발급합니다.")
     @PostMapping("/recap")
     Mono<PreSignedUrlResponse> createRecapPreSignedUrls(
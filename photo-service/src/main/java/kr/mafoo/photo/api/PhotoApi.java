@@ -4,11 +4,15 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 import kr.mafoo.photo.annotation.RequestMemberId;
 import kr.mafoo.photo.annotation.ULID;
 import kr.mafoo.photo.controller.dto.request.*;
 import kr.mafoo.photo.controller.dto.response.PhotoResponse;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -46,7 +50,7 @@ public interface PhotoApi {
             PhotoCreateWithQrUrlRequest request
     );
 
-    @Operation(summary = "QR 사진 업로드", description = "QR을 사용해 사진을 업로드합니다.")
+    @Operation(summary = "QR 사진 업로드", description = "QR을 사용해 사진을 업로드합니다. 같은 멱등성 키로 재요청하면 처음 생성된 사진을 반환합니다.")
     @PostMapping(value = "/qr")
     Mono<PhotoResponse> createPhotoWithQrUrl(
             @RequestMemberId
@@ -54,7 +58,28 @@ public interface PhotoApi {
 
             @Valid
             @RequestBody
-            PhotoCreateWithQrUrlRequest request
+            PhotoCreateWithQrUrlRequest request,
+
+            @Size(max = 64)
+            @Parameter(description = "멱등성 키", example = "01J3Z8Y7Q6X5W4V3T2S1R0P9N8")
+            @RequestHeader(value = "Idempotency-Key", required = false)
+            String idempotencyKey
+    );
+
+    @Operation(summary = "QR 사진/영상 업로드", description = "QR을 사용해 사진과, 브랜드가 제공하는 경우 영상을 함께 업로드합니다.")
+    @PostMapping(value = "/qr/assets")
+    Flux<PhotoResponse> createPhotoAndVideoWithQrUrl(
+            @RequestMemberId
+            String memberId,
+
+            @Valid
+            @RequestBody
+            PhotoCreateWithQrUrlRequest request,
+
+            @Size(max = 64)
+            @Parameter(description = "멱등성 키", example = "01J3Z8Y7Q6X5W4V3T2S1R0P9N8")
+            @RequestHeader(value = "Idempotency-Key", required = false)
+            String idempotencyKey
     );
 
     @Operation(summary = "파일(url) 사진 n건 업로드", description = "파일(url)을 사용해 사진을 업로드합니다.")
@@ -68,6 +93,17 @@ public interface PhotoApi {
             PhotoCreateBulkWithFileUrlsRequest request
     );
 
+    @Operation(summary = "업로드 완료 사진 n건 등록", description = "Pre-signed POST로 업로드를 마친 파일들을 사진으로 등록합니다.")
+    @PostMapping(value = "/uploads")
+    Flux<PhotoResponse> createPhotoBulkWithUploadKeys(
+            @RequestMemberId
+            String memberId,
+
+            @Valid
+            @RequestBody
+            PhotoCreateBulkWithUploadKeysRequest request
+    );
+
     @Operation(summary = "사진 파일로 업로드", description = "사진을 직접 업로드합니다.")
     @PostMapping(value = "/files", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     Flux<PhotoResponse> uploadPhoto(
@@ -78,6 +114,30 @@ public interface PhotoApi {
             Flux<FilePart> request
     );
 
+    @Operation(summary = "사진 크기 변환 조회", description = "요청한 너비와 형식으로 변환된 사진을 조회합니다. 처음 요청 시 변환되어 캐시됩니다.")
+    @GetMapping(value = "/{photoId}/renditions")
+    Mono<ResponseEntity<Resource>> getPhotoRendition(
+            @RequestMemberId
+            String memberId,
+
+            @ULID
+            @Parameter(description = "사진 ID", example = "test_photo_id")
+            @PathVariable
+            String photoId,
+
+            @Parameter(description = "너비(px)", example = "360")
+            @RequestParam
+            Integer width,
+
+            @Parameter(description = "형식", example = "jpeg | png")
+            @RequestParam(required = false)
+            String format,
+
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+            String ifNoneMatch
+    );
+
     @Operation(summary = "사진 앨범 설정", description = "사진의 초기 앨범 정보를 설정합니다.")
     @PatchMapping(value = "/{photoId}/album")
     Mono<PhotoResponse> setPhotoAlbum(
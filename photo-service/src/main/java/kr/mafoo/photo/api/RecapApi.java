@@ -5,8 +5,10 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import kr.mafoo.photo.annotation.RequestMemberId;
+import kr.mafoo.photo.annotation.ULID;
 import kr.mafoo.photo.controller.dto.request.RecapCreateRequest;
 import kr.mafoo.photo.controller.dto.request.RecapCreateRequestOld;
+import kr.mafoo.photo.controller.dto.response.RecapJobResponse;
 import kr.mafoo.photo.controller.dto.response.RecapResponse;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.validation.annotation.Validated;
@@ -46,4 +48,46 @@ public interface RecapApi {
         RecapCreateRequest request
     );
 
+    @Operation(summary = "(구 버전) 리캡 생성 작업 등록", description = "앨범의 리캡 생성 작업을 대기열에 등록합니다.")
+    @PostMapping("/jobs")
+    Mono<RecapJobResponse> createRecapJob(
+        @RequestMemberId
+        String memberId,
+
+        @Valid
+        @RequestBody
+        RecapCreateRequestOld request,
+
+        @Parameter(description = "정렬 종류", example = "ASC | DESC")
+        @RequestParam(required = false)
+        String sort,
+
+        // Authorization Header를 받아올 목적
+        ServerHttpRequest serverHttpRequest
+    );
+
+    @Operation(summary = "리캡 생성 작업 조회", description = "리캡 생성 작업의 상태와 진행률을 조회합니다.")
+    @GetMapping("/jobs/{recapJobId}")
+    Mono<RecapJobResponse> getRecapJob(
+        @RequestMemberId
+        String memberId,
+
+        @ULID
+        @Parameter(description = "리캡 작업 ID", example = "test_recap_job_id")
+        @PathVariable
+        String recapJobId
+    );
+
+    @Operation(summary = "리캡 생성 작업 취소", description = "대기 중이거나 실행 중인 리캡 생성 작업을 취소합니다.")
+    @DeleteMapping("/jobs/{recapJobId}")
+    Mono<RecapJobResponse> cancelRecapJob(
+        @RequestMemberId
+        String memberId,
+
+        @ULID
+        @Parameter(description = "리캡 작업 ID", example = "test_recap_job_id")
+        @PathVariable
+        String recapJobId
+    );
+
 }
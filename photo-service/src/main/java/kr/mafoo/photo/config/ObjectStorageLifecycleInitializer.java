@@ -0,0 +1,91 @@
+package kr.mafoo.photo.config;
+
+import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.model.AbortIncompleteMultipartUpload;
+import com.amazonaws.services.s3.model.BucketLifecycleConfiguration;
+import com.amazonaws.services.s3.model.lifecycle.LifecycleFilter;
+import com.amazonaws.services.s3.model.lifecycle.LifecyclePrefixPredicate;
+import kr.mafoo.photo.util.ObjectKeyGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class ObjectStorageLifecycleInitializer {
+
+    private final AmazonS3Client amazonS3Client;
+
+    @Value("${cloud.aws.s3.bucket}")
+    private String bucketName;
+
+    @Value("${cloud.aws.s3.lifecycle.enabled}")
+    private boolean enabled;
+
+    @Value("${cloud.aws.s3.lifecycle.recap-photo-expiration-days}")
+    private int recapPhotoExpirationDays;
+
+    @Value("${cloud.aws.s3.lifecycle.recap-video-expiration-days}")
+    private int recapVideoExpirationDays;
+
+    @Value("${cloud.aws.s3.lifecycle.incomplete-upload-expiration-days}")
+    private int incompleteUploadExpirationDays;
+
+    // 리캡 산출물은 만료시키고, 중단된 multipart 업로드 조각도 정리
+    // 버킷에 다른 규칙이 있을 수 있으므로 기존 설정을 읽어 이 서비스가 관리하는 id의 규칙만 교체
+    @EventListener(ApplicationReadyEvent.class)
+    public void applyLifecycleRules() {
+        if (!enabled) {
+            return;
+        }
+
+        List<BucketLifecycleConfiguration.Rule> managedRules = List.of(
+                expirationRule("expire-recap-photo", ObjectKeyGenerator.EPHEMERAL_RECAP_PHOTO_PREFIX, recapPhotoExpirationDays),
+                expirationRule("expire-recap-video", ObjectKeyGenerator.EPHEMERAL_RECAP_VIDEO_PREFIX, recapVideoExpirationDays),
+                new BucketLifecycleConfiguration.Rule()
+                        .withId("abort-incomplete-upload")
+                        .withFilter(new LifecycleFilter(new LifecyclePrefixPredicate("")))
+                        .withAbortIncompleteMultipartUpload(new AbortIncompleteMultipartUpload()
+                                .withDaysAfterInitiation(incompleteUploadExpirationDays))
+                        .withStatus(BucketLifecycleConfiguration.ENABLED)
+        );
+
+        try {
+            Set<String> managedRuleIds = managedRules.stream()
+                    .map(BucketLifecycleConfiguration.Rule::getId)
+                    .collect(Collectors.toSet());
+
+            // 설정이 없는 버킷은 null을 반환
+            BucketLifecycleConfiguration existing = amazonS3Client.getBucketLifecycleConfiguration(bucketName);
+            List<BucketLifecycleConfiguration.Rule> rules = new ArrayList<>();
+            if (existing != null && existing.getRules() != null) {
+                existing.getRules().stream()
+                        .filter(rule -> !managedRuleIds.contains(rule.getId()))
+                        .forEach(rules::add);
+            }
+            rules.addAll(managedRules);
+
+            amazonS3Client.setBucketLifecycleConfiguration(bucketName, new BucketLifecycleConfiguration().withRules(rules));
+        } catch (Exception e) {
+            // 수명 주기 설정에 실패해도 서비스는 정상 기동
+            log.warn("Failed to apply object storage lifecycle rules", e);
+        }
+    }
+
+    private BucketLifecycleConfiguration.Rule expirationRule(String id, String prefix, int expirationDays) {
+        return new BucketLifecycleConfiguration.Rule()
+                .withId(id)
+                .withFilter(new LifecycleFilter(new LifecyclePrefixPredicate(prefix)))
+                .withExpirationInDays(expirationDays)
+                .withStatus(BucketLifecycleConfiguration.ENABLED);
+    }
+}
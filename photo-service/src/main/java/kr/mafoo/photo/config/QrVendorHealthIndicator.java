@@ -0,0 +1,30 @@
+package kr.mafoo.photo.config;
+
+import kr.mafoo.photo.service.QrVendorCircuitBreaker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RequiredArgsConstructor
+@Component
+public class QrVendorHealthIndicator implements HealthIndicator {
+
+    private final QrVendorCircuitBreaker qrVendorCircuitBreaker;
+
+    // 브랜드 서버 장애로 파드가 재시작되지 않도록 상태는 항상 UP으로 두고 상세 정보로만 노출
+    @Override
+    public Health health() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        qrVendorCircuitBreaker.getVendorStates().forEach((brandType, vendorState) ->
+                details.put(brandType.name(), Map.of(
+                        "state", vendorState.getState(),
+                        "consecutiveFailures", vendorState.getConsecutiveFailures()
+                ))
+        );
+        return Health.up().withDetails(details).build();
+    }
+}
@@ -0,0 +1,47 @@
+package kr.mafoo.photo.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+public class SchedulerConfig {
+
+    // 대용량 영상 업로드가 다른 blocking 작업의 스레드를 점유하지 않도록 별도 풀로 제한
+    @Bean(name = "videoUploadScheduler", destroyMethod = "dispose")
+    public Scheduler videoUploadScheduler(
+            @Value("${qr.video.max-concurrency}") int maxConcurrency,
+            @Value("${qr.video.max-queued}") int maxQueued
+    ) {
+        return Schedulers.newBoundedElastic(maxConcurrency, maxQueued, "video-upload");
+    }
+
+    // 이미지 디코딩/리사이즈는 CPU 작업이므로 코어 수 만큼만 동시에 처리
+    @Bean(name = "imageProcessingScheduler", destroyMethod = "dispose")
+    public Scheduler imageProcessingScheduler(
+            @Value("${image.processing.max-concurrency:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int maxConcurrency,
+            @Value("${image.processing.max-queued}") int maxQueued
+    ) {
+        return Schedulers.newBoundedElastic(maxConcurrency, maxQueued, "image-processing");
+    }
+
+    // 썸네일 요청이 몰려도 API 요청 처리에 필요한 CPU를 남겨두도록 동시 렌더링 수를 제한
+    @Bean(name = "photoRenditionScheduler", destroyMethod = "dispose")
+    public Scheduler photoRenditionScheduler(
+            @Value("${photo.rendition.max-concurrency}") int maxConcurrency,
+            @Value("${photo.rendition.max-queued}") int maxQueued
+    ) {
+        return Schedulers.newBoundedElastic(maxConcurrency, maxQueued, "photo-rendition");
+    }
+
+    // 리캡 합성과 인코딩은 ffmpeg 프로세스를 하나씩 점유하므로 동시에 만드는 리캡 수를 제한
+    @Bean(name = "recapRenderScheduler", destroyMethod = "dispose")
+    public Scheduler recapRenderScheduler(
+            @Value("${recap.render.max-concurrency}") int maxConcurrency,
+            @Value("${recap.render.max-queued}") int maxQueued
+    ) {
+        return Schedulers.newBoundedElastic(maxConcurrency, maxQueued, "recap-render");
+    }
+}
@@ -6,6 +6,14 @@ import kr.mafoo.photo.exception.DomainException;
 import kr.mafoo.photo.exception.ErrorCode;
 import kr.mafoo.photo.exception.MafooRecapLambdaApiFailedException;
 import kr.mafoo.photo.exception.PhotoBrandNotExistsException;
+import kr.mafoo.photo.exception.PhotoQrImportInProgressException;
+import kr.mafoo.photo.exception.PhotoQrVendorUnavailableException;
+import kr.mafoo.photo.exception.PhotoRenditionBusyException;
+import kr.mafoo.photo.exception.PreSignedUrlQuotaExceededException;
+import kr.mafoo.photo.exception.RecapJobLimitExceededException;
+import kr.mafoo.photo.exception.RecapJobQueueFullException;
+import kr.mafoo.photo.exception.RecapLambdaBusyException;
+import kr.mafoo.photo.exception.RecapRenderBusyException;
 import kr.mafoo.photo.service.SlackService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -44,6 +52,27 @@ public class WebExceptionHandler {
                 .body(ErrorResponse.fromErrorCode(exception.getErrorCode()));
     }
 
+    @ExceptionHandler({
+            PhotoQrImportInProgressException.class,
+            PhotoQrVendorUnavailableException.class,
+            PhotoRenditionBusyException.class,
+            RecapJobQueueFullException.class,
+            RecapLambdaBusyException.class,
+            RecapRenderBusyException.class
+    })
+    public ResponseEntity<ErrorResponse> handleServiceUnavailableException(DomainException exception) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ErrorResponse.fromErrorCode(exception.getErrorCode()));
+    }
+
+    @ExceptionHandler({PreSignedUrlQuotaExceededException.class, RecapJobLimitExceededException.class})
+    public ResponseEntity<ErrorResponse> handleTooManyRequestsException(DomainException exception) {
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .body(ErrorResponse.fromErrorCode(exception.getErrorCode()));
+    }
+
     @ExceptionHandler({MethodArgumentNotValidException.class,
             ConstraintViolationException.class,
             WebExchangeBindException.class})
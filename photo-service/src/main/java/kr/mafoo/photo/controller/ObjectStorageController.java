@@ -2,10 +2,12 @@ package kr.mafoo.photo.controller;
 
 import kr.mafoo.photo.api.ObjectStorageApi;
 import kr.mafoo.photo.controller.dto.request.*;
+import kr.mafoo.photo.controller.dto.response.PreSignedPostResponse;
 import kr.mafoo.photo.controller.dto.response.PreSignedUrlResponse;
 import kr.mafoo.photo.service.ObjectStorageService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @RequiredArgsConstructor
@@ -24,6 +26,17 @@ public class ObjectStorageController implements ObjectStorageApi {
                 .map(PreSignedUrlResponse::fromStringArray);
     }
 
+    @Override
+    public Flux<PreSignedPostResponse> createPreSignedPosts(
+            String memberId,
+            ObjectStoragePreSignedUrlRequest request
+    ) {
+        return objectStorageService
+                .createPreSignedPosts(request.fileNames(), memberId)
+                .flatMapMany(Flux::fromIterable)
+                .map(PreSignedPostResponse::fromDto);
+    }
+
     @Override
     public Mono<PreSignedUrlResponse> createRecapPreSignedUrls(
         ObjectStoragePreSignedUrlRequest request
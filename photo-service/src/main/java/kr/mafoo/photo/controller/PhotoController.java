@@ -3,18 +3,29 @@ package kr.mafoo.photo.controller;
 import kr.mafoo.photo.api.PhotoApi;
 import kr.mafoo.photo.controller.dto.request.*;
 import kr.mafoo.photo.controller.dto.response.PhotoResponse;
+import kr.mafoo.photo.service.PhotoRenditionService;
 import kr.mafoo.photo.service.PhotoService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+
 @RequiredArgsConstructor
 @RestController
 public class PhotoController implements PhotoApi {
 
+    private static final Duration RENDITION_MAX_AGE = Duration.ofDays(30);
+
     private final PhotoService photoService;
+    private final PhotoRenditionService photoRenditionService;
 
     @Override
     public Flux<PhotoResponse> getPhotoListByAlbum(
@@ -33,17 +44,29 @@ public class PhotoController implements PhotoApi {
             PhotoCreateWithQrUrlRequest request
     ){
         return photoService
-                .addPhotoWithQrUrl(request.qrUrl())
+                .addPhotoWithQrUrl(request.qrUrl(), memberId, null)
                 .map(PhotoResponse::fromEntity);
     }
 
     @Override
     public Mono<PhotoResponse> createPhotoWithQrUrl(
             String memberId,
-            PhotoCreateWithQrUrlRequest request
+            PhotoCreateWithQrUrlRequest request,
+            String idempotencyKey
+    ){
+        return photoService
+                .addPhotoWithQrUrl(request.qrUrl(), memberId, idempotencyKey)
+                .map(PhotoResponse::fromEntity);
+    }
+
+    @Override
+    public Flux<PhotoResponse> createPhotoAndVideoWithQrUrl(
+            String memberId,
+            PhotoCreateWithQrUrlRequest request,
+            String idempotencyKey
     ){
         return photoService
-                .addPhotoWithQrUrl(request.qrUrl())
+                .addPhotoAndVideoWithQrUrl(request.qrUrl(), memberId, idempotencyKey)
                 .map(PhotoResponse::fromEntity);
     }
 
@@ -57,6 +80,16 @@ public class PhotoController implements PhotoApi {
                 .map(PhotoResponse::fromEntity);
     }
 
+    @Override
+    public Flux<PhotoResponse> createPhotoBulkWithUploadKeys(
+            String memberId,
+            PhotoCreateBulkWithUploadKeysRequest request
+    ){
+        return photoService
+                .addPhotoBulkWithUploadKeys(request.keys(), request.albumId(), memberId)
+                .map(PhotoResponse::fromEntity);
+    }
+
     @Override
     public Flux<PhotoResponse> uploadPhoto(String memberId, Flux<FilePart> request) {
         return photoService
@@ -64,6 +97,33 @@ public class PhotoController implements PhotoApi {
                 .map(PhotoResponse::fromEntity);
     }
 
+    @Override
+    public Mono<ResponseEntity<Resource>> getPhotoRendition(
+            String memberId,
+            String photoId,
+            Integer width,
+            String format,
+            String ifNoneMatch
+    ){
+        return photoRenditionService
+                .findRendition(photoId, memberId, width, format, ifNoneMatch)
+                .<ResponseEntity<Resource>>map(rendition -> {
+                    // 같은 ETag의 결과는 바뀌지 않으므로 클라이언트가 오래 캐시하도록 허용
+                    ResponseEntity.BodyBuilder builder = ResponseEntity
+                            .status(rendition.isNotModified() ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+                            .eTag(rendition.eTag())
+                            .cacheControl(CacheControl.maxAge(RENDITION_MAX_AGE).cachePrivate().immutable());
+
+                    if (rendition.isNotModified()) {
+                        return builder.build();
+                    }
+                    // 캐시된 파일은 Netty에서 zero-copy(sendfile)로 전송됨
+                    return builder
+                            .contentType(MediaType.parseMediaType("image/" + rendition.format()))
+                            .body(rendition.resource());
+                });
+    }
+
     @Override
     public Mono<PhotoResponse> setPhotoAlbum(
             String memberId,
@@ -3,7 +3,9 @@ package kr.mafoo.photo.controller;
 import kr.mafoo.photo.api.RecapApi;
 import kr.mafoo.photo.controller.dto.request.RecapCreateRequest;
 import kr.mafoo.photo.controller.dto.request.RecapCreateRequestOld;
+import kr.mafoo.photo.controller.dto.response.RecapJobResponse;
 import kr.mafoo.photo.controller.dto.response.RecapResponse;
+import kr.mafoo.photo.service.RecapJobService;
 import kr.mafoo.photo.service.RecapService;
 import kr.mafoo.photo.service.RecapServiceOld;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +19,7 @@ public class RecapController implements RecapApi {
 
     private final RecapServiceOld recapServiceOld;
     private final RecapService recapService;
+    private final RecapJobService recapJobService;
 
     @Override
     public Mono<RecapResponse> createRecapOriginal(
@@ -40,4 +43,35 @@ public class RecapController implements RecapApi {
             .map(RecapResponse::fromDto);
     }
 
+    @Override
+    public Mono<RecapJobResponse> createRecapJob(
+            String memberId,
+            RecapCreateRequestOld request,
+            String sort,
+            ServerHttpRequest serverHttpRequest
+    ) {
+        String authorizationToken = serverHttpRequest.getHeaders().getFirst("Authorization");
+
+        return recapJobService.addRecapJob(request.albumId(), memberId, sort, authorizationToken)
+                .map(RecapJobResponse::fromEntity);
+    }
+
+    @Override
+    public Mono<RecapJobResponse> getRecapJob(
+            String memberId,
+            String recapJobId
+    ) {
+        return recapJobService.findRecapJob(recapJobId, memberId)
+                .map(RecapJobResponse::fromEntity);
+    }
+
+    @Override
+    public Mono<RecapJobResponse> cancelRecapJob(
+            String memberId,
+            String recapJobId
+    ) {
+        return recapJobService.cancelRecapJob(recapJobId, memberId)
+                .map(RecapJobResponse::fromEntity);
+    }
+
 }
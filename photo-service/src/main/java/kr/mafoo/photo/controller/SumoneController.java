@@ -19,7 +19,7 @@ import kr.mafoo.photo.service.AlbumQuery;
 import kr.mafoo.photo.service.ObjectStorageService;
 import kr.mafoo.photo.service.PhotoCommand;
 import kr.mafoo.photo.service.PhotoQuery;
-import kr.mafoo.photo.service.RecapLambdaService;
+import kr.mafoo.photo.service.RecapRendererRouter;
 import kr.mafoo.photo.service.RecapService;
 import kr.mafoo.photo.service.dto.RecapUrlDto;
 import kr.mafoo.photo.util.RandomCodeGenerator;
@@ -45,7 +45,7 @@ public class SumoneController {
     private final AlbumCommand albumCommand;
     private final ObjectStorageService objectStorageService;
     private final RecapService recapService;
-    private final RecapLambdaService recapLambdaService;
+    private final RecapRendererRouter recapRendererRouter;
     private final SumoneEventMappingRepository sumoneEventMappingRepository;
     private final AlbumRepository albumRepository;
 
@@ -102,7 +102,9 @@ public class SumoneController {
             //TODO: add timeout
             return photoQuery
                     .findAllByAlbumIdOrderByCreatedAtDesc(albumId)
-                    .onErrorResume(PhotoNotFoundException.class, ex -> Flux.empty());
+                    .onErrorResume(PhotoNotFoundException.class, ex -> Flux.empty())
+                    // 썸원 클라이언트는 이미지만 표시하므로 부스 영상은 제외
+                    .filter(photo -> !photo.isVideo());
         }).map(SumonePhotoResponse::fromEntity);
     }
 
@@ -149,7 +151,7 @@ public class SumoneController {
                             RandomCodeGenerator.generateAlphanumericString(8)
                     )))
                     .then(albumRepository.save(album.setExternalId("SUMONE_" + request.userId())))
-                    .then(recapLambdaService.generateVideo(request.fileUrls()));
+                    .then(recapRendererRouter.render(request.fileUrls()));
         });
     }
 
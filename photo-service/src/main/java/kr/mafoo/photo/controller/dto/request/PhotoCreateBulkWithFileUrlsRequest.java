@@ -2,10 +2,14 @@ package kr.mafoo.photo.controller.dto.request;
 
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import kr.mafoo.photo.annotation.ULID;
 
 @Schema(description = "파일(url) 사진 n건 업로드 요청")
 public record PhotoCreateBulkWithFileUrlsRequest(
+        @NotEmpty
+        @Size(max = 30)
         @ArraySchema(
                 schema = @Schema(description = "파일 URL 목록"),
                 arraySchema = @Schema(example = "[\"file_url_1\", \"file_url_2\", \"file_url_3\"]")
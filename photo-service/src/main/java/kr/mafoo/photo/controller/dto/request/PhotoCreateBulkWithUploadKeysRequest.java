@@ -0,0 +1,23 @@
+package kr.mafoo.photo.controller.dto.request;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import kr.mafoo.photo.annotation.ULID;
+
+@Schema(description = "업로드 완료 사진 n건 등록 요청")
+public record PhotoCreateBulkWithUploadKeysRequest(
+        @NotEmpty
+        @Size(max = 30)
+        @ArraySchema(
+                schema = @Schema(description = "업로드한 파일 키 목록"),
+                arraySchema = @Schema(example = "[\"original/member/member_id/2024/01/01/file_id_1.jpeg\", \"original/member/member_id/2024/01/01/file_id_2.png\"]")
+        )
+        String[] keys,
+
+        @ULID
+        @Schema(description = "앨범 ID", example = "test_album_id")
+        String albumId
+) {
+}
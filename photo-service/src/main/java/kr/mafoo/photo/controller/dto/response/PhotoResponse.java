@@ -2,6 +2,7 @@ package kr.mafoo.photo.controller.dto.response;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import kr.mafoo.photo.domain.enums.BrandType;
+import kr.mafoo.photo.domain.enums.PhotoMediaType;
 import kr.mafoo.photo.domain.PhotoEntity;
 
 @Schema(description = "사진 응답")
@@ -12,9 +13,18 @@ public record PhotoResponse(
         @Schema(description = "사진 URL", example = "photo_url")
         String photoUrl,
 
+        @Schema(description = "썸네일 URL", example = "thumbnail_url")
+        String thumbnailUrl,
+
+        @Schema(description = "중간 크기 사진 URL", example = "medium_url")
+        String mediumUrl,
+
         @Schema(description = "사진 브랜드", example = "LIFE_FOUR_CUTS")
         BrandType brand,
 
+        @Schema(description = "미디어 타입", example = "IMAGE")
+        PhotoMediaType mediaType,
+
         @Schema(description = "앨범 ID", example = "test_album_id")
         String albumId
 ) {
@@ -24,7 +34,10 @@ public record PhotoResponse(
                 return new PhotoResponse(
                         entity.getPhotoId(),
                         entity.getPhotoUrl(),
+                        entity.getThumbnailUrl(),
+                        entity.getMediumUrl(),
                         entity.getBrand(),
+                        entity.getMediaType(),
                         entity.getAlbumId()
                 );
         }
@@ -0,0 +1,28 @@
+package kr.mafoo.photo.controller.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import kr.mafoo.photo.service.dto.PreSignedPostDto;
+
+import java.util.Map;
+
+@Schema(description = "Pre-signed POST 응답")
+public record PreSignedPostResponse(
+        @Schema(description = "업로드 URL", example = "url")
+        String url,
+
+        @Schema(description = "업로드 완료 후 등록에 사용할 파일 키", example = "original/member/member_id/2024/01/01/file_id.jpeg")
+        String key,
+
+        @Schema(description = "form 필드 목록, 파일은 마지막 필드로 전송해야 합니다")
+        Map<String, String> fields
+) {
+        public static PreSignedPostResponse fromDto(
+                PreSignedPostDto dto
+        ) {
+                return new PreSignedPostResponse(
+                        dto.url(),
+                        dto.key(),
+                        dto.fields()
+                );
+        }
+}
@@ -0,0 +1,33 @@
+package kr.mafoo.photo.controller.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import kr.mafoo.photo.domain.RecapJobEntity;
+import kr.mafoo.photo.domain.enums.RecapJobStatus;
+
+@Schema(description = "리캡 작업 응답")
+public record RecapJobResponse(
+        @Schema(description = "리캡 작업 ID", example = "test_recap_job_id")
+        String recapJobId,
+
+        @Schema(description = "앨범 ID", example = "test_album_id")
+        String albumId,
+
+        @Schema(description = "작업 상태", example = "QUEUED | RUNNING | COMPLETED | FAILED | CANCELED")
+        RecapJobStatus status,
+
+        @Schema(description = "진행률(0~100)", example = "40")
+        Integer progress,
+
+        @Schema(description = "리캡 URL, 완료된 경우에만 존재", example = "recap_url")
+        String recapUrl
+) {
+        public static RecapJobResponse fromEntity(RecapJobEntity entity) {
+                return new RecapJobResponse(
+                        entity.getRecapJobId(),
+                        entity.getAlbumId(),
+                        entity.getStatus(),
+                        entity.getProgress(),
+                        entity.getRecapUrl()
+                );
+        }
+}
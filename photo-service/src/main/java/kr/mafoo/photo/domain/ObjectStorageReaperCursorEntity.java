@@ -0,0 +1,49 @@
+package kr.mafoo.photo.domain;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.domain.Persistable;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Getter
+@NoArgsConstructor
+@Table("object_storage_reaper_cursor")
+public class ObjectStorageReaperCursorEntity implements Persistable<Integer> {
+    @Id
+    @Column("id")
+    private Integer cursorId;
+
+    @Column("prefix_index")
+    private Integer prefixIndex;
+
+    @Column("continuation_token")
+    private String continuationToken;
+
+    @Column("version")
+    private Long version;
+
+    @Transient
+    private boolean isNew = false;
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+
+        ObjectStorageReaperCursorEntity that = (ObjectStorageReaperCursorEntity) obj;
+        return cursorId.equals(that.cursorId);
+    }
+
+    @Override
+    public int hashCode() {
+        return cursorId.hashCode();
+    }
+
+    @Override
+    public Integer getId() {
+        return cursorId;
+    }
+}
@@ -0,0 +1,73 @@
+package kr.mafoo.photo.domain;
+
+import kr.mafoo.photo.domain.enums.ObjectTombstoneStatus;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.domain.Persistable;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor
+@Table("object_tombstone")
+public class ObjectTombstoneEntity implements Persistable<String> {
+    @Id
+    @Column("id")
+    private String tombstoneId;
+
+    @Column("url")
+    private String url;
+
+    @Column("reference_url")
+    private String referenceUrl;
+
+    @Column("status")
+    private ObjectTombstoneStatus status;
+
+    @Column("attempt_count")
+    private Integer attemptCount;
+
+    @Column("next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @CreatedDate
+    @Column("created_at")
+    private LocalDateTime createdAt;
+
+    @Transient
+    private boolean isNew = false;
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+
+        ObjectTombstoneEntity that = (ObjectTombstoneEntity) obj;
+        return tombstoneId.equals(that.tombstoneId);
+    }
+
+    @Override
+    public int hashCode() {
+        return tombstoneId.hashCode();
+    }
+
+    @Override
+    public String getId() {
+        return tombstoneId;
+    }
+
+    public static ObjectTombstoneEntity newTombstone(String tombstoneId, String url, String referenceUrl) {
+        ObjectTombstoneEntity tombstone = new ObjectTombstoneEntity();
+        tombstone.tombstoneId = tombstoneId;
+        tombstone.url = url;
+        tombstone.referenceUrl = referenceUrl;
+        tombstone.status = ObjectTombstoneStatus.PENDING;
+        tombstone.isNew = true;
+        return tombstone;
+    }
+}
@@ -1,6 +1,7 @@
 package kr.mafoo.photo.domain;
 
 import kr.mafoo.photo.domain.enums.BrandType;
+import kr.mafoo.photo.domain.enums.PhotoMediaType;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
@@ -24,9 +25,18 @@ public class PhotoEntity implements Persistable<String> {
     @Column("url")
     private String photoUrl;
 
+    @Column("thumbnail_url")
+    private String thumbnailUrl;
+
+    @Column("medium_url")
+    private String mediumUrl;
+
     @Column("brand")
     private BrandType brand;
 
+    @Column("media_type")
+    private PhotoMediaType mediaType;
+
     @Column("owner_member_id")
     private String ownerMemberId;
 
@@ -85,11 +95,26 @@ public class PhotoEntity implements Persistable<String> {
         return this;
     }
 
+    public PhotoEntity updateVariantUrls(String thumbnailUrl, String mediumUrl) {
+        this.thumbnailUrl = thumbnailUrl;
+        this.mediumUrl = mediumUrl;
+        return this;
+    }
+
+    public boolean isVideo() {
+        return this.getMediaType() == PhotoMediaType.VIDEO;
+    }
+
     public static PhotoEntity newPhoto(String photoId, String photoUrl, BrandType brandType, String albumId, Integer displayIndex, String ownerMemberId) {
+        return newPhoto(photoId, photoUrl, brandType, PhotoMediaType.IMAGE, albumId, displayIndex, ownerMemberId);
+    }
+
+    public static PhotoEntity newPhoto(String photoId, String photoUrl, BrandType brandType, PhotoMediaType mediaType, String albumId, Integer displayIndex, String ownerMemberId) {
         PhotoEntity photo = new PhotoEntity();
         photo.photoId = photoId;
         photo.photoUrl = photoUrl;
         photo.brand = brandType;
+        photo.mediaType = mediaType;
         photo.ownerMemberId = ownerMemberId;
         photo.albumId = albumId;
         photo.displayIndex = displayIndex;
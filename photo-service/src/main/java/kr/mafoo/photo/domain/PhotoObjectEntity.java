@@ -0,0 +1,66 @@
+package kr.mafoo.photo.domain;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.domain.Persistable;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor
+@Table("photo_object")
+public class PhotoObjectEntity implements Persistable<String> {
+    @Id
+    @Column("hash")
+    private String hash;
+
+    @Column("url")
+    private String url;
+
+    @Column("thumbnail_url")
+    private String thumbnailUrl;
+
+    @Column("medium_url")
+    private String mediumUrl;
+
+    @CreatedDate
+    @Column("created_at")
+    private LocalDateTime createdAt;
+
+    @Transient
+    private boolean isNew = false;
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+
+        PhotoObjectEntity that = (PhotoObjectEntity) obj;
+        return hash.equals(that.hash);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash.hashCode();
+    }
+
+    @Override
+    public String getId() {
+        return hash;
+    }
+
+    public static PhotoObjectEntity newPhotoObject(String hash, String url, String thumbnailUrl, String mediumUrl) {
+        PhotoObjectEntity photoObject = new PhotoObjectEntity();
+        photoObject.hash = hash;
+        photoObject.url = url;
+        photoObject.thumbnailUrl = thumbnailUrl;
+        photoObject.mediumUrl = mediumUrl;
+        photoObject.isNew = true;
+        return photoObject;
+    }
+}
@@ -0,0 +1,58 @@
+package kr.mafoo.photo.domain;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.domain.Persistable;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor
+@Table("qr_import")
+public class QrImportEntity implements Persistable<String> {
+    @Id
+    @Column("idempotency_key")
+    private String idempotencyKey;
+
+    @Column("photo_id")
+    private String photoId;
+
+    @CreatedDate
+    @Column("created_at")
+    private LocalDateTime createdAt;
+
+    @Transient
+    private boolean isNew = false;
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+
+        QrImportEntity that = (QrImportEntity) obj;
+        return idempotencyKey.equals(that.idempotencyKey);
+    }
+
+    @Override
+    public int hashCode() {
+        return idempotencyKey.hashCode();
+    }
+
+    @Override
+    public String getId() {
+        return idempotencyKey;
+    }
+
+    public static QrImportEntity newQrImport(String idempotencyKey, String photoId) {
+        QrImportEntity qrImport = new QrImportEntity();
+        qrImport.idempotencyKey = idempotencyKey;
+        qrImport.photoId = photoId;
+        qrImport.isNew = true;
+        return qrImport;
+    }
+}
@@ -0,0 +1,56 @@
+package kr.mafoo.photo.domain;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.domain.Persistable;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor
+@Table("recap")
+public class RecapEntity implements Persistable<String> {
+    @Id
+    @Column("id")
+    private String recapId;
+
+    @Column("album_id")
+    private String albumId;
+
+    @Column("fingerprint")
+    private String fingerprint;
+
+    @Column("recap_url")
+    private String recapUrl;
+
+    @CreatedDate
+    @Column("created_at")
+    private LocalDateTime createdAt;
+
+    @Transient
+    private boolean isNew = false;
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+
+        RecapEntity that = (RecapEntity) obj;
+        return recapId.equals(that.recapId);
+    }
+
+    @Override
+    public int hashCode() {
+        return recapId.hashCode();
+    }
+
+    @Override
+    public String getId() {
+        return recapId;
+    }
+}
@@ -0,0 +1,98 @@
+package kr.mafoo.photo.domain;
+
+import kr.mafoo.photo.domain.enums.RecapJobStatus;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.domain.Persistable;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor
+@Table("recap_job")
+public class RecapJobEntity implements Persistable<String> {
+    @Id
+    @Column("id")
+    private String recapJobId;
+
+    @Column("album_id")
+    private String albumId;
+
+    @Column("member_id")
+    private String memberId;
+
+    @Column("member_name")
+    private String memberName;
+
+    @Column("sort")
+    private String sort;
+
+    @Column("status")
+    private RecapJobStatus status;
+
+    @Column("progress")
+    private Integer progress;
+
+    @Column("recap_url")
+    private String recapUrl;
+
+    @Column("claim_id")
+    private String claimId;
+
+    @Column("attempt_count")
+    private Integer attemptCount;
+
+    @Column("started_at")
+    private LocalDateTime startedAt;
+
+    @Column("heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @Column("finished_at")
+    private LocalDateTime finishedAt;
+
+    @CreatedDate
+    @Column("created_at")
+    private LocalDateTime createdAt;
+
+    @Transient
+    private boolean isNew = false;
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+
+        RecapJobEntity that = (RecapJobEntity) obj;
+        return recapJobId.equals(that.recapJobId);
+    }
+
+    @Override
+    public int hashCode() {
+        return recapJobId.hashCode();
+    }
+
+    @Override
+    public String getId() {
+        return recapJobId;
+    }
+
+    public static RecapJobEntity newRecapJob(String recapJobId, String albumId, String memberId, String memberName, String sort) {
+        RecapJobEntity recapJob = new RecapJobEntity();
+        recapJob.recapJobId = recapJobId;
+        recapJob.albumId = albumId;
+        recapJob.memberId = memberId;
+        recapJob.memberName = memberName;
+        recapJob.sort = sort;
+        recapJob.status = RecapJobStatus.QUEUED;
+        recapJob.progress = 0;
+        recapJob.attemptCount = 0;
+        recapJob.isNew = true;
+        return recapJob;
+    }
+}
@@ -0,0 +1,6 @@
+package kr.mafoo.photo.domain.enums;
+
+public enum PhotoMediaType {
+    IMAGE,
+    VIDEO
+}
@@ -0,0 +1,9 @@
+package kr.mafoo.photo.domain.enums;
+
+public enum RecapJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELED
+}
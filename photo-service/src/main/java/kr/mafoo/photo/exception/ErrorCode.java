@@ -21,6 +21,11 @@ public enum ErrorCode {
     PHOTO_DISPLAY_INDEX_IS_SAME("PE0004", "옮기려는 대상 사진 인덱스가 같습니다"),
     PHOTO_DISPLAY_INDEX_NOT_VALID("PE0005", "옮기려는 대상 사진 인덱스가 유효하지 않습니다"),
     PHOTO_OWNER_ALREADY_ASSIGNED("PE0006", "이미 소유자가 존재하는 사진입니다"),
+    PHOTO_QR_VENDOR_UNAVAILABLE("PE0007", "사진 브랜드 서버에 일시적으로 연결할 수 없습니다"),
+    PHOTO_RENDITION_NOT_SUPPORTED("PE0008", "지원하지 않는 사진 크기 또는 형식입니다"),
+    PHOTO_RENDITION_BUSY("PE0009", "사진 변환 요청이 많아 잠시 후 다시 시도해주세요"),
+    PHOTO_UPLOAD_KEY_NOT_VALID("PE0010", "업로드한 파일 정보가 유효하지 않습니다"),
+    PHOTO_QR_IMPORT_IN_PROGRESS("PE0011", "같은 QR 가져오기 요청을 처리하는 중입니다. 잠시 후 다시 시도해주세요"),
 
     SHARED_MEMBER_NOT_FOUND("SE0001", "공유 사용자를 찾을 수 없습니다"),
     SHARED_MEMBER_DUPLICATED("SE0002", "동일한 공유 사용자가 존재합니다"),
@@ -29,8 +34,15 @@ public enum ErrorCode {
 
     PRE_SIGNED_URL_EXCEED_MAXIMUM("OE0001", "한 번에 생성할 수 있는 Pre-signed url 최대치를 초과했습니다"),
     PRE_SIGNED_URL_BANNED_FILE_TYPE("OE0002", "Pre-signed url 발급이 허용되지 않는 파일 형식입니다"),
+    PRE_SIGNED_URL_QUOTA_EXCEEDED("OE0003", "Pre-signed url 발급 한도를 초과했습니다. 잠시 후 다시 시도해주세요"),
 
     RECAP_PHOTO_COUNT_NOT_VALID("RE0001", "리캡 생성에 유효한 사진 개수가 아닙니다"),
+    RECAP_JOB_NOT_FOUND("RE0002", "리캡 작업을 찾을 수 없습니다"),
+    RECAP_JOB_LIMIT_EXCEEDED("RE0003", "동시에 요청할 수 있는 리캡 작업 수를 초과했습니다"),
+    RECAP_JOB_QUEUE_FULL("RE0004", "리캡 생성 요청이 많아 잠시 후 다시 시도해주세요"),
+    RECAP_LAMBDA_BUSY("RE0005", "리캡 영상 생성 요청이 많아 잠시 후 다시 시도해주세요"),
+    RECAP_RENDER_BUSY("RE0006", "리캡 영상 렌더링 요청이 많아 잠시 후 다시 시도해주세요"),
+    RECAP_PHOTO_URL_NOT_VALID("RE0007", "리캡에 사용할 수 없는 사진 url이 포함되어 있습니다"),
 
     MAFOO_USER_API_FAILED("MUE0001", "마푸의 user-service API 호출이 실패했습니다"),
 
@@ -0,0 +1,7 @@
+package kr.mafoo.photo.exception;
+
+public class PhotoQrImportInProgressException extends DomainException {
+    public PhotoQrImportInProgressException() {
+        super(ErrorCode.PHOTO_QR_IMPORT_IN_PROGRESS);
+    }
+}
@@ -0,0 +1,7 @@
+package kr.mafoo.photo.exception;
+
+public class PhotoQrVendorUnavailableException extends DomainException {
+    public PhotoQrVendorUnavailableException() {
+        super(ErrorCode.PHOTO_QR_VENDOR_UNAVAILABLE);
+    }
+}
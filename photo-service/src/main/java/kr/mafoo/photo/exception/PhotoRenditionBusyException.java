@@ -0,0 +1,7 @@
+package kr.mafoo.photo.exception;
+
+public class PhotoRenditionBusyException extends DomainException {
+    public PhotoRenditionBusyException() {
+        super(ErrorCode.PHOTO_RENDITION_BUSY);
+    }
+}
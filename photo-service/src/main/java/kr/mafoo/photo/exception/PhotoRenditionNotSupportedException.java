@@ -0,0 +1,7 @@
+package kr.mafoo.photo.exception;
+
+public class PhotoRenditionNotSupportedException extends DomainException {
+    public PhotoRenditionNotSupportedException() {
+        super(ErrorCode.PHOTO_RENDITION_NOT_SUPPORTED);
+    }
+}
@@ -0,0 +1,7 @@
+package kr.mafoo.photo.exception;
+
+public class PhotoUploadKeyNotValidException extends DomainException {
+    public PhotoUploadKeyNotValidException() {
+        super(ErrorCode.PHOTO_UPLOAD_KEY_NOT_VALID);
+    }
+}
@@ -0,0 +1,7 @@
+package kr.mafoo.photo.exception;
+
+public class PreSignedUrlQuotaExceededException extends DomainException {
+    public PreSignedUrlQuotaExceededException() {
+        super(ErrorCode.PRE_SIGNED_URL_QUOTA_EXCEEDED);
+    }
+}
@@ -0,0 +1,7 @@
+package kr.mafoo.photo.exception;
+
+public class RecapJobLimitExceededException extends DomainException {
+    public RecapJobLimitExceededException() {
+        super(ErrorCode.RECAP_JOB_LIMIT_EXCEEDED);
+    }
+}
@@ -0,0 +1,7 @@
+package kr.mafoo.photo.exception;
+
+public class RecapJobNotFoundException extends DomainException {
+    public RecapJobNotFoundException() {
+        super(ErrorCode.RECAP_JOB_NOT_FOUND);
+    }
+}
@@ -0,0 +1,7 @@
+package kr.mafoo.photo.exception;
+
+public class RecapJobQueueFullException extends DomainException {
+    public RecapJobQueueFullException() {
+        super(ErrorCode.RECAP_JOB_QUEUE_FULL);
+    }
+}
@@ -0,0 +1,7 @@
+package kr.mafoo.photo.exception;
+
+public class RecapLambdaBusyException extends DomainException {
+    public RecapLambdaBusyException() {
+        super(ErrorCode.RECAP_LAMBDA_BUSY);
+    }
+}
@@ -0,0 +1,7 @@
+package kr.mafoo.photo.exception;
+
+public class RecapPhotoUrlNotValidException extends DomainException {
+    public RecapPhotoUrlNotValidException() {
+        super(ErrorCode.RECAP_PHOTO_URL_NOT_VALID);
+    }
+}
@@ -0,0 +1,7 @@
+package kr.mafoo.photo.exception;
+
+public class RecapRenderBusyException extends DomainException {
+    public RecapRenderBusyException() {
+        super(ErrorCode.RECAP_RENDER_BUSY);
+    }
+}
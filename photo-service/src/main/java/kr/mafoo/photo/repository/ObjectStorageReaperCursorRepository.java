@@ -0,0 +1,15 @@
+package kr.mafoo.photo.repository;
+
+import kr.mafoo.photo.domain.ObjectStorageReaperCursorEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Mono;
+
+public interface ObjectStorageReaperCursorRepository extends R2dbcRepository<ObjectStorageReaperCursorEntity, Integer> {
+    // 읽은 뒤 다른 인스턴스가 커서를 옮겼다면 0건이 갱신됨
+    @Modifying
+    @Query("UPDATE object_storage_reaper_cursor SET prefix_index = :prefixIndex, continuation_token = :continuationToken, version = version + 1 "
+            + "WHERE id = :cursorId AND version = :version")
+    Mono<Integer> advance(Integer cursorId, int prefixIndex, String continuationToken, long version);
+}
@@ -0,0 +1,36 @@
+package kr.mafoo.photo.repository;
+
+import kr.mafoo.photo.domain.ObjectTombstoneEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+public interface ObjectTombstoneRepository extends R2dbcRepository<ObjectTombstoneEntity, String> {
+    // 다른 인스턴스가 잠근 툼스톤은 건너뛰어, 인스턴스마다 서로 다른 묶음을 가져가도록 함
+    @Query("SELECT * FROM object_tombstone WHERE status = 'PENDING' AND next_attempt_at <= NOW() "
+            + "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED")
+    Flux<ObjectTombstoneEntity> lockAllDue(int limit);
+
+    // 가져간 툼스톤은 임대 기간 동안 대상에서 빠지고, 처리하던 인스턴스가 죽으면 임대가 끝난 뒤 다시 대상이 됨
+    @Modifying
+    @Query("UPDATE object_tombstone SET next_attempt_at = DATE_ADD(NOW(), INTERVAL :leaseSeconds SECOND) WHERE id IN (:tombstoneIds)")
+    Mono<Void> leaseAllById(Collection<String> tombstoneIds, long leaseSeconds);
+
+    @Query("SELECT COUNT(*) FROM object_tombstone WHERE reference_url = :referenceUrl AND status = 'PENDING'")
+    Mono<Long> countPendingByReferenceUrl(String referenceUrl);
+
+    // 재시도 횟수를 넘긴 툼스톤은 지우지 않고 남겨 수동으로 확인할 수 있게 함
+    @Modifying
+    @Query("UPDATE object_tombstone SET status = 'FAILED' WHERE id IN (:tombstoneIds)")
+    Mono<Void> markAllFailedById(Collection<String> tombstoneIds);
+
+    @Modifying
+    @Query("UPDATE object_tombstone SET attempt_count = attempt_count + 1, "
+            + "next_attempt_at = DATE_ADD(NOW(), INTERVAL LEAST(:maxDelaySeconds, :baseDelaySeconds * POW(2, attempt_count)) SECOND) "
+            + "WHERE id IN (:tombstoneIds)")
+    Mono<Void> postponeAllById(Collection<String> tombstoneIds, long baseDelaySeconds, long maxDelaySeconds);
+}
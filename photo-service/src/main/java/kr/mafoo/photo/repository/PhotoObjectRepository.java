@@ -0,0 +1,30 @@
+package kr.mafoo.photo.repository;
+
+import kr.mafoo.photo.domain.PhotoObjectEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+public interface PhotoObjectRepository extends R2dbcRepository<PhotoObjectEntity, String> {
+    @Query("SELECT url FROM photo_object WHERE url IN (:urls)")
+    Flux<String> findAllUrlByUrlIn(Collection<String> urls);
+
+    // 오브젝트 삭제 작업자가 잡은 잠금이 풀릴 때까지 기다린 뒤 읽음
+    @Query("SELECT * FROM photo_object WHERE hash = :hash FOR SHARE")
+    Mono<PhotoObjectEntity> findByIdForShare(String hash);
+
+    @Query("SELECT url FROM photo_object WHERE url IN (:urls) FOR UPDATE")
+    Flux<String> lockAllUrlByUrlIn(Collection<String> urls);
+
+    @Modifying
+    @Query("UPDATE photo_object SET url = :url, thumbnail_url = :thumbnailUrl, medium_url = :mediumUrl WHERE hash = :hash")
+    Mono<Integer> updateUrls(String hash, String url, String thumbnailUrl, String mediumUrl);
+
+    @Modifying
+    @Query("DELETE FROM photo_object WHERE url IN (:urls)")
+    Mono<Integer> deleteAllByUrlIn(Collection<String> urls);
+}
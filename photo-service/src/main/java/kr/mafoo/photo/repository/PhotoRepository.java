@@ -9,6 +9,8 @@ import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+
 public interface PhotoRepository extends R2dbcRepository<PhotoEntity, String> {
     Flux<PhotoEntity> findAllByAlbumIdOrderByDisplayIndexDesc(String ownerAlbumId);
 
@@ -28,6 +30,23 @@ public interface PhotoRepository extends R2dbcRepository<PhotoEntity, String> {
     @Query("UPDATE photo SET display_index = display_index + 1 WHERE album_id = :albumId AND display_index BETWEEN :startIndex AND :endIndex")
     Mono<Void> pushDisplayIndexBetween(String albumId, int startIndex, int endIndex);
 
+    @Query("SELECT * FROM photo WHERE album_id = :albumId LIMIT :limit")
+    Flux<PhotoEntity> findAllByAlbumIdLimit(String albumId, int limit);
+
+    // photo_idx2 를 album_id 순서로 훑는 keyset 조회라 한 번에 읽는 범위가 limit 으로 제한됨
+    @Query("SELECT DISTINCT album_id FROM photo WHERE album_id > :afterAlbumId ORDER BY album_id LIMIT :limit")
+    Flux<String> findAllAlbumIdsAfter(String afterAlbumId, int limit);
+
+    @Query("SELECT url FROM photo WHERE url IN (:urls)")
+    Flux<String> findAllUrlByUrlIn(Collection<String> urls);
+
+    // 트랜잭션 안에서도 스냅샷이 아닌 최신 커밋 기준으로 참조 여부를 확인
+    @Query("SELECT * FROM photo WHERE id = :photoId FOR SHARE")
+    Mono<PhotoEntity> findByIdForShare(String photoId);
+
+    @Query("SELECT url FROM photo WHERE url IN (:urls) FOR SHARE")
+    Flux<String> findAllUrlByUrlInForShare(Collection<String> urls);
+
     Flux<PhotoEntity> findAllByOrderByPhotoIdDesc(Pageable pageable);
     Flux<PhotoEntity> findAllByBrandOrderByPhotoIdDesc(BrandType brandType, Pageable pageable);
     Flux<PhotoEntity> findAllByOwnerMemberIdOrderByPhotoIdDesc(String ownerMemberId, Pageable pageable);
@@ -0,0 +1,12 @@
+package kr.mafoo.photo.repository;
+
+import kr.mafoo.photo.domain.QrImportEntity;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Mono;
+
+public interface QrImportRepository extends R2dbcRepository<QrImportEntity, String> {
+    // 잠금 읽기는 트랜잭션 스냅샷이 아닌 가장 최근에 커밋된 행을 읽음
+    @Query("SELECT * FROM qr_import WHERE idempotency_key = :idempotencyKey FOR SHARE")
+    Mono<QrImportEntity> findByIdForShare(String idempotencyKey);
+}
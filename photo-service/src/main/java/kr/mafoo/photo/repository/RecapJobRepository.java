@@ -0,0 +1,74 @@
+package kr.mafoo.photo.repository;
+
+import kr.mafoo.photo.domain.RecapJobEntity;
+import kr.mafoo.photo.domain.enums.RecapJobStatus;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+public interface RecapJobRepository extends R2dbcRepository<RecapJobEntity, String> {
+    Mono<RecapJobEntity> findByRecapJobIdAndMemberId(String recapJobId, String memberId);
+
+    // 개수 확인과 추가를 한 문장으로 처리, 동시에 들어온 요청은 recap_job_idx2 범위의 공유 잠금 때문에
+    // 한쪽이 데드락으로 롤백되고, 재시도하면 먼저 들어간 작업까지 세어 한도를 넘지 않음
+    @Modifying
+    @Query("INSERT INTO recap_job (id, album_id, member_id, member_name, sort) "
+            + "SELECT :recapJobId, :albumId, :memberId, :memberName, :sort FROM DUAL "
+            + "WHERE (SELECT COUNT(*) FROM recap_job WHERE member_id = :memberId AND status IN ('QUEUED', 'RUNNING')) < :maxActive")
+    Mono<Integer> insertIfBelowActiveLimit(String recapJobId, String albumId, String memberId, String memberName, String sort, long maxActive);
+
+    Mono<Long> countByStatus(RecapJobStatus status);
+
+    Flux<RecapJobEntity> findAllByClaimId(String claimId);
+
+    // 여러 워커가 동시에 가져가도 같은 작업을 두 번 실행하지 않도록 UPDATE 한 번으로 선점
+    @Modifying
+    @Query("UPDATE recap_job SET status = 'RUNNING', claim_id = :claimId, attempt_count = attempt_count + 1, "
+            + "started_at = NOW(), heartbeat_at = NOW() "
+            + "WHERE status = 'QUEUED' ORDER BY created_at LIMIT :limit")
+    Mono<Integer> claimQueuedJobs(String claimId, int limit);
+
+    @Modifying
+    @Query("UPDATE recap_job SET progress = :progress, heartbeat_at = NOW() "
+            + "WHERE id = :recapJobId AND claim_id = :claimId AND status = 'RUNNING'")
+    Mono<Integer> updateProgress(String recapJobId, String claimId, int progress);
+
+    @Modifying
+    @Query("UPDATE recap_job SET heartbeat_at = NOW() WHERE id IN (:recapJobIds) AND status = 'RUNNING'")
+    Mono<Void> updateHeartbeat(Collection<String> recapJobIds);
+
+    @Modifying
+    @Query("UPDATE recap_job SET status = 'COMPLETED', progress = 100, recap_url = :recapUrl, finished_at = NOW() "
+            + "WHERE id = :recapJobId AND claim_id = :claimId AND status = 'RUNNING'")
+    Mono<Integer> completeJob(String recapJobId, String claimId, String recapUrl);
+
+    @Modifying
+    @Query("UPDATE recap_job SET status = 'FAILED', finished_at = NOW() "
+            + "WHERE id = :recapJobId AND claim_id = :claimId AND status = 'RUNNING'")
+    Mono<Integer> failJob(String recapJobId, String claimId);
+
+    @Modifying
+    @Query("UPDATE recap_job SET status = 'CANCELED', finished_at = NOW() "
+            + "WHERE id = :recapJobId AND member_id = :memberId AND status IN ('QUEUED', 'RUNNING')")
+    Mono<Integer> cancelJob(String recapJobId, String memberId);
+
+    @Query("SELECT id FROM recap_job WHERE id IN (:recapJobIds) AND status = 'CANCELED'")
+    Flux<String> findAllCanceledIdByIdIn(Collection<String> recapJobIds);
+
+    // 끝난 작업은 결과 조회 기간이 지나면 삭제, recap_job_idx1 을 상태별로 범위 조회함
+    @Modifying
+    @Query("DELETE FROM recap_job WHERE status IN ('COMPLETED', 'FAILED', 'CANCELED') "
+            + "AND created_at < DATE_SUB(NOW(), INTERVAL :retentionSeconds SECOND) LIMIT :limit")
+    Mono<Integer> deleteFinishedJobs(long retentionSeconds, int limit);
+
+    // 워커가 죽어 진행 보고가 끊긴 작업은 시도 횟수가 남아 있으면 다시 대기열로 돌림
+    @Modifying
+    @Query("UPDATE recap_job SET finished_at = IF(attempt_count < :maxAttempts, NULL, NOW()), "
+            + "status = IF(attempt_count < :maxAttempts, 'QUEUED', 'FAILED'), claim_id = NULL "
+            + "WHERE status = 'RUNNING' AND heartbeat_at < DATE_SUB(NOW(), INTERVAL :timeoutSeconds SECOND)")
+    Mono<Integer> recoverStaleJobs(long timeoutSeconds, int maxAttempts);
+}
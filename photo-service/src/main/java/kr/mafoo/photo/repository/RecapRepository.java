@@ -0,0 +1,29 @@
+package kr.mafoo.photo.repository;
+
+import kr.mafoo.photo.domain.RecapEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Mono;
+
+public interface RecapRepository extends R2dbcRepository<RecapEntity, String> {
+
+    // 스토리지의 리캡 영상이 수명 주기로 삭제되기 전까지만 재사용
+    @Query("SELECT * FROM recap WHERE album_id = :albumId AND fingerprint = :fingerprint "
+            + "AND created_at > DATE_SUB(NOW(), INTERVAL :ttlSeconds SECOND)")
+    Mono<RecapEntity> findValidRecap(String albumId, String fingerprint, long ttlSeconds);
+
+    // 같은 스냅샷을 동시에 만든 경우 나중에 끝난 결과로 덮어씀
+    @Modifying
+    @Query("INSERT INTO recap (id, album_id, fingerprint, recap_url) VALUES (:recapId, :albumId, :fingerprint, :recapUrl) "
+            + "ON DUPLICATE KEY UPDATE recap_url = VALUES(recap_url), created_at = NOW()")
+    Mono<Integer> upsertRecap(String recapId, String albumId, String fingerprint, String recapUrl);
+
+    @Modifying
+    @Query("DELETE FROM recap WHERE album_id = :albumId")
+    Mono<Integer> deleteAllByAlbumId(String albumId);
+
+    @Modifying
+    @Query("DELETE FROM recap WHERE created_at <= DATE_SUB(NOW(), INTERVAL :ttlSeconds SECOND)")
+    Mono<Integer> deleteExpiredRecaps(long ttlSeconds);
+}
@@ -2,6 +2,8 @@ package kr.mafoo.photo.repository;
 
 import kr.mafoo.photo.domain.SharedMemberEntity;
 import kr.mafoo.photo.domain.enums.ShareStatus;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
@@ -13,4 +15,11 @@ public interface SharedMemberRepository extends R2dbcRepository<SharedMemberEnti
     Flux<SharedMemberEntity> findAllByMemberIdAndShareStatusNot(String memberId, ShareStatus status);
     Mono<SharedMemberEntity> findByAlbumIdAndMemberIdAndShareStatus(String albumId, String memberId, ShareStatus status);
     Mono<SharedMemberEntity> findByAlbumIdAndMemberId(String albumId, String memberId);
+
+    @Modifying
+    @Query("DELETE FROM shared_member WHERE album_id = :albumId LIMIT :limit")
+    Mono<Integer> deleteAllByAlbumIdLimit(String albumId, int limit);
+
+    @Query("SELECT DISTINCT album_id FROM shared_member WHERE album_id > :afterAlbumId ORDER BY album_id LIMIT :limit")
+    Flux<String> findAllAlbumIdsAfter(String afterAlbumId, int limit);
 }
\ No newline at end of file
@@ -0,0 +1,112 @@
+package kr.mafoo.photo.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import kr.mafoo.photo.domain.AlbumEntity;
+import kr.mafoo.photo.repository.AlbumRepository;
+import kr.mafoo.photo.repository.PhotoRepository;
+import kr.mafoo.photo.repository.SharedMemberRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class AlbumCleanupService {
+
+    private final PhotoCommand photoCommand;
+    private final SharedMemberCommand sharedMemberCommand;
+    private final RecapCacheService recapCacheService;
+    private final PhotoRepository photoRepository;
+    private final SharedMemberRepository sharedMemberRepository;
+    private final AlbumRepository albumRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final MeterRegistry meterRegistry;
+
+    // 테이블마다 마지막으로 확인한 album_id, 끝까지 훑으면 처음부터 다시 시작
+    private final AtomicReference<String> photoCursor = new AtomicReference<>("");
+    private final AtomicReference<String> sharedMemberCursor = new AtomicReference<>("");
+
+    @Value("${album.cleanup.chunk-size}")
+    private int chunkSize;
+
+    @Value("${album.cleanup.reconcile-batch-size}")
+    private int reconcileBatchSize;
+
+    public Mono<Void> removeAlbumContents(String albumId) {
+        return removeInChunks(() -> photoCommand.removePhotosInAlbum(albumId, chunkSize))
+            .then(removeInChunks(() -> sharedMemberCommand.removeSharedMembersInAlbum(albumId, chunkSize)))
+            .then(recapCacheService.invalidateAlbum(albumId));
+    }
+
+    // 앨범 삭제 응답을 막지 않도록 따로 구독하고, 실패는 로그와 메트릭으로 남긴 채 reconcile 에 맡김
+    public void removeAlbumContentsInBackground(String albumId) {
+        removeAlbumContents(albumId)
+            .onErrorResume(e -> {
+                log.warn("Failed to remove contents of album {}, leaving it to reconcile", albumId, e);
+                meterRegistry.counter("album.cleanup.failure").increment();
+                return Mono.empty();
+            })
+            .subscribe();
+    }
+
+    // 앨범 삭제 중 실패했거나 이전에 남겨진 사진/공유 정보를 주기적으로 정리
+    @Scheduled(initialDelayString = "${album.cleanup.reconcile-interval}", fixedDelayString = "${album.cleanup.reconcile-interval}")
+    public Mono<Void> reconcileOrphanedAlbumContents() {
+        return Flux.concat(
+                findOrphanedAlbumIdsInNextWindow(photoRepository::findAllAlbumIdsAfter, photoCursor),
+                findOrphanedAlbumIdsInNextWindow(sharedMemberRepository::findAllAlbumIdsAfter, sharedMemberCursor)
+            )
+            .distinct()
+            .concatMap(albumId -> removeAlbumContents(albumId)
+                .doOnSuccess(unused -> log.info("Removed orphaned contents of album {}", albumId))
+            )
+            .onErrorResume(e -> {
+                log.warn("Failed to reconcile orphaned album contents", e);
+                return Mono.empty();
+            })
+            .then();
+    }
+
+    // 한 번에 reconcileBatchSize 개의 album_id 만 읽고, 그중 앨범이 없는 것만 돌려줌
+    private Flux<String> findOrphanedAlbumIdsInNextWindow(
+        BiFunction<String, Integer, Flux<String>> albumIdsAfter,
+        AtomicReference<String> cursor
+    ) {
+        return albumIdsAfter.apply(cursor.get(), reconcileBatchSize)
+            .collectList()
+            .doOnNext(albumIds -> cursor.set(albumIds.size() < reconcileBatchSize ? "" : albumIds.get(albumIds.size() - 1)))
+            .filter(albumIds -> !albumIds.isEmpty())
+            .flatMapMany(albumIds -> albumRepository.findAllById(albumIds)
+                .map(AlbumEntity::getAlbumId)
+                .collect(Collectors.toSet())
+                .flatMapMany(existingAlbumIds -> Flux.fromIterable(orphanedAlbumIds(albumIds, existingAlbumIds)))
+            );
+    }
+
+    private static List<String> orphanedAlbumIds(List<String> albumIds, Set<String> existingAlbumIds) {
+        return albumIds.stream()
+            .filter(albumId -> !existingAlbumIds.contains(albumId))
+            .toList();
+    }
+
+    // 청크마다 별도 트랜잭션으로 커밋하고, 마지막 청크가 가득 차지 않으면 종료
+    private Mono<Void> removeInChunks(Supplier<Mono<Integer>> chunkRemover) {
+        return Mono.defer(() -> transactionalOperator.transactional(chunkRemover.get()))
+            .repeat()
+            .takeUntil(removedCount -> removedCount < chunkSize)
+            .then();
+    }
+}
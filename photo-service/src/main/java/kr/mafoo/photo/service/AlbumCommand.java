@@ -13,6 +13,7 @@ import reactor.core.publisher.Mono;
 public class AlbumCommand {
 
     private final AlbumRepository albumRepository;
+    private final RecapCacheService recapCacheService;
 
     public Mono<AlbumEntity> addAlbum(String albumName, String albumType, String ownerMemberId, String externalId) {
         return albumRepository.save(
@@ -32,11 +33,13 @@ public class AlbumCommand {
     }
 
     public Mono<AlbumEntity> increaseAlbumPhotoCount(AlbumEntity album, int count) {
-        return albumRepository.save(album.increasePhotoCount(count));
+        return albumRepository.save(album.increasePhotoCount(count))
+            .flatMap(savedAlbum -> recapCacheService.invalidateAlbum(savedAlbum.getAlbumId()).thenReturn(savedAlbum));
     }
 
     public Mono<AlbumEntity> decreaseAlbumPhotoCount(AlbumEntity album, int count) {
-        return albumRepository.save(album.decreasePhotoCount(count));
+        return albumRepository.save(album.decreasePhotoCount(count))
+            .flatMap(savedAlbum -> recapCacheService.invalidateAlbum(savedAlbum.getAlbumId()).thenReturn(savedAlbum));
     }
 
     public Mono<Void> removeAlbum(AlbumEntity album) {
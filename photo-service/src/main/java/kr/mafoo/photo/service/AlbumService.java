@@ -21,11 +21,13 @@ import kr.mafoo.photo.service.dto.AlbumDto;
 import kr.mafoo.photo.service.dto.SharedAlbumDto;
 import kr.mafoo.photo.service.dto.SharedMemberDto;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+@Slf4j
 @RequiredArgsConstructor
 @Service
 public class AlbumService {
@@ -35,6 +37,7 @@ public class AlbumService {
     private final AlbumRepository albumRepository;
 
     private final PhotoCommand photoCommand;
+    private final AlbumCleanupService albumCleanupService;
     private final PhotoRepository photoRepository;
 
 
@@ -106,15 +109,18 @@ public class AlbumService {
                         .map(entity -> "SUMONE_" + entity.getId())
                         .flatMapMany(albumRepository::findAllByExternalId)
                         .flatMap(sumoneAlbum ->
-                                photoRepository.findAllByAlbumIdOrderByCreatedAtAsc(sumoneAlbum.getAlbumId()).flatMap(photo ->
-                                        photoCommand.addPhoto(
-                                                photo.getPhotoUrl(),
-                                                BrandType.EXTERNAL,
-                                                album.getAlbumId(),
-                                                displayIndex.getAndIncrement(),
-                                                requestMemberId
+                                // 이미지로 다시 등록하므로 영상은 옮기지 않음
+                                photoRepository.findAllByAlbumIdOrderByCreatedAtAsc(sumoneAlbum.getAlbumId())
+                                        .filter(photo -> !photo.isVideo())
+                                        .flatMap(photo ->
+                                                photoCommand.addPhoto(
+                                                        photo.getPhotoUrl(),
+                                                        BrandType.EXTERNAL,
+                                                        album.getAlbumId(),
+                                                        displayIndex.getAndIncrement(),
+                                                        requestMemberId
+                                                )
                                         )
-                                )
                         )
                         .then(albumQuery.findById(album.getAlbumId()))
                         .flatMap(newAlbum -> albumCommand.increaseAlbumPhotoCount(newAlbum, displayIndex.get())));
@@ -140,10 +146,13 @@ public class AlbumService {
                 );
     }
 
-    @Transactional
+    // 앨범을 먼저 지워 접근을 막은 뒤, 사진과 공유 정보는 작은 트랜잭션으로 나눠 정리
+    // 앨범 삭제가 커밋되면 정리를 기다리지 않고 응답하고, 정리 실패는 주기적인 reconcile 이 이어서 처리
     public Mono<Void> removeAlbum(String albumId, String requestMemberId) {
         return albumPermissionVerifier.verifyOwnership(albumId, requestMemberId)
-                .flatMap(albumCommand::removeAlbum);
+                .flatMap(album -> albumCommand.removeAlbum(album)
+                        .doOnSuccess(unused -> albumCleanupService.removeAlbumContentsInBackground(album.getAlbumId()))
+                );
     }
 
     public Mono<Long> countAlbumByAlbumType(AlbumType albumType) {
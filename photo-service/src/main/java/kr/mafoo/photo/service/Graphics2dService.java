@@ -1,46 +1,194 @@
 package kr.mafoo.photo.service;
 
+import jakarta.annotation.PostConstruct;
+import kr.mafoo.photo.domain.enums.AlbumType;
 import kr.mafoo.photo.util.RecapProperties;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.MediaType;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.server.ServerResponse;
-import reactor.core.publisher.Mono;
 
 import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
 import java.io.File;
 import java.io.IOException;
-import java.util.HashMap;
+import java.io.UncheckedIOException;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class Graphics2dService {
 
+    private static final float CHIP_FONT_SIZE = 36;
+    private static final float FRAME_FONT_SIZE = 72;
+
     private final RecapProperties recapProperties;
+    private final RecapRenderCache recapRenderCache;
+
+    // 여러 리캡 요청이 동시에 접근하므로 모든 캐시는 동시성 맵으로 관리
+    private final Map<String, Font> fontCache = new ConcurrentHashMap<>();
+    private final Map<Font, FontMetrics> metricsCache = new ConcurrentHashMap<>();
+    private final Map<String, BufferedImage> iconCache = new ConcurrentHashMap<>();
+    private final Map<String, BufferedImage> backgroundCache = new ConcurrentHashMap<>();
 
-    public Mono<Void> generateAlbumChipForRecap(String recapId, String albumName, String albumType) {
+    // 칩은 렌더링한 스레드에서 바로 프레임에 그려지므로 스레드마다 캔버스 하나를 재사용
+    private final ThreadLocal<BufferedImage> chipCanvas = new ThreadLocal<>();
+
+    // 폰트와 아이콘을 미리 올려 첫 리캡 요청이 파일 로딩 비용을 떠안지 않도록 함
+    @PostConstruct
+    public void preloadAssets() {
+        try {
+            getChipFont();
+            getFont(recapProperties.getAggroBFontPath(), FRAME_FONT_SIZE);
+            getFont(recapProperties.getAggroMFontPath(), FRAME_FONT_SIZE);
+            for (AlbumType albumType : AlbumType.values()) {
+                getCachedIcon(albumType.name());
+            }
+        } catch (IOException | RuntimeException e) {
+            // 리캡 리소스가 없는 환경에서도 기동은 되도록 하고, 실제 요청 시점에 다시 로딩을 시도
+            log.warn("Failed to preload recap assets", e);
+        }
+    }
+
+    // 반환된 프레임은 다른 리캡과 공유될 수 있으므로 직접 수정하지 않고 캔버스에 복사해서 사용
+    public BufferedImage renderRecapFrame(String albumName, String albumType, String memberName, String createdDate) throws IOException {
+        String key = RecapRenderCache.frameKey(albumType, albumName, memberName, createdDate);
+        Optional<BufferedImage> cached = recapRenderCache.find(key);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
 
-        return Mono.fromCallable(() -> createAlbumChipImage(recapId, albumName, albumType))
-                .flatMap(buffer -> ServerResponse.ok()
-                        .contentType(MediaType.IMAGE_PNG)
-                        .bodyValue(buffer))
-                .onErrorResume(IOException.class, e -> ServerResponse.status(500)
-                        .bodyValue("Error generating album chip image: " + e.getMessage())).then();
+        BufferedImage frame = drawRecapFrame(albumName, albumType, memberName, createdDate);
+        recapRenderCache.put(key, frame);
+        return frame;
     }
 
-    private final Map<String, BufferedImage> iconCache = new HashMap<>();
+    // ffmpeg drawtext/overlay로 만들던 리캡 프레임을 메모리에서 합성
+    private BufferedImage drawRecapFrame(String albumName, String albumType, String memberName, String createdDate) throws IOException {
+        BufferedImage background = getCachedBackground(albumType);
+        BufferedImage chip = renderAlbumChip(albumName, albumType);
 
-    private FontMetrics cachedMetrics;
+        // 배경은 이미 프레임과 같은 BGR 형식으로 캐싱되어 있어 래스터만 복사
+        BufferedImage frame = createCanvas(background);
+        copyPixels(background, frame);
 
-    private String createAlbumChipImage(String recapId, String albumName, String albumType) throws IOException {
+        Graphics2D g2d = frame.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+
+        int chipHeight = 176;
+        int chipWidth = chip.getWidth() * chipHeight / chip.getHeight();
+        g2d.drawImage(chip, 188, frame.getHeight() - chipHeight - 120, chipWidth, chipHeight, null);
+
+        Font titleFont = getFont(recapProperties.getAggroBFontPath(), FRAME_FONT_SIZE);
+        g2d.setFont(titleFont);
+        g2d.setColor(new Color(255, 255, 255, 178));
+        String title = "@" + memberName + "님의 RECAP";
+        FontMetrics titleMetrics = g2d.getFontMetrics();
+        g2d.drawString(title, (frame.getWidth() - titleMetrics.stringWidth(title)) / 2, 208 + titleMetrics.getAscent());
+
+        Font dateFont = getFont(recapProperties.getAggroMFontPath(), FRAME_FONT_SIZE);
+        g2d.setFont(dateFont);
+        g2d.setColor(Color.WHITE);
+        FontMetrics dateMetrics = g2d.getFontMetrics();
+        g2d.drawString(
+                createdDate,
+                frame.getWidth() - dateMetrics.stringWidth(createdDate) - 188,
+                frame.getHeight() - dateMetrics.getHeight() - 180 + dateMetrics.getAscent()
+        );
+
+        g2d.dispose();
+        return frame;
+    }
+
+    // 프레임과 같은 크기의 합성용 캔버스, 한 리캡 안에서는 사진마다 같은 캔버스를 재사용
+    public BufferedImage createCanvas(BufferedImage frame) {
+        return new BufferedImage(frame.getWidth(), frame.getHeight(), BufferedImage.TYPE_3BYTE_BGR);
+    }
+
+    // 사진을 1200x1776 안에 비율을 유지해 축소한 뒤 프레임 중앙보다 80px 아래에 배치
+    public BufferedImage renderRecapPhoto(BufferedImage frame, BufferedImage photo, BufferedImage canvas) {
+        double scale = Math.min(1.0, Math.min(1200.0 / photo.getWidth(), 1776.0 / photo.getHeight()));
+        int photoWidth = (int) Math.round(photo.getWidth() * scale);
+        int photoHeight = (int) Math.round(photo.getHeight() * scale);
+
+        copyPixels(frame, canvas);
+        Graphics2D g2d = canvas.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2d.drawImage(
+                photo,
+                (frame.getWidth() - photoWidth) / 2,
+                (frame.getHeight() - photoHeight) / 2 + 80,
+                photoWidth,
+                photoHeight,
+                null
+        );
+        g2d.dispose();
+        return canvas;
+    }
+
+    // 장식 프레임 없이 사진만 캔버스 중앙에 비율을 유지해 맞춤, Lambda 백엔드와 같은 입력으로 만드는 로컬 리캡용
+    public BufferedImage renderRecapSlide(BufferedImage photo, BufferedImage canvas) {
+        double scale = Math.min((double) canvas.getWidth() / photo.getWidth(), (double) canvas.getHeight() / photo.getHeight());
+        int photoWidth = (int) Math.round(photo.getWidth() * scale);
+        int photoHeight = (int) Math.round(photo.getHeight() * scale);
+
+        Graphics2D g2d = canvas.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2d.setColor(Color.BLACK);
+        g2d.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        g2d.drawImage(
+                photo,
+                (canvas.getWidth() - photoWidth) / 2,
+                (canvas.getHeight() - photoHeight) / 2,
+                photoWidth,
+                photoHeight,
+                null
+        );
+        g2d.dispose();
+        return canvas;
+    }
+
+    private void copyPixels(BufferedImage source, BufferedImage target) {
+        byte[] sourcePixels = ((DataBufferByte) source.getRaster().getDataBuffer()).getData();
+        byte[] targetPixels = ((DataBufferByte) target.getRaster().getDataBuffer()).getData();
+        System.arraycopy(sourcePixels, 0, targetPixels, 0, sourcePixels.length);
+    }
+
+    // 프레임 합성 전 단계인 앨범 칩, 반환된 칩은 다른 리캡과 공유될 수 있으므로 읽기 전용으로 사용
+    public BufferedImage renderAlbumChip(String albumName, String albumType) throws IOException {
+        String key = RecapRenderCache.chipKey(albumType, albumName);
+        Optional<BufferedImage> cached = recapRenderCache.find(key);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        // 스레드 캔버스는 다음 칩을 그릴 때 덮어써지므로 캐시에는 복사본을 넣음
+        BufferedImage canvas = drawAlbumChip(albumName, albumType);
+        BufferedImage chip = new BufferedImage(canvas.getWidth(), canvas.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = chip.createGraphics();
+        g2d.setComposite(AlphaComposite.Src);
+        g2d.drawImage(canvas, 0, 0, null);
+        g2d.dispose();
+
+        recapRenderCache.put(key, chip);
+        return chip;
+    }
+
+    private BufferedImage drawAlbumChip(String albumName, String albumType) throws IOException {
         int paddingLeftRight = 32;
         int paddingTopBottom = 22;
         int iconTextSpacing = 8;
         int borderThickness = 2;
-        Font font = new Font(recapProperties.getPretendardFontPath(), Font.BOLD, 36);
+        Font font = getChipFont();
 
         FontMetrics metrics = getCachedFontMetrics(font);
         BufferedImage icon = getCachedIcon(albumType);
@@ -65,7 +213,7 @@ public class Graphics2dService {
                 metrics.getAscent()
         );
 
-        BufferedImage image = new BufferedImage(chipWidth, chipHeight, BufferedImage.TYPE_INT_ARGB);
+        BufferedImage image = getChipCanvas(chipWidth, chipHeight);
         Graphics2D g2d = setupGraphics(image, font);
 
         drawRoundedRectangle(
@@ -96,7 +244,7 @@ public class Graphics2dService {
 
         g2d.dispose();
 
-        return saveImage(generateAlbumChipImagePath(recapId), image);
+        return image;
     }
 
     private int calculateChipWidth(int iconWidth, int textWidth, int paddingLeftRight, int iconTextSpacing) {
@@ -112,27 +260,81 @@ public class Graphics2dService {
         return new int[]{y, iconY, textX, textBaselineY};
     }
 
-    private String generateAlbumChipImagePath(String recapId) {
-        return recapProperties.getChipFilePath(recapId);
+    // 반환된 이미지는 같은 스레드에서 다음 칩을 그리기 전까지만 유효
+    private BufferedImage getChipCanvas(int width, int height) {
+        BufferedImage canvas = chipCanvas.get();
+        if (canvas == null || canvas.getWidth() < width || canvas.getHeight() < height) {
+            int canvasWidth = Math.max(width, canvas == null ? 0 : canvas.getWidth());
+            int canvasHeight = Math.max(height, canvas == null ? 0 : canvas.getHeight());
+            canvas = new BufferedImage(canvasWidth, canvasHeight, BufferedImage.TYPE_INT_ARGB);
+            chipCanvas.set(canvas);
+        }
+
+        BufferedImage chip = canvas.getSubimage(0, 0, width, height);
+        Graphics2D g2d = chip.createGraphics();
+        g2d.setComposite(AlphaComposite.Clear);
+        g2d.fillRect(0, 0, width, height);
+        g2d.dispose();
+        return chip;
+    }
+
+    private Font getChipFont() throws IOException {
+        return getFont(recapProperties.getPretendardFontPath(), CHIP_FONT_SIZE);
+    }
+
+    private Font getFont(String fontPath, float size) throws IOException {
+        return getCached(fontCache, fontPath + ":" + size, key -> {
+            try {
+                return Font.createFont(Font.TRUETYPE_FONT, new File(fontPath)).deriveFont(size);
+            } catch (IOException | FontFormatException e) {
+                throw new UncheckedIOException(new IOException("Failed to load font: " + fontPath, e));
+            }
+        });
     }
 
     private FontMetrics getCachedFontMetrics(Font font) {
-        if (cachedMetrics == null) {
+        return metricsCache.computeIfAbsent(font, key -> {
             BufferedImage tempImage = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
             Graphics2D tempGraphics = tempImage.createGraphics();
-            tempGraphics.setFont(font);
-            cachedMetrics = tempGraphics.getFontMetrics(font);
+            FontMetrics metrics = tempGraphics.getFontMetrics(key);
             tempGraphics.dispose();
-        }
-        return cachedMetrics;
+            return metrics;
+        });
     }
 
     private BufferedImage getCachedIcon(String iconType) throws IOException {
-        if (!iconCache.containsKey(iconType)) {
-            BufferedImage icon = ImageIO.read(new File(recapProperties.getIconPath(iconType)));
-            iconCache.put(iconType, icon);
+        return getCached(iconCache, iconType, key -> readImage(recapProperties.getIconPath(key)));
+    }
+
+    private BufferedImage getCachedBackground(String albumType) throws IOException {
+        return getCached(backgroundCache, albumType, key -> {
+            BufferedImage background = readImage(recapProperties.getBackgroundPath(key));
+            BufferedImage converted = new BufferedImage(background.getWidth(), background.getHeight(), BufferedImage.TYPE_3BYTE_BGR);
+            Graphics2D g2d = converted.createGraphics();
+            g2d.drawImage(background, 0, 0, null);
+            g2d.dispose();
+            return converted;
+        });
+    }
+
+    private BufferedImage readImage(String imagePath) {
+        try {
+            BufferedImage image = ImageIO.read(new File(imagePath));
+            if (image == null) {
+                throw new IOException("Unsupported image format: " + imagePath);
+            }
+            return image;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> T getCached(Map<String, T> cache, String key, Function<String, T> loader) throws IOException {
+        try {
+            return cache.computeIfAbsent(key, loader);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
-        return iconCache.get(iconType);
     }
 
     private Graphics2D setupGraphics(BufferedImage image, Font font) {
@@ -158,10 +360,5 @@ public class Graphics2dService {
         g2d.drawString(text, x, y);
     }
 
-    private String saveImage(String imagePath, BufferedImage image) throws IOException {
-        ImageIO.write(image, "png", new File(imagePath));
-        return imagePath;
-    }
-
 }
 
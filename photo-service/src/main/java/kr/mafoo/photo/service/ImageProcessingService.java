@@ -0,0 +1,245 @@
+package kr.mafoo.photo.service;
+
+import kr.mafoo.photo.service.dto.NormalizedImageDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class ImageProcessingService {
+
+    private static final int JPEG_SOI = 0xD8;
+    private static final int JPEG_SOS = 0xDA;
+    private static final int JPEG_APP1 = 0xE1;
+    private static final int EXIF_ORIENTATION_TAG = 0x0112;
+
+    private final Scheduler imageProcessingScheduler;
+
+    @Value("${image.variant.thumbnail-width}")
+    private int thumbnailWidth;
+
+    @Value("${image.variant.medium-width}")
+    private int mediumWidth;
+
+    @Value("${image.variant.quality}")
+    private float variantQuality;
+
+    // 이벤트 루프를 막지 않도록 디코딩/리사이즈는 CPU 코어 수로 제한된 별도 풀에서 처리
+    public Mono<NormalizedImageDto> normalize(byte[] sourceByte) {
+        return Mono.fromCallable(() -> normalizeImage(sourceByte))
+                .subscribeOn(imageProcessingScheduler);
+    }
+
+    private NormalizedImageDto normalizeImage(byte[] sourceByte) throws IOException {
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(sourceByte));
+        if (decoded == null) {
+            throw new IOException("Unsupported image format");
+        }
+
+        boolean isJpeg = isJpeg(sourceByte);
+        int orientation = isJpeg ? readExifOrientation(sourceByte) : 1;
+        BufferedImage oriented = applyOrientation(toRgb(decoded), orientation);
+
+        // 회전이 필요 없는 JPEG은 재인코딩 없이 메타데이터만 제거해 원본 화질을 유지
+        byte[] original = (isJpeg && orientation == 1)
+                ? stripApp1Segments(sourceByte)
+                : encodeJpeg(oriented, 0.92f);
+
+        return new NormalizedImageDto(
+                original,
+                encodeJpeg(resizeToWidth(oriented, thumbnailWidth), variantQuality),
+                encodeJpeg(resizeToWidth(oriented, mediumWidth), variantQuality)
+        );
+    }
+
+    // 호출하는 쪽에서 스케줄러를 지정하는 blocking 메서드
+    public byte[] renderRendition(byte[] sourceByte, int width, String format) throws IOException {
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(sourceByte));
+        if (decoded == null) {
+            throw new IOException("Unsupported image format");
+        }
+
+        int orientation = isJpeg(sourceByte) ? readExifOrientation(sourceByte) : 1;
+        BufferedImage resized = resizeToWidth(applyOrientation(toRgb(decoded), orientation), width);
+
+        if ("png".equals(format)) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            ImageIO.write(resized, "png", outputStream);
+            return outputStream.toByteArray();
+        }
+        return encodeJpeg(resized, variantQuality);
+    }
+
+    private boolean isJpeg(byte[] bytes) {
+        return bytes.length > 2 && (bytes[0] & 0xFF) == 0xFF && (bytes[1] & 0xFF) == JPEG_SOI;
+    }
+
+    private int readExifOrientation(byte[] jpeg) {
+        try {
+            int offset = 2;
+            while (offset + 4 <= jpeg.length && (jpeg[offset] & 0xFF) == 0xFF) {
+                int marker = jpeg[offset + 1] & 0xFF;
+                int length = ((jpeg[offset + 2] & 0xFF) << 8) | (jpeg[offset + 3] & 0xFF);
+
+                if (marker == JPEG_SOS) {
+                    break;
+                }
+                if (marker == JPEG_APP1 && isExifHeader(jpeg, offset + 4)) {
+                    return readOrientationFromTiff(jpeg, offset + 10, length - 8);
+                }
+                offset += 2 + length;
+            }
+        } catch (IndexOutOfBoundsException e) {
+            log.debug("Malformed EXIF segment, ignoring orientation", e);
+        }
+        return 1;
+    }
+
+    private boolean isExifHeader(byte[] bytes, int offset) {
+        return offset + 6 <= bytes.length
+                && bytes[offset] == 'E' && bytes[offset + 1] == 'x' && bytes[offset + 2] == 'i' && bytes[offset + 3] == 'f'
+                && bytes[offset + 4] == 0 && bytes[offset + 5] == 0;
+    }
+
+    private int readOrientationFromTiff(byte[] bytes, int tiffStart, int tiffLength) {
+        ByteBuffer tiff = ByteBuffer.wrap(bytes, tiffStart, tiffLength).slice();
+        tiff.order(tiff.get(0) == 'I' ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+
+        int ifdOffset = tiff.getInt(4);
+        int entryCount = tiff.getShort(ifdOffset) & 0xFFFF;
+        for (int i = 0; i < entryCount; i++) {
+            int entryOffset = ifdOffset + 2 + i * 12;
+            if ((tiff.getShort(entryOffset) & 0xFFFF) == EXIF_ORIENTATION_TAG) {
+                int orientation = tiff.getShort(entryOffset + 8) & 0xFFFF;
+                return (orientation >= 1 && orientation <= 8) ? orientation : 1;
+            }
+        }
+        return 1;
+    }
+
+    // EXIF/XMP가 담긴 APP1 세그먼트만 제거하고 나머지 바이트는 그대로 복사
+    private byte[] stripApp1Segments(byte[] jpeg) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(jpeg.length);
+        outputStream.write(jpeg, 0, 2);
+
+        int offset = 2;
+        while (offset + 4 <= jpeg.length && (jpeg[offset] & 0xFF) == 0xFF) {
+            int marker = jpeg[offset + 1] & 0xFF;
+            if (marker == JPEG_SOS) {
+                break;
+            }
+
+            int segmentLength = 2 + (((jpeg[offset + 2] & 0xFF) << 8) | (jpeg[offset + 3] & 0xFF));
+            if (offset + segmentLength > jpeg.length) {
+                return jpeg;
+            }
+            if (marker != JPEG_APP1) {
+                outputStream.write(jpeg, offset, segmentLength);
+            }
+            offset += segmentLength;
+        }
+
+        outputStream.write(jpeg, offset, jpeg.length - offset);
+        return outputStream.toByteArray();
+    }
+
+    private BufferedImage toRgb(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_INT_RGB) {
+            return image;
+        }
+        BufferedImage rgbImage = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = rgbImage.createGraphics();
+        g2d.setColor(Color.WHITE);
+        g2d.fillRect(0, 0, image.getWidth(), image.getHeight());
+        g2d.drawImage(image, 0, 0, null);
+        g2d.dispose();
+        return rgbImage;
+    }
+
+    private BufferedImage applyOrientation(BufferedImage image, int orientation) {
+        if (orientation == 1) {
+            return image;
+        }
+
+        int w = image.getWidth();
+        int h = image.getHeight();
+
+        AffineTransform transform = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);
+            default -> new AffineTransform(0, -1, 1, 0, 0, w);
+        };
+
+        boolean swapsAxes = orientation >= 5;
+        BufferedImage oriented = new BufferedImage(swapsAxes ? h : w, swapsAxes ? w : h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = oriented.createGraphics();
+        g2d.drawImage(image, transform, null);
+        g2d.dispose();
+        return oriented;
+    }
+
+    // 한 번에 크게 줄이면 계단 현상이 생기므로 절반씩 단계적으로 축소
+    private BufferedImage resizeToWidth(BufferedImage image, int targetWidth) {
+        if (image.getWidth() <= targetWidth) {
+            return image;
+        }
+
+        BufferedImage current = image;
+        int targetHeight = Math.max(1, Math.round((float) image.getHeight() * targetWidth / image.getWidth()));
+
+        while (current.getWidth() > targetWidth) {
+            int nextWidth = Math.max(targetWidth, current.getWidth() / 2);
+            int nextHeight = (nextWidth == targetWidth)
+                    ? targetHeight
+                    : Math.max(1, current.getHeight() / 2);
+
+            BufferedImage resized = new BufferedImage(nextWidth, nextHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g2d = resized.createGraphics();
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g2d.drawImage(current, 0, 0, nextWidth, nextHeight, null);
+            g2d.dispose();
+            current = resized;
+        }
+        return current;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam writeParam = writer.getDefaultWriteParam();
+        writeParam.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        writeParam.setCompressionQuality(quality);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOutputStream = ImageIO.createImageOutputStream(outputStream)) {
+            writer.setOutput(imageOutputStream);
+            writer.write(null, new IIOImage(image, null, null), writeParam);
+        } finally {
+            writer.dispose();
+        }
+        return outputStream.toByteArray();
+    }
+}
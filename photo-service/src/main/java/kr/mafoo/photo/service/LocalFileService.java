@@ -2,39 +2,43 @@ package kr.mafoo.photo.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
-import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
 
 @RequiredArgsConstructor
 @Service
 public class LocalFileService {
 
-    public Mono<Void> deleteSimilarNameFileForPath(String path, String name) {
-        return Mono.fromCallable(() -> new File(path).listFiles())
-                .flatMapMany(files -> {
-                    if (files == null) {
-                        throw new RuntimeException("Failed to retrieve file list from the specified path: " + path);
-                    }
-                    return Flux.fromArray(files);
-                })
-                .filter(file -> file.getName().contains(name) && file.isFile())
-                .flatMap(file -> Mono.fromCallable(() -> {
-                                    boolean deleted = file.delete();
-                                    if (!deleted) {
-                                        throw new RuntimeException("Failed to delete file: " + file.getAbsolutePath());
-                                    }
-                                    return deleted;
-                                })
-                                .subscribeOn(Schedulers.boundedElastic())
-                                .onErrorResume(e -> Mono.empty())
-                                .then()
-                )
-                .then()
-                .onErrorResume(e -> {
-                    throw new RuntimeException("Error occurred while processing files in the directory: " + path, e);
-                });
+    public Mono<Path> createDirectory(Path directory) {
+        return Mono.fromCallable(() -> Files.createDirectories(directory))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // 하위 파일부터 지워야 디렉토리를 삭제할 수 있으므로 깊은 경로부터 역순으로 삭제, 삭제한 파일 크기의 합을 반환
+    public Mono<Long> deleteRecursively(Path path) {
+        return Mono.fromCallable(() -> deleteRecursivelyBlocking(path))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    long deleteRecursivelyBlocking(Path path) throws IOException {
+        if (Files.notExists(path)) {
+            return 0L;
+        }
+        long deletedSize = 0L;
+        try (Stream<Path> paths = Files.walk(path)) {
+            for (Path target : paths.sorted(Comparator.reverseOrder()).toList()) {
+                if (Files.isRegularFile(target)) {
+                    deletedSize += Files.size(target);
+                }
+                Files.deleteIfExists(target);
+            }
+        }
+        return deletedSize;
     }
 }
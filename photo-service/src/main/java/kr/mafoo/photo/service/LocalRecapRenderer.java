@@ -0,0 +1,126 @@
+package kr.mafoo.photo.service;
+
+import kr.mafoo.photo.exception.RecapPhotoUrlNotValidException;
+import kr.mafoo.photo.exception.RecapRenderBusyException;
+import kr.mafoo.photo.service.dto.RecapUrlDto;
+import kr.mafoo.photo.util.IdGenerator;
+import kr.mafoo.photo.util.RecapProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Lambda와 같은 입력(사진 url 목록)을 받아 이 인스턴스의 ffmpeg 파이프라인으로 리캡 영상을 생성
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class LocalRecapRenderer implements RecapRenderer {
+
+    private final ObjectStorageService objectStorageService;
+    private final Graphics2dService graphics2dService;
+    private final RecapVideoEncoder recapVideoEncoder;
+    private final LocalFileService localFileService;
+    private final RecapProperties recapProperties;
+    private final Scheduler recapRenderScheduler;
+
+    @Value("${recap.renderer.local.max-concurrency}")
+    private int maxConcurrency;
+
+    @Value("${recap.renderer.local.width}")
+    private int width;
+
+    @Value("${recap.renderer.local.height}")
+    private int height;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // 클라이언트가 보낸 url을 이 서버가 직접 내려받으므로, 서비스 버킷의 객체만 로컬에서 렌더링
+    public boolean isRenderable(List<String> recapPhotoUrls) {
+        return recapPhotoUrls.stream()
+                .allMatch(url -> objectStorageService.extractKeyName(url).isPresent());
+    }
+
+    @Override
+    public Mono<RecapUrlDto> render(List<String> recapPhotoUrls) {
+        return Mono.defer(() -> {
+            if (!isRenderable(recapPhotoUrls)) {
+                return Mono.error(new RecapPhotoUrlNotValidException());
+            }
+            inFlight.incrementAndGet();
+            return renderAcquired(recapPhotoUrls);
+        });
+    }
+
+    // 렌더링할 수 없는 url이 있거나 동시 렌더링 자리가 없으면 비어 있는 Mono를 반환
+    public Mono<RecapUrlDto> tryRender(List<String> recapPhotoUrls) {
+        return Mono.defer(() -> isRenderable(recapPhotoUrls) && tryAcquire()
+                ? renderAcquired(recapPhotoUrls)
+                : Mono.empty());
+    }
+
+    // 확인과 획득을 한 번의 CAS로 처리해 동시에 들어온 요청이 최대 동시 렌더링 수를 넘지 않도록 함
+    private boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= maxConcurrency) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    // 호출 전에 잡은 자리는 렌더링이 끝나거나 취소되면 반납
+    private Mono<RecapUrlDto> renderAcquired(List<String> recapPhotoUrls) {
+        String recapId = IdGenerator.generate();
+
+        return Mono.usingWhen(
+                        localFileService.createDirectory(Path.of(recapProperties.getWorkspacePath(recapId))),
+                        workspace -> objectStorageService.downloadFilesForRecap(recapPhotoUrls, recapId)
+                                .flatMap(downloadedPath -> encodeVideo(workspace, recapId, downloadedPath)),
+                        localFileService::deleteRecursively
+                )
+                .map(RecapUrlDto::new)
+                .doFinally(signal -> inFlight.decrementAndGet());
+    }
+
+    private Mono<String> encodeVideo(Path workspace, String recapId, List<String> downloadedPath) {
+        return recapVideoEncoder.trackPending(Mono.fromCallable(() -> {
+                    BufferedImage canvas = new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR);
+                    Iterator<BufferedImage> slides = downloadedPath.stream()
+                            .map(path -> graphics2dService.renderRecapSlide(readPhoto(path), canvas))
+                            .iterator();
+
+                    return recapVideoEncoder.encode(workspace, width, height, slides, video -> objectStorageService.uploadRecapVideo(recapId, video));
+                })
+                .subscribeOn(recapRenderScheduler))
+                // 렌더링 대기열까지 가득 차면 500 대신 잠시 후 재시도하라고 응답
+                .onErrorMap(RejectedExecutionException.class, e -> new RecapRenderBusyException())
+                .doOnError(e -> log.error("Failed to render recap video locally", e));
+    }
+
+    private BufferedImage readPhoto(String path) {
+        try {
+            BufferedImage photo = ImageIO.read(new File(path));
+            if (photo == null) {
+                throw new IOException("Unsupported image format: " + path);
+            }
+            return photo;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package kr.mafoo.photo.service;
+
+import kr.mafoo.photo.domain.ObjectTombstoneEntity;
+import kr.mafoo.photo.repository.ObjectTombstoneRepository;
+import kr.mafoo.photo.repository.PhotoObjectRepository;
+import kr.mafoo.photo.repository.PhotoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class ObjectDeletionWorker {
+
+    private final ObjectTombstoneRepository objectTombstoneRepository;
+    private final PhotoRepository photoRepository;
+    private final PhotoObjectRepository photoObjectRepository;
+    private final ObjectStorageService objectStorageService;
+    private final TransactionalOperator transactionalOperator;
+
+    @Value("${cloud.aws.s3.deletion.batch-size}")
+    private int batchSize;
+
+    @Value("${cloud.aws.s3.deletion.max-attempts}")
+    private int maxAttempts;
+
+    @Value("${cloud.aws.s3.deletion.retry-base-delay}")
+    private long retryBaseDelaySeconds;
+
+    @Value("${cloud.aws.s3.deletion.retry-max-delay}")
+    private long retryMaxDelaySeconds;
+
+    @Value("${cloud.aws.s3.deletion.lease}")
+    private long leaseSeconds;
+
+    @Scheduled(fixedDelayString = "${cloud.aws.s3.deletion.interval}")
+    public Mono<Void> deleteTombstonedObjects() {
+        return claimDueTombstones()
+            .filter(tombstones -> !tombstones.isEmpty())
+            .flatMap(this::processTombstones)
+            .onErrorResume(e -> {
+                log.warn("Failed to process object tombstones", e);
+                return Mono.empty();
+            });
+    }
+
+    // 짧은 트랜잭션으로 툼스톤을 임대해, 여러 인스턴스가 같은 묶음을 가져가 같은 오브젝트를 중복 삭제하지 않도록 함
+    private Mono<List<ObjectTombstoneEntity>> claimDueTombstones() {
+        return transactionalOperator.transactional(objectTombstoneRepository.lockAllDue(Math.min(batchSize, 1000))
+            .collectList()
+            .flatMap(tombstones -> tombstones.isEmpty()
+                ? Mono.just(tombstones)
+                : objectTombstoneRepository.leaseAllById(tombstones.stream().map(ObjectTombstoneEntity::getTombstoneId).toList(), leaseSeconds)
+                    .thenReturn(tombstones)
+            )
+        );
+    }
+
+    // 참조 확인과 매핑 정리까지만 트랜잭션으로 묶고, 오브젝트 삭제는 커밋 뒤에 임대한 툼스톤에 대해서만 수행
+    // 원격 삭제 동안 photo_object 잠금을 잡지 않아 같은 url을 쓰는 QR 가져오기가 멈추지 않음
+    private Mono<Void> processTombstones(List<ObjectTombstoneEntity> tombstones) {
+        return resolveDeletableTombstones(tombstones)
+            .flatMap(this::deleteObjects);
+    }
+
+    // QR 가져오기는 중복 제거용 매핑을 잠근 채 사진을 저장하므로, 같은 매핑을 잠근 뒤 참조 여부를 다시 확인하고
+    // 지울 오브젝트의 매핑을 같은 트랜잭션에서 지워 커밋 뒤에는 재사용되지 않도록 함
+    // 매핑이 지워진 뒤 같은 원본을 다시 가져오면 남아 있는 툼스톤을 보고 다른 키에 올리므로 삭제와 겹치지 않음
+    private Mono<List<ObjectTombstoneEntity>> resolveDeletableTombstones(List<ObjectTombstoneEntity> tombstones) {
+        List<String> referenceUrls = tombstones.stream()
+            .map(ObjectTombstoneEntity::getReferenceUrl)
+            .distinct()
+            .toList();
+
+        // 같은 원본을 공유하는 다른 사진이 남아 있으면 오브젝트는 지우지 않고 툼스톤만 정리
+        return transactionalOperator.transactional(photoObjectRepository.lockAllUrlByUrlIn(referenceUrls)
+            .thenMany(photoRepository.findAllUrlByUrlInForShare(referenceUrls))
+            .collect(Collectors.toCollection(HashSet::new))
+            .flatMap(referencedUrls -> {
+                List<ObjectTombstoneEntity> droppable = new ArrayList<>();
+                List<ObjectTombstoneEntity> exhausted = new ArrayList<>();
+                List<ObjectTombstoneEntity> deletable = new ArrayList<>();
+
+                for (ObjectTombstoneEntity tombstone : tombstones) {
+                    if (!isDeleteTarget(tombstone, referencedUrls)) {
+                        droppable.add(tombstone);
+                    } else if (tombstone.getAttemptCount() >= maxAttempts) {
+                        exhausted.add(tombstone);
+                    } else {
+                        deletable.add(tombstone);
+                    }
+                }
+
+                return objectTombstoneRepository.deleteAll(droppable)
+                    .then(markFailed(exhausted))
+                    .then(removePhotoObjects(deletable))
+                    .thenReturn(deletable);
+            })
+        );
+    }
+
+    private Mono<Void> removePhotoObjects(List<ObjectTombstoneEntity> tombstones) {
+        if (tombstones.isEmpty()) {
+            return Mono.empty();
+        }
+        return photoObjectRepository.deleteAllByUrlIn(tombstones.stream().map(ObjectTombstoneEntity::getReferenceUrl).distinct().toList())
+            .then();
+    }
+
+    private boolean isDeleteTarget(ObjectTombstoneEntity tombstone, Set<String> referencedUrls) {
+        if (referencedUrls.contains(tombstone.getReferenceUrl())) {
+            return false;
+        }
+        // 브랜드 서버 url처럼 이 버킷의 오브젝트가 아니면 지울 대상이 없음
+        return objectStorageService.extractKeyName(tombstone.getUrl()).isPresent();
+    }
+
+    private Mono<Void> markFailed(List<ObjectTombstoneEntity> tombstones) {
+        if (tombstones.isEmpty()) {
+            return Mono.empty();
+        }
+
+        tombstones.forEach(tombstone ->
+            log.error("Giving up deleting object after {} attempts: {}", tombstone.getAttemptCount(), tombstone.getUrl())
+        );
+        return objectTombstoneRepository.markAllFailedById(tombstones.stream().map(ObjectTombstoneEntity::getTombstoneId).toList());
+    }
+
+    private Mono<Void> deleteObjects(List<ObjectTombstoneEntity> tombstones) {
+        if (tombstones.isEmpty()) {
+            return Mono.empty();
+        }
+
+        Map<String, String> keyNameByTombstoneId = tombstones.stream()
+            .collect(Collectors.toMap(
+                ObjectTombstoneEntity::getTombstoneId,
+                tombstone -> objectStorageService.extractKeyName(tombstone.getUrl()).orElseThrow()
+            ));
+        return objectStorageService.deleteObjects(keyNameByTombstoneId.values().stream().distinct().toList())
+            .flatMap(failedKeyNames -> {
+                Set<String> failedKeys = Set.copyOf(failedKeyNames);
+                Map<Boolean, List<String>> partitioned = keyNameByTombstoneId.entrySet().stream()
+                    .collect(Collectors.partitioningBy(
+                        entry -> failedKeys.contains(entry.getValue()),
+                        Collectors.mapping(Map.Entry::getKey, Collectors.toList())
+                    ));
+
+                return objectTombstoneRepository.deleteAllById(partitioned.get(false))
+                    .then(postpone(partitioned.get(true)));
+            })
+            .onErrorResume(e -> {
+                log.warn("Failed to delete {} objects, retrying later", tombstones.size(), e);
+                return postpone(List.copyOf(keyNameByTombstoneId.keySet()));
+            });
+    }
+
+    private Mono<Void> postpone(List<String> tombstoneIds) {
+        if (tombstoneIds.isEmpty()) {
+            return Mono.empty();
+        }
+        return objectTombstoneRepository.postponeAllById(tombstoneIds, retryBaseDelaySeconds, retryMaxDelaySeconds);
+    }
+}
@@ -0,0 +1,118 @@
+package kr.mafoo.photo.service;
+
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import kr.mafoo.photo.domain.ObjectStorageReaperCursorEntity;
+import kr.mafoo.photo.repository.ObjectStorageReaperCursorRepository;
+import kr.mafoo.photo.repository.PhotoObjectRepository;
+import kr.mafoo.photo.repository.PhotoRepository;
+import kr.mafoo.photo.util.ObjectKeyGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class ObjectStorageReaper {
+
+    private static final List<String> REAPABLE_PREFIXES = List.of(
+            ObjectKeyGenerator.ORIGINAL_PREFIX,
+            ObjectKeyGenerator.DERIVATIVE_PREFIX
+    );
+
+    private static final int CURSOR_ID = 1;
+
+    private final ObjectStorageService objectStorageService;
+    private final PhotoRepository photoRepository;
+    private final PhotoObjectRepository photoObjectRepository;
+    private final ObjectStorageReaperCursorRepository objectStorageReaperCursorRepository;
+
+    @Value("${cloud.aws.s3.reaper.page-size}")
+    private int pageSize;
+
+    @Value("${cloud.aws.s3.reaper.grace-period}")
+    private long gracePeriodMillis;
+
+    // 한 번에 전체를 훑지 않고 실행마다 한 페이지씩 이어서 확인
+    // 커서는 DB에 두고 버전을 비교해 옮기므로, 여러 인스턴스가 같은 페이지를 중복으로 확인하지 않고 나눠서 진행
+    @Scheduled(initialDelayString = "${cloud.aws.s3.reaper.interval}", fixedDelayString = "${cloud.aws.s3.reaper.interval}")
+    public Mono<Void> reapOrphanedObjects() {
+        return objectStorageReaperCursorRepository.findById(CURSOR_ID)
+            .flatMap(cursor -> {
+                String prefix = REAPABLE_PREFIXES.get(cursor.getPrefixIndex() % REAPABLE_PREFIXES.size());
+
+                return objectStorageService.listObjects(prefix, cursor.getContinuationToken(), pageSize)
+                    .filterWhen(result -> claimPage(cursor, result.getNextContinuationToken()))
+                    .flatMap(this::reapPage)
+                    .doOnNext(deletedCount -> {
+                        if (deletedCount > 0) {
+                            log.info("Reaped {} orphaned objects under {}", deletedCount, prefix);
+                        }
+                    })
+                    .onErrorResume(e -> {
+                        log.warn("Failed to reap orphaned objects under {}", prefix, e);
+                        return Mono.empty();
+                    });
+            })
+            .then();
+    }
+
+    // 다른 인스턴스가 먼저 이 페이지를 가져갔다면 건너뜀
+    private Mono<Boolean> claimPage(ObjectStorageReaperCursorEntity cursor, String nextContinuationToken) {
+        int nextPrefixIndex = (nextContinuationToken == null)
+            ? (cursor.getPrefixIndex() + 1) % REAPABLE_PREFIXES.size()
+            : cursor.getPrefixIndex();
+
+        return objectStorageReaperCursorRepository
+            .advance(CURSOR_ID, nextPrefixIndex, nextContinuationToken, cursor.getVersion())
+            .map(updatedCount -> updatedCount > 0);
+    }
+
+    private Mono<Integer> reapPage(ListObjectsV2Result result) {
+        // 업로드 직후 아직 사진으로 등록되지 않은 객체는 제외
+        long graceBoundary = System.currentTimeMillis() - gracePeriodMillis;
+        List<String> candidateKeys = result.getObjectSummaries().stream()
+            .filter(summary -> summary.getLastModified().getTime() < graceBoundary)
+            .map(S3ObjectSummary::getKey)
+            .toList();
+
+        return findOrphanedKeys(candidateKeys)
+            .flatMap(orphanedKeys -> objectStorageService.deleteObjects(orphanedKeys)
+                .map(failedKeys -> orphanedKeys.size() - failedKeys.size())
+            );
+    }
+
+    // 변형 이미지는 원본 url이 참조되고 있는지로 판단
+    private Mono<List<String>> findOrphanedKeys(List<String> keys) {
+        if (keys.isEmpty()) {
+            return Mono.just(List.of());
+        }
+
+        Map<String, String> originalUrlByKey = keys.stream()
+            .collect(Collectors.toMap(Function.identity(), key -> objectStorageService.generateFileLink(
+                key.startsWith(ObjectKeyGenerator.DERIVATIVE_PREFIX) ? ObjectKeyGenerator.originalOfDerivative(key) : key
+            )));
+        List<String> originalUrls = originalUrlByKey.values().stream().distinct().toList();
+
+        return Flux.merge(
+                photoRepository.findAllUrlByUrlIn(originalUrls),
+                photoObjectRepository.findAllUrlByUrlIn(originalUrls)
+            )
+            .collect(Collectors.toCollection(HashSet::new))
+            .map(referencedUrls -> keys.stream()
+                .filter(key -> !referencedUrls.contains(originalUrlByKey.get(key)))
+                .toList()
+            );
+    }
+}
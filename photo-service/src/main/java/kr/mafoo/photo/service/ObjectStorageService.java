@@ -1,42 +1,76 @@
 package kr.mafoo.photo.service;
 
-import com.amazonaws.HttpMethod;
 import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
 import com.amazonaws.services.s3.model.CannedAccessControlList;
-import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
 import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
 import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import kr.mafoo.photo.exception.PhotoUploadKeyNotValidException;
 import kr.mafoo.photo.exception.PreSignedUrlBannedFileTypeException;
 import kr.mafoo.photo.exception.PreSignedUrlExceedMaximumException;
+import kr.mafoo.photo.exception.PreSignedUrlQuotaExceededException;
+import kr.mafoo.photo.service.dto.NormalizedImageDto;
+import kr.mafoo.photo.service.dto.PhotoUrlDto;
+import kr.mafoo.photo.service.dto.PreSignedPostDto;
+import kr.mafoo.photo.util.ObjectKeyGenerator;
 import kr.mafoo.photo.util.RecapProperties;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.io.FileUtils;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.stereotype.Service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 import java.io.ByteArrayInputStream;
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 
-import java.net.URL;
-import java.util.Date;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ObjectStorageService {
 
+    private static final Map<String, String> ALLOWED_CONTENT_TYPES = Map.of(
+            "jpg", "image/jpeg",
+            "jpeg", "image/jpeg",
+            "png", "image/png"
+    );
+
+    // 멀티파트 업로드에서 마지막 파트를 제외한 최소 파트 크기
+    private static final int MULTIPART_PART_SIZE = 5 * 1024 * 1024;
+
     private final AmazonS3Client amazonS3Client;
 
+    private final PreSignedUrlSigner preSignedUrlSigner;
+
+    private final PreSignedUrlQuota preSignedUrlQuota;
+
     @Value("${cloud.aws.s3.endpoint}")
     private String endpoint;
 
@@ -46,11 +80,52 @@ public class ObjectStorageService {
     @Value("${cloud.aws.s3.presigned-url-expiration}")
     private long presignedUrlExpiration;
 
+    @Value("${recap.download.concurrency}")
+    private int recapDownloadConcurrency;
+
+    @Value("${recap.download.timeout}")
+    private Duration recapDownloadTimeout;
+
+    @Value("${cloud.aws.s3.presigned-post.max-content-length}")
+    private long presignedPostMaxContentLength;
+
     private final RecapProperties recapProperties;
 
-    public Mono<String> uploadFile(byte[] fileByte) {
-        String keyName = "qr/" + UUID.randomUUID() + ".jpeg";
+    private final WebClient webClient;
+
+    private final Scheduler videoUploadScheduler;
+
+    public Mono<PhotoUrlDto> uploadImageWithVariants(String objectId, NormalizedImageDto image) {
+        if (!image.hasVariants()) {
+            return putPublicImage(ObjectKeyGenerator.original(objectId), image.originalByte())
+                    .map(photoUrl -> new PhotoUrlDto(photoUrl, null, null));
+        }
+
+        // 원본과 변형 이미지는 서로 독립적이므로 동시에 업로드
+        return Mono.zip(
+                putPublicImage(ObjectKeyGenerator.original(objectId), image.originalByte()),
+                putPublicImage(ObjectKeyGenerator.derivative(objectId, "thumbnail"), image.thumbnailByte()),
+                putPublicImage(ObjectKeyGenerator.derivative(objectId, "medium"), image.mediumByte())
+        ).map(urls -> new PhotoUrlDto(urls.getT1(), urls.getT2(), urls.getT3()));
+    }
+
+    // 이미 올라간 원본은 그대로 두고 변형 이미지만 원본 키 옆에 업로드
+    public Mono<PhotoUrlDto> uploadVariantsOfOriginal(String originalKeyName, NormalizedImageDto image) {
+        return Mono.zip(
+                putPublicImage(ObjectKeyGenerator.derivativeOfOriginal(originalKeyName, "thumbnail"), image.thumbnailByte()),
+                putPublicImage(ObjectKeyGenerator.derivativeOfOriginal(originalKeyName, "medium"), image.mediumByte())
+        ).map(urls -> new PhotoUrlDto(generateFileLink(originalKeyName), urls.getT1(), urls.getT2()));
+    }
+
+    public Mono<byte[]> downloadObject(String keyName) {
+        return Mono.fromCallable(() -> {
+            try (S3Object s3Object = amazonS3Client.getObject(bucketName, keyName)) {
+                return s3Object.getObjectContent().readAllBytes();
+            }
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
 
+    private Mono<String> putPublicImage(String keyName, byte[] fileByte) {
         ObjectMetadata objectMetadata = new ObjectMetadata();
         objectMetadata.setContentLength(fileByte.length);
         objectMetadata.setContentType("image/jpeg");
@@ -65,64 +140,140 @@ public class ObjectStorageService {
             } catch (Exception e) {
                 throw new RuntimeException("Failed to upload image to object storage: ", e);
             }
-        });
+        }).subscribeOn(Schedulers.boundedElastic());
     }
 
-    public Mono<String> uploadFileFromPath(String filePath) {
-        return Mono.fromCallable(() -> {
-            File file = new File(filePath);
-            String keyName = "recap/" + file.getName();
-
-            if (!file.exists() || !file.isFile()) {
-                throw new IllegalArgumentException("Invalid file path: " + filePath);
-            }
+    // 영상은 크기가 커서 힙에 모으지 않고 브랜드 서버 응답을 그대로 Object Storage로 흘려보냄
+    public Mono<String> uploadVideoFromUrl(String videoUrl) {
+        String keyName = ObjectKeyGenerator.video();
+
+        return webClient
+                .get()
+                .uri(videoUrl)
+                .retrieve()
+                .toEntityFlux(DataBuffer.class)
+                .flatMap(response -> {
+                    long contentLength = response.getHeaders().getContentLength();
+                    if (contentLength < 0 || response.getBody() == null) {
+                        return Mono.error(new IllegalStateException("Unknown content length for video: " + videoUrl));
+                    }
+
+                    ObjectMetadata objectMetadata = new ObjectMetadata();
+                    objectMetadata.setContentLength(contentLength);
+                    objectMetadata.setContentType("video/mp4");
+
+                    return Mono.fromCallable(() -> {
+                        try (InputStream inputStream = DataBufferUtils.subscriberInputStream(response.getBody(), 16)) {
+                            amazonS3Client.putObject(
+                                    new PutObjectRequest(bucketName, keyName, inputStream, objectMetadata)
+                                            .withCannedAcl(CannedAccessControlList.PublicRead));
+
+                            return generateFileLink(keyName);
+                        } catch (IOException e) {
+                            throw new RuntimeException("Failed to upload video to object storage: " + videoUrl, e);
+                        }
+                    }).subscribeOn(videoUploadScheduler);
+                });
+    }
 
-            ObjectMetadata objectMetadata = new ObjectMetadata();
-            objectMetadata.setContentLength(file.length());
-            objectMetadata.setContentType("application/octet-stream");
+    public Mono<String> uploadRecapVideo(String recapId, InputStream inputStream) {
+        return uploadStream(ObjectKeyGenerator.recapVideo(recapId + "_video.mp4"), inputStream, "video/mp4");
+    }
 
-            try (InputStream inputStream = FileUtils.openInputStream(file)) {
-                amazonS3Client.putObject(
-                        new PutObjectRequest(bucketName, keyName, inputStream, objectMetadata)
-                                .withCannedAcl(CannedAccessControlList.PublicRead));
+    // 길이를 모르는 스트림을 파트 단위로 올려 인코딩이 끝나기 전부터 업로드가 진행되도록 함
+    // 업로드 시작 실패, 스케줄러 거부, 취소 어느 경우에도 스트림을 닫아 ffmpeg가 stdout 쓰기에서 멈추지 않도록 함
+    private Mono<String> uploadStream(String keyName, InputStream inputStream, String contentType) {
+        return Mono.using(
+                () -> inputStream,
+                stream -> Mono.fromCallable(() -> uploadParts(keyName, stream, contentType)).subscribeOn(Schedulers.boundedElastic()),
+                ObjectStorageService::closeQuietly
+        );
+    }
 
-                return generateFileLink(keyName);
-            } catch (IOException e) {
-                throw new RuntimeException("Failed to upload file to object storage: " + filePath, e);
+    private String uploadParts(String keyName, InputStream inputStream, String contentType) throws IOException {
+        ObjectMetadata objectMetadata = new ObjectMetadata();
+        objectMetadata.setContentType(contentType);
+
+        String uploadId = amazonS3Client.initiateMultipartUpload(
+                new InitiateMultipartUploadRequest(bucketName, keyName, objectMetadata)
+                        .withCannedACL(CannedAccessControlList.PublicRead)
+        ).getUploadId();
+
+        try {
+            List<PartETag> partETags = new ArrayList<>();
+            byte[] buffer = new byte[MULTIPART_PART_SIZE];
+            int partLength;
+
+            // 마지막 파트를 제외한 모든 파트는 최소 크기를 채워야 하므로 버퍼가 찰 때까지 읽음
+            do {
+                partLength = inputStream.readNBytes(buffer, 0, buffer.length);
+                if (partLength == 0) {
+                    break;
+                }
+                partETags.add(amazonS3Client.uploadPart(new UploadPartRequest()
+                        .withBucketName(bucketName)
+                        .withKey(keyName)
+                        .withUploadId(uploadId)
+                        .withPartNumber(partETags.size() + 1)
+                        .withInputStream(new ByteArrayInputStream(buffer, 0, partLength))
+                        .withPartSize(partLength)
+                ).getPartETag());
+            } while (partLength == buffer.length);
+
+            amazonS3Client.completeMultipartUpload(new CompleteMultipartUploadRequest(bucketName, keyName, uploadId, partETags));
+            return generateFileLink(keyName);
+        } catch (Exception e) {
+            // 중단된 업로드의 파트가 남지 않도록 정리, 정리에 실패해도 수명 주기 규칙으로 만료됨
+            try {
+                amazonS3Client.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, keyName, uploadId));
+            } catch (Exception abortException) {
+                e.addSuppressed(abortException);
             }
-        });
+            throw new RuntimeException("Failed to upload stream to object storage: " + keyName, e);
+        }
+    }
+
+    private static void closeQuietly(InputStream inputStream) {
+        try {
+            inputStream.close();
+        } catch (IOException e) {
+            log.warn("Failed to close upload stream", e);
+        }
     }
 
     public Mono<String[]> createPreSignedUrls(String[] fileNames, String memberId) {
         if (fileNames.length > 30) {
             return Mono.error(new PreSignedUrlExceedMaximumException());
         }
+        if (!preSignedUrlQuota.tryAcquire(memberId, fileNames.length)) {
+            return Mono.error(new PreSignedUrlQuotaExceededException());
+        }
+
+        return createPreSignedPutUrls(fileNames, fileType -> ObjectKeyGenerator.memberOriginal(memberId, fileType));
+    }
+
+    // PUT 방식과 달리 업로드 크기와 Content-Type을 스토리지가 직접 거부하므로 큰 파일이 파이프라인에 들어오지 않음
+    public Mono<List<PreSignedPostDto>> createPreSignedPosts(String[] fileNames, String memberId) {
+        if (fileNames.length > 30) {
+            return Mono.error(new PreSignedUrlExceedMaximumException());
+        }
+        if (!preSignedUrlQuota.tryAcquire(memberId, fileNames.length)) {
+            return Mono.error(new PreSignedUrlQuotaExceededException());
+        }
 
-        return Flux.fromArray(fileNames)
-                .flatMap(fileName -> generatePresignedUrlForImage(fileName, memberId)
-                        .map(URL::toString))
-                .collectList()
-                .map(list -> list.toArray(new String[0]));
-    }
-
-    private Mono<URL> generatePresignedUrlForImage(String fileName, String memberId) {
-        List<String> allowedFileTypes = List.of("jpg", "jpeg", "png");
-
-        return extractFileType(fileName)
-            .flatMap(fileType -> {
-                if (allowedFileTypes.contains(fileType)) {
-                    String filePath = String.format("%s/photo/%s.%s", memberId, UUID.randomUUID(), fileType);
-                    Date expiration = new Date(System.currentTimeMillis() + presignedUrlExpiration);
-
-                    return Mono.just(
-                        amazonS3Client.generatePresignedUrl(new GeneratePresignedUrlRequest(bucketName, filePath)
-                            .withMethod(HttpMethod.PUT)
-                            .withExpiration(expiration))
-                    );
-                } else {
-                    return Mono.error(new PreSignedUrlBannedFileTypeException());
+        return Mono.fromCallable(() -> {
+            Map<String, String> contentTypeByKeyName = new LinkedHashMap<>();
+            for (String fileName : fileNames) {
+                String fileType = extractFileType(fileName);
+                String contentType = ALLOWED_CONTENT_TYPES.get(fileType);
+                if (contentType == null) {
+                    throw new PreSignedUrlBannedFileTypeException();
                 }
-            });
+                contentTypeByKeyName.put(ObjectKeyGenerator.memberOriginal(memberId, fileType), contentType);
+            }
+
+            return preSignedUrlSigner.signPostPolicies(contentTypeByKeyName, presignedPostMaxContentLength, presignedUrlExpiration / 1000);
+        });
     }
 
     public Mono<String[]> createRecapPreSignedUrls(String[] fileNames) {
@@ -130,36 +281,46 @@ public class ObjectStorageService {
             return Mono.error(new PreSignedUrlExceedMaximumException());
         }
 
-        return Flux.fromArray(fileNames)
-            .flatMap(fileName -> generateRecapPresignedUrlForImage(fileName)
-                .map(URL::toString))
-            .collectList()
-            .map(list -> list.toArray(new String[0]));
-    }
-
-    private Mono<URL> generateRecapPresignedUrlForImage(String fileName) {
-        List<String> allowedFileTypes = List.of("jpg", "jpeg", "png");
-
-        return extractFileType(fileName)
-            .flatMap(fileType -> {
-                if (allowedFileTypes.contains(fileType)) {
-                    String filePath = String.format("recap/photo/%s.%s", UUID.randomUUID(), fileType);
-                    Date expiration = new Date(System.currentTimeMillis() + presignedUrlExpiration);
-
-                    return Mono.just(
-                        amazonS3Client.generatePresignedUrl(new GeneratePresignedUrlRequest(bucketName, filePath)
-                            .withMethod(HttpMethod.PUT)
-                            .withExpiration(expiration))
-                    );
-                } else {
-                    return Mono.error(new PreSignedUrlBannedFileTypeException());
+        return createPreSignedPutUrls(fileNames, ObjectKeyGenerator::recapPhoto);
+    }
+
+    private Mono<String[]> createPreSignedPutUrls(String[] fileNames, Function<String, String> keyNameGenerator) {
+        return Mono.fromCallable(() -> {
+            List<String> keyNames = new ArrayList<>(fileNames.length);
+            for (String fileName : fileNames) {
+                String fileType = extractFileType(fileName);
+                if (!ALLOWED_CONTENT_TYPES.containsKey(fileType)) {
+                    throw new PreSignedUrlBannedFileTypeException();
                 }
-            });
+                keyNames.add(keyNameGenerator.apply(fileType));
+            }
+
+            return preSignedUrlSigner.signPutUrls(keyNames, presignedUrlExpiration / 1000)
+                    .toArray(new String[0]);
+        });
+    }
+
+    // 업로드가 실제로 끝났는지 HEAD 요청으로 확인, 크기 제한을 넘은 PUT 업로드도 여기서 거부
+    public Mono<String> findUploadedObjectLink(String keyName) {
+        return Mono.fromCallable(() -> amazonS3Client.getObjectMetadata(bucketName, keyName))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorMap(
+                        e -> e instanceof AmazonS3Exception s3Exception && s3Exception.getStatusCode() == 404,
+                        e -> new PhotoUploadKeyNotValidException()
+                )
+                .flatMap(objectMetadata -> {
+                    if (objectMetadata.getContentLength() > presignedPostMaxContentLength) {
+                        return Mono.error(new PhotoUploadKeyNotValidException());
+                    }
+                    return Mono.just(generateFileLink(keyName));
+                });
     }
 
     public Mono<String> setObjectPublicRead(String filePath) {
-        String keyName = filePath.split("object.ncloudstorage.com/")[1];
+        return setObjectPublicReadByKey(filePath.split("object.ncloudstorage.com/")[1]);
+    }
 
+    public Mono<String> setObjectPublicReadByKey(String keyName) {
         return Mono.fromCallable(() -> {
             try {
                 amazonS3Client.setObjectAcl(bucketName, keyName, CannedAccessControlList.PublicRead);
@@ -170,36 +331,81 @@ public class ObjectStorageService {
         });
     }
 
-    private Mono<String> extractFileType(String fileName) {
-        return Mono.just(
-                fileName.substring(fileName.lastIndexOf(".") + 1)
-        );
+    private String extractFileType(String fileName) {
+        return fileName.substring(fileName.lastIndexOf(".") + 1);
+    }
+
+    public Mono<ListObjectsV2Result> listObjects(String prefix, String continuationToken, int maxKeys) {
+        return Mono.fromCallable(() -> amazonS3Client.listObjectsV2(new ListObjectsV2Request()
+                        .withBucketName(bucketName)
+                        .withPrefix(prefix)
+                        .withContinuationToken(continuationToken)
+                        .withMaxKeys(maxKeys)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // 한 번의 요청으로 최대 1000개까지 삭제할 수 있으며, 삭제에 실패한 키 목록을 반환
+    public Mono<List<String>> deleteObjects(List<String> keyNames) {
+        if (keyNames.isEmpty()) {
+            return Mono.just(List.of());
+        }
+
+        return Mono.fromCallable(() -> {
+                    try {
+                        amazonS3Client.deleteObjects(new DeleteObjectsRequest(bucketName)
+                                .withKeys(keyNames.toArray(new String[0]))
+                                .withQuiet(true));
+                        return List.<String>of();
+                    } catch (MultiObjectDeleteException e) {
+                        return e.getErrors().stream()
+                                .map(MultiObjectDeleteException.DeleteError::getKey)
+                                .toList();
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic());
     }
 
-    private String generateFileLink(String keyName) {
+    // 이 버킷의 오브젝트 url이 아니면(브랜드 서버 url 등) 빈 값을 반환
+    public Optional<String> extractKeyName(String fileLink) {
+        String pathStylePrefix = generateFileLink("");
+        if (fileLink.startsWith(pathStylePrefix)) {
+            return Optional.of(fileLink.substring(pathStylePrefix.length()));
+        }
+
+        String virtualHostPrefix = endpoint.replace("://", "://" + bucketName + ".") + "/";
+        if (fileLink.startsWith(virtualHostPrefix)) {
+            String keyName = fileLink.substring(virtualHostPrefix.length());
+            int queryIndex = keyName.indexOf('?');
+            return Optional.of(queryIndex < 0 ? keyName : keyName.substring(0, queryIndex));
+        }
+        return Optional.empty();
+    }
+
+    public String generateFileLink(String keyName) {
         return endpoint + "/" + bucketName + "/" + keyName;
     }
 
+    // 각 사진을 non-blocking으로 동시에 받아 디스크에 바로 기록, 전체 소요 시간은 가장 느린 다운로드에 맞춰짐
     public Mono<List<String>> downloadFilesForRecap(List<String> fileUrls, String recapId) {
-        return Mono.defer(() -> {
-            try {
-                List<String> downloadedPaths = IntStream.range(0, fileUrls.size())
-                        .mapToObj(i -> {
-                            try {
-                                String downloadedPath = recapProperties.getDownloadFilePath(recapId, i+1);
-                                FileUtils.copyURLToFile(new URL(fileUrls.get(i)), new File(downloadedPath));
-
-                                return downloadedPath;
-                            } catch (IOException e) {
-                                throw new RuntimeException("Failed to download image for recap: " + fileUrls.get(i), e);
-                            }
-                        })
-                        .collect(Collectors.toList());
-
-                return Mono.just(downloadedPaths);
-            } catch (Exception e) {
-                return Mono.error(e);
-            }
-        });
+        return Flux.range(0, fileUrls.size())
+                .flatMapSequential(i -> downloadFileToPath(
+                        fileUrls.get(i),
+                        Path.of(recapProperties.getDownloadFilePath(recapId, i + 1))
+                ), recapDownloadConcurrency)
+                .collectList();
+    }
+
+    private Mono<String> downloadFileToPath(String fileUrl, Path downloadPath) {
+        Flux<DataBuffer> body = webClient
+                .get()
+                .uri(fileUrl)
+                .retrieve()
+                .bodyToFlux(DataBuffer.class);
+
+        return DataBufferUtils.write(body, downloadPath,
+                        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)
+                .timeout(recapDownloadTimeout)
+                .onErrorMap(e -> new RuntimeException("Failed to download image for recap: " + fileUrl, e))
+                .thenReturn(downloadPath.toString());
     }
 }
@@ -1,24 +1,40 @@
 package kr.mafoo.photo.service;
 
+import kr.mafoo.photo.domain.ObjectTombstoneEntity;
 import kr.mafoo.photo.domain.PhotoEntity;
 import kr.mafoo.photo.domain.enums.BrandType;
+import kr.mafoo.photo.domain.enums.PhotoMediaType;
+import kr.mafoo.photo.repository.ObjectTombstoneRepository;
 import kr.mafoo.photo.repository.PhotoRepository;
+import kr.mafoo.photo.service.dto.PhotoUrlDto;
 import kr.mafoo.photo.util.IdGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
 @Slf4j
 @RequiredArgsConstructor
 @Service
 public class PhotoCommand {
 
     private final PhotoRepository photoRepository;
+    private final ObjectTombstoneRepository objectTombstoneRepository;
+
+    public Mono<PhotoEntity> addPhotoWithoutOwnerAndAlbum(PhotoUrlDto photoUrls, BrandType type) {
+        return photoRepository.save(
+            PhotoEntity.newPhoto(IdGenerator.generate(), photoUrls.photoUrl(), type, null, 0, null)
+                .updateVariantUrls(photoUrls.thumbnailUrl(), photoUrls.mediumUrl())
+        );
+    }
 
-    public Mono<PhotoEntity> addPhotoWithoutOwnerAndAlbum(String photoUrl, BrandType type) {
+    public Mono<PhotoEntity> addVideoWithoutOwnerAndAlbum(String videoUrl, BrandType type) {
         return photoRepository.save(
-            PhotoEntity.newPhoto(IdGenerator.generate(), photoUrl, type, null, 0, null)
+            PhotoEntity.newPhoto(IdGenerator.generate(), videoUrl, type, PhotoMediaType.VIDEO, null, 0, null)
         );
     }
 
@@ -28,6 +44,13 @@ public class PhotoCommand {
         );
     }
 
+    public Mono<PhotoEntity> addPhoto(PhotoUrlDto photoUrls, BrandType type, String albumId, Integer displayIndex, String ownerMemberId) {
+        return photoRepository.save(
+            PhotoEntity.newPhoto(IdGenerator.generate(), photoUrls.photoUrl(), type, albumId, displayIndex, ownerMemberId)
+                .updateVariantUrls(photoUrls.thumbnailUrl(), photoUrls.mediumUrl())
+        );
+    }
+
     public Mono<PhotoEntity> modifyPhotoAlbumId(PhotoEntity photo, String albumId, Integer newDisplayIndex, String ownerMemberId) {
         return photoRepository.save(
             photo.updateAlbumId(albumId)
@@ -37,8 +60,41 @@ public class PhotoCommand {
     }
 
     public Mono<Void> removePhoto(PhotoEntity photo) {
-        return popDisplayIndexGreaterThan(photo.getAlbumId(), photo.getDisplayIndex())
-            .then(photoRepository.delete(photo));
+        // 앨범에 담기기 전의 사진은 당길 표시 순서가 없음
+        Mono<Void> popDisplayIndex = (photo.getAlbumId() == null)
+            ? Mono.empty()
+            : popDisplayIndexGreaterThan(photo.getAlbumId(), photo.getDisplayIndex());
+
+        return popDisplayIndex
+            .then(photoRepository.delete(photo))
+            .then(objectTombstoneRepository.saveAll(createTombstones(photo)).then());
+    }
+
+    // 한 번에 limit 건씩만 삭제해 트랜잭션과 잠금 범위를 제한
+    public Mono<Integer> removePhotosInAlbum(String albumId, int limit) {
+        return photoRepository.findAllByAlbumIdLimit(albumId, limit)
+            .collectList()
+            .flatMap(photos -> {
+                if (photos.isEmpty()) {
+                    return Mono.just(0);
+                }
+
+                List<ObjectTombstoneEntity> tombstones = photos.stream()
+                    .flatMap(photo -> createTombstones(photo).stream())
+                    .toList();
+
+                return objectTombstoneRepository.saveAll(tombstones)
+                    .then(photoRepository.deleteAllById(photos.stream().map(PhotoEntity::getPhotoId).toList()))
+                    .thenReturn(photos.size());
+            });
+    }
+
+    // 사진 행과 같은 트랜잭션에서 툼스톤을 남기고, 실제 오브젝트 삭제는 백그라운드에서 처리
+    private List<ObjectTombstoneEntity> createTombstones(PhotoEntity photo) {
+        return Stream.of(photo.getPhotoUrl(), photo.getThumbnailUrl(), photo.getMediumUrl())
+            .filter(Objects::nonNull)
+            .map(url -> ObjectTombstoneEntity.newTombstone(IdGenerator.generate(), url, photo.getPhotoUrl()))
+            .toList();
     }
 
     public Mono<Void> popDisplayIndexGreaterThan(String albumId, int startIndex) {
@@ -0,0 +1,107 @@
+package kr.mafoo.photo.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import kr.mafoo.photo.domain.PhotoObjectEntity;
+import kr.mafoo.photo.repository.ObjectTombstoneRepository;
+import kr.mafoo.photo.repository.PhotoObjectRepository;
+import kr.mafoo.photo.service.dto.FileDto;
+import kr.mafoo.photo.service.dto.NormalizedImageDto;
+import kr.mafoo.photo.service.dto.PhotoUrlDto;
+import kr.mafoo.photo.util.IdGenerator;
+import kr.mafoo.photo.util.ObjectKeyGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.RejectedExecutionException;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class PhotoObjectService {
+
+    private final PhotoObjectRepository photoObjectRepository;
+    private final ObjectTombstoneRepository objectTombstoneRepository;
+    private final ObjectStorageService objectStorageService;
+    private final ImageProcessingService imageProcessingService;
+    private final MeterRegistry meterRegistry;
+
+    // 동일한 원본은 해시 기반 키로 한 번만 저장하고, 이후에는 저장된 url을 재사용
+    // 사진 행 저장과 같은 트랜잭션에서 호출해야 오브젝트 삭제 작업자가 재사용 중인 오브젝트를 지우지 않음
+    public Mono<PhotoUrlDto> findOrUploadPhotoObject(FileDto fileDto) {
+        return photoObjectRepository.findByIdForShare(fileDto.hash())
+            .map(PhotoObjectService::toPhotoUrlDto)
+            .switchIfEmpty(Mono.defer(() -> findUploadObjectId(fileDto.hash()).flatMap(objectId -> {
+                // 업로드 전에 행을 먼저 만들어 잠가 두어, 같은 키의 이전 오브젝트를 지우는 작업과 겹치지 않게 함
+                PhotoObjectEntity claim = PhotoObjectEntity.newPhotoObject(
+                    fileDto.hash(), objectStorageService.generateFileLink(ObjectKeyGenerator.original(objectId)), null, null);
+
+                return photoObjectRepository.save(claim)
+                    .flatMap(saved -> uploadNormalizedImage(objectId, fileDto.fileByte()))
+                    .flatMap(photoUrls -> photoObjectRepository
+                        .updateUrls(fileDto.hash(), photoUrls.photoUrl(), photoUrls.thumbnailUrl(), photoUrls.mediumUrl())
+                        .thenReturn(photoUrls)
+                    )
+                    // 동시에 같은 원본을 가져오는 요청이 있으면 그 요청이 끝난 뒤 저장된 url을 사용
+                    .onErrorResume(DataIntegrityViolationException.class, e -> photoObjectRepository.findByIdForShare(fileDto.hash())
+                        .map(PhotoObjectService::toPhotoUrlDto)
+                    );
+            })));
+    }
+
+    // 삭제 작업자는 매핑을 지운 트랜잭션이 커밋된 뒤에 오브젝트를 지우므로, 같은 해시 키의 이전 오브젝트가
+    // 아직 삭제 대기 중이면 새 오브젝트가 함께 지워지지 않도록 겹치지 않는 키에 올림
+    private Mono<String> findUploadObjectId(String hash) {
+        String objectId = ObjectKeyGenerator.generateHashObjectId(hash);
+        String objectUrl = objectStorageService.generateFileLink(ObjectKeyGenerator.original(objectId));
+
+        return objectTombstoneRepository.countPendingByReferenceUrl(objectUrl)
+            .map(pendingCount -> pendingCount > 0 ? objectId + "/" + IdGenerator.generate() : objectId);
+    }
+
+    public Mono<PhotoUrlDto> uploadNormalizedImage(String objectId, byte[] fileByte) {
+        return imageProcessingService.normalize(fileByte)
+            // 디코딩할 수 없는 이미지는 변형 없이 원본만 저장
+            .onErrorResume(e -> {
+                recordVariantFallback(objectId, e);
+                return Mono.just(NormalizedImageDto.fromOriginal(fileByte));
+            })
+            .flatMap(image -> objectStorageService.uploadImageWithVariants(objectId, image));
+    }
+
+    // Pre-signed 업로드는 원본이 이미 스토리지에 있으므로 내려받아 변형 이미지만 만들고, 실패하면 원본만으로 등록
+    public Mono<PhotoUrlDto> uploadVariantsOfUploadedImage(String fileLink) {
+        PhotoUrlDto originalOnly = new PhotoUrlDto(fileLink, null, null);
+
+        // original/ 밖의 레거시 키는 변형을 만들지 않고 원본 url만 사용
+        return Mono.justOrEmpty(objectStorageService.extractKeyName(fileLink))
+            .filter(ObjectKeyGenerator::isOriginal)
+            .flatMap(keyName -> objectStorageService.downloadObject(keyName)
+                .flatMap(imageProcessingService::normalize)
+                .flatMap(image -> objectStorageService.uploadVariantsOfOriginal(keyName, image))
+                .onErrorResume(e -> {
+                    recordVariantFallback(keyName, e);
+                    return Mono.just(originalOnly);
+                })
+            )
+            .defaultIfEmpty(originalOnly);
+    }
+
+    // 처리 대기열이 가득 차 변형 없이 저장된 사진은 나중에 다시 만들 수 있도록 사유별로 집계
+    private void recordVariantFallback(String objectId, Throwable e) {
+        if (e instanceof RejectedExecutionException) {
+            log.warn("Image processing queue is full, storing original only: {}", objectId);
+            meterRegistry.counter("image.variant.fallback", "reason", "REJECTED").increment();
+            return;
+        }
+
+        log.warn("Failed to create image variants, storing original only: {}", objectId, e);
+        meterRegistry.counter("image.variant.fallback", "reason", "FAILED").increment();
+    }
+
+    private static PhotoUrlDto toPhotoUrlDto(PhotoObjectEntity photoObject) {
+        return new PhotoUrlDto(photoObject.getUrl(), photoObject.getThumbnailUrl(), photoObject.getMediumUrl());
+    }
+}
@@ -0,0 +1,138 @@
+package kr.mafoo.photo.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+public class PhotoRenditionCache {
+
+    @Value("${photo.rendition.cache.path}")
+    private String cachePath;
+
+    @Value("${photo.rendition.cache.max-size}")
+    private long maxSize;
+
+    @Value("${photo.rendition.cache.eviction-grace}")
+    private long evictionGraceMillis;
+
+    // 접근 순서로 정렬되어 가장 오래 사용되지 않은 파일이 맨 앞에 위치
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long currentSize = 0;
+
+    // 목록에서 빠졌지만 아직 응답 중일 수 있어 유예 시간 뒤에 지울 파일
+    private final ArrayDeque<EvictedEntry> evictedEntries = new ArrayDeque<>();
+
+    // 디렉터리는 첫 저장 시 만들고, 읽을 수 없는 경로여도 빈 캐시로 시작해 기동을 막지 않음
+    @PostConstruct
+    public void loadExistingEntries() {
+        Path cacheDir = Path.of(cachePath);
+        if (!Files.isDirectory(cacheDir)) {
+            return;
+        }
+
+        // 재시작 후에도 디스크에 남은 파일을 마지막 접근 시각 순으로 다시 등록
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            files.filter(Files::isRegularFile)
+                    .filter(file -> !file.getFileName().toString().endsWith(".tmp"))
+                    .sorted(Comparator.comparing(PhotoRenditionCache::lastAccessTime))
+                    .forEach(file -> register(file.getFileName().toString(), file.toFile().length()));
+        } catch (IOException e) {
+            log.warn("Failed to load photo rendition cache, starting empty: {}", cachePath, e);
+        }
+        evictIfNeeded();
+    }
+
+    public synchronized Optional<Path> find(String key) {
+        Long size = entries.get(key);
+        if (size == null) {
+            return Optional.empty();
+        }
+
+        // 외부에서 지워진 파일은 캐시 미스로 처리해 다시 렌더링
+        Path path = resolve(key);
+        if (!Files.isRegularFile(path)) {
+            entries.remove(key);
+            currentSize -= size;
+            return Optional.empty();
+        }
+        return Optional.of(path);
+    }
+
+    public Path put(String key, byte[] renditionByte) throws IOException {
+        Path target = resolve(key);
+        Path tmp = target.resolveSibling(key + ".tmp");
+
+        // 부분적으로 쓰인 파일이 응답되지 않도록 임시 파일에 쓴 뒤 교체
+        Files.createDirectories(target.getParent());
+        Files.write(tmp, renditionByte);
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        synchronized (this) {
+            register(key, renditionByte.length);
+            evictIfNeeded();
+        }
+        return target;
+    }
+
+    private void register(String key, long size) {
+        Long previous = entries.put(key, size);
+        currentSize += size - (previous == null ? 0 : previous);
+    }
+
+    // find()로 받은 경로가 응답 도중 지워지지 않도록, 목록에서만 먼저 빼고 파일은 유예 시간이 지난 뒤 삭제
+    private synchronized void evictIfNeeded() {
+        long now = System.currentTimeMillis();
+
+        Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+        while (currentSize > maxSize && iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            evictedEntries.add(new EvictedEntry(eldest.getKey(), now));
+            currentSize -= eldest.getValue();
+            iterator.remove();
+        }
+
+        while (!evictedEntries.isEmpty() && evictedEntries.peek().evictedAt() + evictionGraceMillis <= now) {
+            String key = evictedEntries.poll().key();
+            // 유예 중에 다시 저장된 파일은 유지
+            if (entries.containsKey(key)) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(resolve(key));
+            } catch (IOException e) {
+                log.warn("Failed to evict photo rendition: {}", key, e);
+            }
+        }
+    }
+
+    private Path resolve(String key) {
+        return Path.of(cachePath, key);
+    }
+
+    private record EvictedEntry(String key, long evictedAt) {
+    }
+
+    private static long lastAccessTime(Path file) {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class).lastAccessTime().toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package kr.mafoo.photo.service;
+
+import static kr.mafoo.photo.domain.enums.PermissionLevel.VIEW_ACCESS;
+
+import kr.mafoo.photo.domain.PhotoEntity;
+import kr.mafoo.photo.exception.PhotoRenditionBusyException;
+import kr.mafoo.photo.exception.PhotoRenditionNotSupportedException;
+import kr.mafoo.photo.service.dto.PhotoRenditionDto;
+import kr.mafoo.photo.util.HashGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class PhotoRenditionService {
+
+    private static final Set<String> SUPPORTED_FORMATS = Set.of("jpeg", "png");
+
+    private final PhotoPermissionVerifier photoPermissionVerifier;
+    private final PhotoRenditionCache photoRenditionCache;
+    private final ImageProcessingService imageProcessingService;
+    private final WebClient webClient;
+    private final Scheduler photoRenditionScheduler;
+
+    // 같은 변환이 동시에 요청되면 한 번만 렌더링하고 결과를 공유
+    private final Map<String, Mono<Resource>> inflightRenders = new ConcurrentHashMap<>();
+
+    @Value("${photo.rendition.widths}")
+    private List<Integer> supportedWidths;
+
+    public Mono<PhotoRenditionDto> findRendition(String photoId, String requestMemberId, int width, String format, String ifNoneMatch) {
+        String normalizedFormat = (format == null) ? "jpeg" : format.toLowerCase();
+        if (!supportedWidths.contains(width) || !SUPPORTED_FORMATS.contains(normalizedFormat)) {
+            return Mono.error(new PhotoRenditionNotSupportedException());
+        }
+
+        return photoPermissionVerifier.verifyAccessPermission(photoId, requestMemberId, VIEW_ACCESS)
+            .flatMap(photo -> {
+                if (photo.isVideo()) {
+                    return Mono.error(new PhotoRenditionNotSupportedException());
+                }
+
+                // 원본 url이 같으면 결과도 같으므로 캐시 키를 그대로 ETag로 사용
+                String cacheKey = createCacheKey(photo, width, normalizedFormat);
+                String eTag = "\"" + cacheKey + "\"";
+                if (eTag.equals(ifNoneMatch)) {
+                    return Mono.just(PhotoRenditionDto.notModified(eTag, normalizedFormat));
+                }
+
+                return photoRenditionCache.find(cacheKey)
+                    .<Resource>map(FileSystemResource::new)
+                    .map(Mono::just)
+                    .orElseGet(() -> inflightRenders.computeIfAbsent(cacheKey, key ->
+                        renderAndStore(key, photo.getPhotoUrl(), width, normalizedFormat)
+                            .doFinally(signal -> inflightRenders.remove(key))
+                            .cache()
+                    ))
+                    .map(resource -> new PhotoRenditionDto(eTag, normalizedFormat, resource));
+            });
+    }
+
+    private Mono<Resource> renderAndStore(String cacheKey, String photoUrl, int width, String format) {
+        return webClient
+            .get()
+            .uri(photoUrl)
+            .retrieve()
+            .bodyToMono(byte[].class)
+            .flatMap(sourceByte -> Mono.fromCallable(() ->
+                    storeRendition(cacheKey, imageProcessingService.renderRendition(sourceByte, width, format))
+                )
+                // 대기열까지 가득 차면 API 요청이 밀리지 않도록 즉시 거절
+                .subscribeOn(photoRenditionScheduler)
+            )
+            .onErrorMap(RejectedExecutionException.class, e -> new PhotoRenditionBusyException());
+    }
+
+    // 캐시 디렉터리에 쓸 수 없으면 캐시 없이 렌더링 결과를 메모리에서 바로 응답
+    private Resource storeRendition(String cacheKey, byte[] renditionByte) {
+        try {
+            return new FileSystemResource(photoRenditionCache.put(cacheKey, renditionByte));
+        } catch (IOException e) {
+            log.warn("Failed to cache photo rendition, serving from memory: {}", cacheKey, e);
+            return new ByteArrayResource(renditionByte);
+        }
+    }
+
+    private String createCacheKey(PhotoEntity photo, int width, String format) {
+        String urlHash = HashGenerator.sha256Hex(photo.getPhotoUrl().getBytes(StandardCharsets.UTF_8));
+        return urlHash + "_" + width + "." + format;
+    }
+}
@@ -5,30 +5,51 @@ import static kr.mafoo.photo.domain.enums.PermissionLevel.VIEW_ACCESS;
 
 import kr.mafoo.photo.domain.enums.BrandType;
 import kr.mafoo.photo.domain.PhotoEntity;
+import kr.mafoo.photo.domain.QrImportEntity;
 import kr.mafoo.photo.exception.AlbumNotFoundException;
+import kr.mafoo.photo.exception.PhotoBrandNotExistsException;
 import kr.mafoo.photo.exception.PhotoDisplayIndexIsSameException;
 import kr.mafoo.photo.exception.PhotoDisplayIndexNotValidException;
+import kr.mafoo.photo.exception.PhotoQrImportInProgressException;
+import kr.mafoo.photo.exception.PhotoQrUrlExpiredException;
+import kr.mafoo.photo.exception.PhotoQrVendorUnavailableException;
+import kr.mafoo.photo.exception.PhotoUploadKeyNotValidException;
 import kr.mafoo.photo.repository.PhotoRepository;
+import kr.mafoo.photo.repository.QrImportRepository;
+import kr.mafoo.photo.service.dto.FileDto;
 import kr.mafoo.photo.util.IdGenerator;
+import kr.mafoo.photo.util.ObjectKeyGenerator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.core.io.buffer.LimitedDataBufferList;
 import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 @Slf4j
 @RequiredArgsConstructor
 @Service
 public class PhotoService {
 
+    private static final String QR_IMPORT_VIDEO_KEY_SUFFIX = ":video";
+    private static final String QR_IMPORT_SUCCESS = "SUCCESS";
+    private static final String QR_IMPORT_REPLAYED = "REPLAYED";
+
     private final PhotoQuery photoQuery;
     private final PhotoCommand photoCommand;
 
@@ -41,10 +62,21 @@ public class PhotoService {
 
     private final QrService qrService;
     private final ObjectStorageService objectStorageService;
+    private final PhotoObjectService photoObjectService;
+    private final RecapCacheService recapCacheService;
+
+    private final QrImportRepository qrImportRepository;
+
+    private final MeterRegistry meterRegistry;
+
+    private final TransactionalOperator transactionalOperator;
 
     // FIXME : 추후 제거 필요
     private final PhotoRepository photoRepository;
 
+    @Value("${cloud.aws.s3.upload-check-concurrency}")
+    private int uploadCheckConcurrency;
+
     @Transactional(readOnly = true)
     public Flux<PhotoEntity> findPhotoListByAlbumId(String albumId, String requestMemberId, String sort) {
         String sortMethod = (sort == null) ? "CUSTOM" : sort.toUpperCase();
@@ -62,24 +94,194 @@ public class PhotoService {
     }
 
     @Transactional
-    public Mono<PhotoEntity> addPhotoWithQrUrl(String qrUrl) {
+    public Mono<PhotoEntity> addPhotoWithQrUrl(String qrUrl, String requestMemberId, String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return recordQrImport(qrUrl, QR_IMPORT_SUCCESS, () -> importPhotoWithQrUrl(qrUrl));
+        }
+
+        String scopedKey = createQrImportKey(requestMemberId, idempotencyKey);
+
+        // 이미 가져온 사진을 돌려주는 재시도는 가져오기 지연 시간에 섞이지 않도록 따로 기록
+        return recordQrImport(qrUrl, QR_IMPORT_REPLAYED, () -> findQrImportedPhoto(scopedKey))
+            .switchIfEmpty(Mono.defer(() -> recordQrImport(qrUrl, QR_IMPORT_SUCCESS, () -> importPhotoWithQrUrl(qrUrl)
+                .flatMap(photo -> saveQrImport(scopedKey, photo))
+            )));
+    }
+
+    // 영상 업로드 동안 DB 커넥션을 점유하지 않도록 트랜잭션 없이 처리
+    public Flux<PhotoEntity> addPhotoAndVideoWithQrUrl(String qrUrl, String requestMemberId, String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return importPhotoAndVideoWithQrUrl(qrUrl);
+        }
+
+        String scopedKey = createQrImportKey(requestMemberId, idempotencyKey);
+
+        return findQrImportedPhoto(scopedKey)
+            .flatMapMany(photo -> Flux.concat(
+                Mono.just(photo),
+                findQrImportedPhoto(scopedKey + QR_IMPORT_VIDEO_KEY_SUFFIX)
+            ))
+            .switchIfEmpty(Flux.defer(() -> importPhotoAndVideoWithQrUrl(qrUrl)
+                .concatMap(photo -> saveQrImport(photo.isVideo() ? scopedKey + QR_IMPORT_VIDEO_KEY_SUFFIX : scopedKey, photo))
+            ));
+    }
+
+    // QR 가져오기 처리량과 지연 시간 분포(p99 등)를 prometheus 히스토그램으로 기록
+    // 브랜드 판별처럼 조립 시점에 바로 던지는 예외도 결과로 남도록 타이머를 시작한 뒤에 가져오기를 만듦
+    // 결과 없이 끝나면(재시도 기록 없음) 기록하지 않고 이어지는 가져오기가 기록함
+    private Mono<PhotoEntity> recordQrImport(String qrUrl, String successOutcome, Supplier<Mono<PhotoEntity>> qrImport) {
+        String brand = Optional.ofNullable(BrandType.matchBrandType(qrUrl))
+            .map(BrandType::name)
+            .orElse("UNKNOWN");
+
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return Mono.defer(qrImport)
+                .doOnSuccess(photo -> {
+                    if (photo != null) {
+                        sample.stop(qrImportTimer(brand, successOutcome));
+                    }
+                })
+                .doOnError(e -> sample.stop(qrImportTimer(brand, qrImportOutcome(e))));
+        });
+    }
+
+    // 태그 값이 예외 종류만큼 늘어나지 않도록 정해진 결과로만 분류
+    private String qrImportOutcome(Throwable e) {
+        if (e instanceof PhotoQrUrlExpiredException) {
+            return "EXPIRED";
+        }
+        if (e instanceof PhotoQrVendorUnavailableException) {
+            return "VENDOR_UNAVAILABLE";
+        }
+        if (e instanceof PhotoBrandNotExistsException) {
+            return "UNSUPPORTED_BRAND";
+        }
+        return "ERROR";
+    }
+
+    private Timer qrImportTimer(String brand, String outcome) {
+        return Timer.builder("photo.qr.import")
+            .tag("brand", brand)
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private Mono<PhotoEntity> importPhotoWithQrUrl(String qrUrl) {
+        return qrService
+            .getFileFromQrUrl(qrUrl)
+            .flatMap(this::addQrPhoto);
+    }
+
+    private Flux<PhotoEntity> importPhotoAndVideoWithQrUrl(String qrUrl) {
         return qrService
             .getFileFromQrUrl(qrUrl)
-            .flatMap(fileDto -> objectStorageService.uploadFile(fileDto.fileByte())
-                    .flatMap(photoUrl -> photoCommand.addPhotoWithoutOwnerAndAlbum(photoUrl, fileDto.type()))
+            .flatMapMany(fileDto -> {
+                if (fileDto.videoUrl() == null) {
+                    return addQrPhoto(fileDto).flux();
+                }
+
+                // 영상 저장에 실패해도 사진은 저장, 단 업로드 대기열이 가득 찬 경우는 영상이 조용히 빠지지 않도록 요청을 실패시킴
+                Mono<Optional<String>> videoUpload = qrService
+                    .fetchVideoWithResilience(fileDto.type(), objectStorageService.uploadVideoFromUrl(fileDto.videoUrl()))
+                    .map(Optional::of)
+                    .onErrorResume(e -> !(e instanceof RejectedExecutionException), e -> {
+                        log.warn("Failed to import QR video: {}", fileDto.videoUrl(), e);
+                        return Mono.just(Optional.empty());
+                    })
+                    .onErrorMap(RejectedExecutionException.class, e -> {
+                        log.warn("Video upload queue is full, rejecting QR import: {}", fileDto.videoUrl());
+                        return new PhotoQrVendorUnavailableException();
+                    });
+
+                // 영상 업로드가 거절되면 사진 행도 만들지 않아, 재시도 시 사진과 영상을 함께 다시 가져옴
+                return videoUpload.flatMapMany(videoUrl -> Flux.concat(
+                    addQrPhoto(fileDto),
+                    Mono.justOrEmpty(videoUrl).flatMap(url -> photoCommand.addVideoWithoutOwnerAndAlbum(url, fileDto.type()))
+                ));
+            });
+    }
+
+    // 재사용할 오브젝트를 잠근 채 사진 행을 저장해, 삭제 작업자가 참조를 다시 확인할 때 이 사진이 보이도록 함
+    private Mono<PhotoEntity> addQrPhoto(FileDto fileDto) {
+        return transactionalOperator.transactional(photoObjectService.findOrUploadPhotoObject(fileDto)
+            .flatMap(photoUrls -> photoCommand.addPhotoWithoutOwnerAndAlbum(photoUrls, fileDto.type()))
+        );
+    }
+
+    private String createQrImportKey(String requestMemberId, String idempotencyKey) {
+        return requestMemberId + ":" + idempotencyKey;
+    }
+
+    // 이미 삭제된 사진을 가리키는 기록은 없는 것으로 보고 지워서, 재시도가 다시 가져올 수 있도록 함
+    private Mono<PhotoEntity> findQrImportedPhoto(String scopedKey) {
+        return qrImportRepository.findById(scopedKey)
+            .flatMap(qrImport -> photoRepository.findById(qrImport.getPhotoId())
+                .switchIfEmpty(Mono.defer(() -> qrImportRepository.delete(qrImport).then(Mono.empty())))
+            );
+    }
+
+    private Mono<PhotoEntity> saveQrImport(String scopedKey, PhotoEntity photo) {
+        return qrImportRepository.save(QrImportEntity.newQrImport(scopedKey, photo.getPhotoId()))
+            .thenReturn(photo)
+            // 같은 키의 요청이 동시에 처리된 경우 먼저 저장된 사진을 반환, 나중 사진은 툼스톤을 남겨 오브젝트까지 정리
+            // REPEATABLE READ 스냅샷에는 방금 커밋된 먼저 저장된 기록이 보이지 않으므로 잠금 읽기로 다시 조회
+            .onErrorResume(DataIntegrityViolationException.class, e -> photoCommand.removePhoto(photo)
+                .then(findCommittedQrImportedPhoto(scopedKey))
+                .switchIfEmpty(Mono.error(new PhotoQrImportInProgressException()))
             );
     }
 
+    // 먼저 저장된 사진이 그새 삭제됐다면 기록도 지워, 재시도가 다시 가져올 수 있도록 함
+    private Mono<PhotoEntity> findCommittedQrImportedPhoto(String scopedKey) {
+        return qrImportRepository.findByIdForShare(scopedKey)
+            .flatMap(qrImport -> photoRepository.findByIdForShare(qrImport.getPhotoId())
+                .switchIfEmpty(Mono.defer(() -> qrImportRepository.delete(qrImport).then(Mono.empty())))
+            );
+    }
+
+    // Pre-signed PUT은 업로드 크기를 서명에 담을 수 없으므로 등록 시 HEAD로 크기를 확인해 제한을 넘은 파일은 거부
+    // 다른 회원의 객체를 자기 앨범에 등록하지 못하도록 요청한 회원의 업로드 경로만 허용
+    // 회원 업로드 경로의 PUT url은 x-amz-acl=public-read를 서명에 담아 발급하므로 객체마다 ACL을 바꾸지 않음
     @Transactional
     public Flux<PhotoEntity> addPhotoBulkWithFileUrls(String[] fileUrls, String albumId, String requestMemberId) {
+        Flux<String> fileLinks = Flux.fromArray(fileUrls)
+            .flatMapSequential(fileUrl -> Mono.justOrEmpty(objectStorageService.extractKeyName(fileUrl))
+                .filter(keyName -> isMemberUploadKey(keyName, requestMemberId))
+                .switchIfEmpty(Mono.error(new PhotoUploadKeyNotValidException()))
+                .flatMap(objectStorageService::findUploadedObjectLink), uploadCheckConcurrency);
+        return addPhotoBulk(fileLinks, albumId, requestMemberId);
+    }
+
+    // Pre-signed POST로 업로드가 끝난 객체를 한 번에 사진으로 등록
+    @Transactional
+    public Flux<PhotoEntity> addPhotoBulkWithUploadKeys(String[] keys, String albumId, String requestMemberId) {
+        for (String key : keys) {
+            if (!isMemberUploadKey(key, requestMemberId)) {
+                return Flux.error(new PhotoUploadKeyNotValidException());
+            }
+        }
+
+        // 업로드 시점에 공개 권한이 적용되므로 존재 여부만 동시에 확인하고, 등록 순서는 요청 순서를 유지
+        Flux<String> fileLinks = Flux.fromArray(keys)
+            .flatMapSequential(objectStorageService::findUploadedObjectLink, uploadCheckConcurrency);
+        return addPhotoBulk(fileLinks, albumId, requestMemberId);
+    }
+
+    private boolean isMemberUploadKey(String key, String requestMemberId) {
+        return key.startsWith(ObjectKeyGenerator.memberOriginalPrefix(requestMemberId)) && !key.contains("..");
+    }
+
+    private Flux<PhotoEntity> addPhotoBulk(Flux<String> fileLinks, String albumId, String requestMemberId) {
         return albumPermissionVerifier.verifyOwnershipOrAccessPermission(albumId, requestMemberId, FULL_ACCESS)
             .flatMapMany(album -> {
                 AtomicInteger displayIndex = new AtomicInteger(album.getPhotoCount());
 
-                return Flux.fromArray(fileUrls)
-                    .concatMap(fileUrl -> objectStorageService.setObjectPublicRead(fileUrl)
-                        .flatMap(fileLink -> photoCommand.addPhoto(fileLink, BrandType.EXTERNAL, albumId, displayIndex.getAndIncrement(), album.getOwnerMemberId()))
-                    )
+                // 변형 이미지는 동시에 만들고, 등록 순서는 요청 순서를 유지
+                return fileLinks
+                    .flatMapSequential(photoObjectService::uploadVariantsOfUploadedImage, uploadCheckConcurrency)
+                    .concatMap(photoUrls -> photoCommand.addPhoto(photoUrls, BrandType.EXTERNAL, albumId, displayIndex.getAndIncrement(), album.getOwnerMemberId()))
                     .collectList()
                     .flatMapMany(addedPhotos ->
                         albumCommand.increaseAlbumPhotoCount(album, addedPhotos.size())
@@ -104,9 +306,10 @@ public class PhotoService {
                                     DataBufferUtils.release(dataBuffer);
                                     return bytes;
                                 })
-                                .flatMap(bytes -> objectStorageService.uploadFile(bytes)
-                                        .flatMap(photoUrl -> {
-                                            PhotoEntity photoEntity = PhotoEntity.newPhoto(IdGenerator.generate(), photoUrl, BrandType.EXTERNAL, null, 0, requestMemberId);
+                                .flatMap(bytes -> photoObjectService.uploadNormalizedImage(ObjectKeyGenerator.generateObjectId(), bytes)
+                                        .flatMap(photoUrls -> {
+                                            PhotoEntity photoEntity = PhotoEntity.newPhoto(IdGenerator.generate(), photoUrls.photoUrl(), BrandType.EXTERNAL, null, 0, requestMemberId)
+                                                    .updateVariantUrls(photoUrls.thumbnailUrl(), photoUrls.mediumUrl());
                                             return photoRepository.save(photoEntity);
                                         }))
                                 .subscribeOn(Schedulers.boundedElastic())
@@ -168,10 +371,12 @@ public class PhotoService {
                                     if (photoEntity.getDisplayIndex() < targetIndex) {
                                         return photoRepository
                                                 .popDisplayIndexBetween(photoEntity.getAlbumId(), photoEntity.getDisplayIndex() + 1, targetIndex)
+                                                .then(recapCacheService.invalidateAlbum(photoEntity.getAlbumId()))
                                                 .then(photoRepository.save(photoEntity.updateDisplayIndex(targetIndex)));
                                     } else {
                                         return photoRepository
                                                 .pushDisplayIndexBetween(photoEntity.getAlbumId(), targetIndex, photoEntity.getDisplayIndex() - 1)
+                                                .then(recapCacheService.invalidateAlbum(photoEntity.getAlbumId()))
                                                 .then(photoRepository.save(photoEntity.updateDisplayIndex(targetIndex)));
                                     }
                                 })
@@ -0,0 +1,42 @@
+package kr.mafoo.photo.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class PreSignedUrlQuota {
+
+    @Value("${cloud.aws.s3.presigned-url-quota.max-per-window}")
+    private int maxPerWindow;
+
+    @Value("${cloud.aws.s3.presigned-url-quota.window}")
+    private long windowMillis;
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    // 사용자별 고정 시간 구간 안에서 발급한 URL 수가 한도를 넘지 않을 때만 차감
+    public boolean tryAcquire(String memberId, int count) {
+        long windowStart = System.currentTimeMillis() / windowMillis * windowMillis;
+        boolean[] acquired = new boolean[1];
+
+        windows.compute(memberId, (key, window) -> {
+            Window current = (window == null || window.start() != windowStart) ? new Window(windowStart, 0) : window;
+            acquired[0] = current.count() + count <= maxPerWindow;
+            return acquired[0] ? new Window(windowStart, current.count() + count) : current;
+        });
+        return acquired[0];
+    }
+
+    @Scheduled(fixedDelayString = "${cloud.aws.s3.presigned-url-quota.window}")
+    public void removeExpiredWindows() {
+        long windowStart = System.currentTimeMillis() / windowMillis * windowMillis;
+        windows.values().removeIf(window -> window.start() < windowStart);
+    }
+
+    private record Window(long start, int count) {
+    }
+}
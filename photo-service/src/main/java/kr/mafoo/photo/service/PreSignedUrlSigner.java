@@ -0,0 +1,192 @@
+package kr.mafoo.photo.service;
+
+import kr.mafoo.photo.service.dto.PreSignedPostDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// SDK를 거치지 않고 SigV4 query 서명을 직접 계산해 대량 발급 시 요청마다 생기는 객체 생성을 줄임
+@Component
+public class PreSignedUrlSigner {
+
+    private static final String ALGORITHM = "AWS4-HMAC-SHA256";
+    private static final String SERVICE = "s3";
+    private static final String HMAC_SHA256 = "HmacSHA256";
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final HexFormat HEX = HexFormat.of();
+
+    private static final ThreadLocal<Mac> MAC = ThreadLocal.withInitial(() -> {
+        try {
+            return Mac.getInstance(HMAC_SHA256);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not supported", e);
+        }
+    });
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    });
+
+    private final String accessKey;
+    private final String secretKey;
+    private final String region;
+    private final String bucketName;
+    private final String host;
+
+    // 서명 키는 날짜와 리전에만 의존하므로 하루 동안 재사용
+    private volatile SigningKey signingKey;
+
+    public PreSignedUrlSigner(
+            @Value("${cloud.aws.credentials.access-key}") String accessKey,
+            @Value("${cloud.aws.credentials.secret-key}") String secretKey,
+            @Value("${cloud.aws.region.static}") String region,
+            @Value("${cloud.aws.s3.endpoint}") String endpoint,
+            @Value("${cloud.aws.s3.bucket}") String bucketName
+    ) {
+        this.accessKey = accessKey;
+        this.secretKey = secretKey;
+        this.region = region;
+        this.bucketName = bucketName;
+        this.host = bucketName + "." + URI.create(endpoint).getHost();
+    }
+
+    public List<String> signPutUrls(List<String> keyNames, long expirationSeconds) {
+        ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        String date = now.format(DATE_FORMATTER);
+        String amzDate = now.format(DATE_TIME_FORMATTER);
+        byte[] key = findSigningKey(date);
+
+        // 한 번의 요청에서 발급하는 URL들은 시각과 scope가 같으므로 공통 부분을 미리 계산
+        String scope = date + "/" + region + "/" + SERVICE + "/aws4_request";
+        String canonicalQuery = "X-Amz-Algorithm=" + ALGORITHM
+                + "&X-Amz-Credential=" + encode(accessKey + "/" + scope, true)
+                + "&X-Amz-Date=" + amzDate
+                + "&X-Amz-Expires=" + expirationSeconds
+                + "&X-Amz-SignedHeaders=host"
+                // 업로드 시점에 공개 권한이 적용되어 완료 후 별도의 ACL 변경 요청이 필요 없음
+                + "&x-amz-acl=public-read";
+        String canonicalSuffix = "\n" + canonicalQuery + "\nhost:" + host + "\n\nhost\nUNSIGNED-PAYLOAD";
+        String stringToSignPrefix = ALGORITHM + "\n" + amzDate + "\n" + scope + "\n";
+
+        MessageDigest digest = SHA256.get();
+        Mac mac = MAC.get();
+        List<String> urls = new ArrayList<>(keyNames.size());
+
+        for (String keyName : keyNames) {
+            String canonicalUri = "/" + encode(keyName, false);
+            String canonicalRequest = "PUT\n" + canonicalUri + canonicalSuffix;
+            String stringToSign = stringToSignPrefix + HEX.formatHex(digest.digest(canonicalRequest.getBytes(StandardCharsets.UTF_8)));
+            String signature = HEX.formatHex(hmac(mac, key, stringToSign));
+
+            urls.add("https://" + host + canonicalUri + "?" + canonicalQuery + "&X-Amz-Signature=" + signature);
+        }
+        return urls;
+    }
+
+    // 브라우저 form 업로드용 POST 정책, 크기와 Content-Type 조건은 스토리지에서 직접 검증됨
+    public List<PreSignedPostDto> signPostPolicies(Map<String, String> contentTypeByKeyName, long maxContentLength, long expirationSeconds) {
+        ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        String date = now.format(DATE_FORMATTER);
+        String amzDate = now.format(DATE_TIME_FORMATTER);
+        String expiration = now.plusSeconds(expirationSeconds).format(DateTimeFormatter.ISO_INSTANT);
+        String credential = accessKey + "/" + date + "/" + region + "/" + SERVICE + "/aws4_request";
+        byte[] key = findSigningKey(date);
+
+        Mac mac = MAC.get();
+        String url = "https://" + host + "/";
+        List<PreSignedPostDto> posts = new ArrayList<>(contentTypeByKeyName.size());
+
+        for (Map.Entry<String, String> target : contentTypeByKeyName.entrySet()) {
+            String keyName = target.getKey();
+            String contentType = target.getValue();
+            String policy = "{\"expiration\":\"" + expiration + "\",\"conditions\":["
+                    + "{\"bucket\":\"" + bucketName + "\"},"
+                    + "{\"key\":\"" + keyName + "\"},"
+                    + "{\"acl\":\"public-read\"},"
+                    + "{\"Content-Type\":\"" + contentType + "\"},"
+                    + "[\"content-length-range\",1," + maxContentLength + "],"
+                    + "{\"x-amz-algorithm\":\"" + ALGORITHM + "\"},"
+                    + "{\"x-amz-credential\":\"" + credential + "\"},"
+                    + "{\"x-amz-date\":\"" + amzDate + "\"}"
+                    + "]}";
+            String encodedPolicy = Base64.getEncoder().encodeToString(policy.getBytes(StandardCharsets.UTF_8));
+
+            Map<String, String> fields = new LinkedHashMap<>();
+            fields.put("key", keyName);
+            fields.put("acl", "public-read");
+            fields.put("Content-Type", contentType);
+            fields.put("x-amz-algorithm", ALGORITHM);
+            fields.put("x-amz-credential", credential);
+            fields.put("x-amz-date", amzDate);
+            fields.put("policy", encodedPolicy);
+            fields.put("x-amz-signature", HEX.formatHex(hmac(mac, key, encodedPolicy)));
+
+            posts.add(new PreSignedPostDto(url, keyName, fields));
+        }
+        return posts;
+    }
+
+    private byte[] findSigningKey(String date) {
+        SigningKey cached = signingKey;
+        if (cached != null && cached.date().equals(date)) {
+            return cached.key();
+        }
+
+        Mac mac = MAC.get();
+        byte[] dateKey = hmac(mac, ("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), date);
+        byte[] regionKey = hmac(mac, dateKey, region);
+        byte[] serviceKey = hmac(mac, regionKey, SERVICE);
+        byte[] key = hmac(mac, serviceKey, "aws4_request");
+
+        signingKey = new SigningKey(date, key);
+        return key;
+    }
+
+    private static byte[] hmac(Mac mac, byte[] key, String data) {
+        try {
+            mac.init(new SecretKeySpec(key, HMAC_SHA256));
+            return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to sign pre-signed url", e);
+        }
+    }
+
+    // RFC 3986 unreserved 문자를 제외하고 인코딩, 객체 키의 '/'는 경로 구분자로 유지
+    private static String encode(String value, boolean encodeSlash) {
+        StringBuilder builder = new StringBuilder(value.length() + 16);
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            char c = (char) (b & 0xFF);
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.' || c == '~' || (c == '/' && !encodeSlash)) {
+                builder.append(c);
+            } else {
+                builder.append('%').append(Character.toUpperCase(Character.forDigit((b >> 4) & 0xF, 16)))
+                        .append(Character.toUpperCase(Character.forDigit(b & 0xF, 16)));
+            }
+        }
+        return builder.toString();
+    }
+
+    private record SigningKey(String date, byte[] key) {
+    }
+}
@@ -2,12 +2,19 @@ package kr.mafoo.photo.service;
 
 import kr.mafoo.photo.domain.enums.BrandType;
 import kr.mafoo.photo.exception.PhotoBrandNotExistsException;
+import kr.mafoo.photo.exception.PhotoQrVendorUnavailableException;
 import kr.mafoo.photo.service.dto.FileDto;
+import kr.mafoo.photo.service.dto.QrAssetDto;
 import kr.mafoo.photo.service.vendors.*;
+import kr.mafoo.photo.util.HashGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
 import java.util.Optional;
 
 @Slf4j
@@ -26,6 +33,19 @@ public class QrService {
     private final PicDotQrVendor picDotQrVendor;
     private final MafooQrVendor mafooQrVendor;
 
+    private final QrVendorCircuitBreaker qrVendorCircuitBreaker;
+
+    @Value("${qr.vendor.timeout}")
+    private long vendorTimeout;
+
+    @Value("${qr.vendor.retry.max-attempts}")
+    private int vendorRetryMaxAttempts;
+
+    @Value("${qr.vendor.retry.backoff}")
+    private long vendorRetryBackoff;
+
+    @Value("${qr.video.timeout}")
+    private long videoTimeout;
 
     public Mono<FileDto> getFileFromQrUrl(String qrUrl) {
         BrandType brandType = Optional.ofNullable(BrandType.matchBrandType(qrUrl))
@@ -45,10 +65,33 @@ public class QrService {
             case EXTERNAL -> throw new RuntimeException();
         };
 
-        return createFileDto(brandType, qrVendor.extractImageFromQrUrl(qrUrl));
+        return createFileDto(brandType, callWithResilience(brandType, qrVendor.extractAssetsFromQrUrl(qrUrl), vendorTimeout));
+    }
+
+    // 영상도 브랜드 서버에서 받아오므로 사진과 같은 재시도와 서킷 브레이커를 거치고, 크기를 고려해 제한 시간만 따로 둠
+    public <T> Mono<T> fetchVideoWithResilience(BrandType brandType, Mono<T> videoFetch) {
+        return callWithResilience(brandType, videoFetch, videoTimeout);
+    }
+
+    // 일시적인 장애만 지터를 준 백오프로 재시도하고, 반복되면 서킷을 열어 해당 브랜드 호출을 차단
+    private <T> Mono<T> callWithResilience(BrandType brandType, Mono<T> vendorRequest, long timeoutMillis) {
+        Mono<T> vendorCall = vendorRequest
+                .timeout(Duration.ofMillis(timeoutMillis))
+                .retryWhen(Retry.backoff(vendorRetryMaxAttempts, Duration.ofMillis(vendorRetryBackoff))
+                        .jitter(0.5)
+                        .filter(QrVendor::isTransientError)
+                        .onRetryExhaustedThrow((retrySpec, retrySignal) -> retrySignal.failure()));
+
+        return qrVendorCircuitBreaker.execute(brandType, vendorCall)
+                .onErrorMap(QrVendor::isTransientError, e -> {
+                    log.warn("QR vendor unavailable: {}", brandType, e);
+                    return new PhotoQrVendorUnavailableException();
+                });
     }
 
-    private Mono<FileDto> createFileDto(BrandType brandType, Mono<byte[]> fileMono) {
-        return fileMono.map(file -> new FileDto(brandType, file));
+    private Mono<FileDto> createFileDto(BrandType brandType, Mono<QrAssetDto> assetMono) {
+        return assetMono.map(asset -> new FileDto(
+                brandType, asset.imageByte(), HashGenerator.sha256Hex(asset.imageByte()), asset.videoUrl()
+        ));
     }
 }
@@ -0,0 +1,131 @@
+package kr.mafoo.photo.service;
+
+import kr.mafoo.photo.domain.enums.BrandType;
+import kr.mafoo.photo.exception.PhotoQrVendorUnavailableException;
+import kr.mafoo.photo.service.vendors.QrVendor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Slf4j
+@Component
+public class QrVendorCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openDurationMillis;
+    private final Map<BrandType, VendorState> vendorStates;
+
+    public QrVendorCircuitBreaker(
+            @Value("${qr.circuit-breaker.failure-threshold}") int failureThreshold,
+            @Value("${qr.circuit-breaker.open-duration}") long openDurationMillis
+    ) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationMillis = openDurationMillis;
+
+        Map<BrandType, VendorState> states = new EnumMap<>(BrandType.class);
+        for (BrandType brandType : BrandType.values()) {
+            states.put(brandType, new VendorState(brandType));
+        }
+        this.vendorStates = Collections.unmodifiableMap(states);
+    }
+
+    // 서킷이 열려 있으면 브랜드 서버를 호출하지 않고 바로 실패
+    public <T> Mono<T> execute(BrandType brandType, Mono<T> vendorCall) {
+        VendorState vendorState = vendorStates.get(brandType);
+
+        return Mono.defer(() -> {
+            if (!vendorState.tryAcquire()) {
+                return Mono.error(new PhotoQrVendorUnavailableException());
+            }
+            return vendorCall
+                    .doOnSuccess(result -> vendorState.onSuccess())
+                    .doOnError(e -> {
+                        // 만료된 QR 등 사용자 오류는 브랜드 서버가 정상 응답한 것으로 본다
+                        if (QrVendor.isTransientError(e)) {
+                            vendorState.onFailure();
+                        } else {
+                            vendorState.onSuccess();
+                        }
+                    })
+                    .doOnCancel(vendorState::releaseTrial);
+        });
+    }
+
+    public Map<BrandType, VendorState> getVendorStates() {
+        return vendorStates;
+    }
+
+    public class VendorState {
+        private final BrandType brandType;
+        private State state = State.CLOSED;
+        private int consecutiveFailures = 0;
+        private long openedAt = 0;
+        private boolean trialInFlight = false;
+
+        private VendorState(BrandType brandType) {
+            this.brandType = brandType;
+        }
+
+        public synchronized State getState() {
+            return state;
+        }
+
+        public synchronized int getConsecutiveFailures() {
+            return consecutiveFailures;
+        }
+
+        private synchronized boolean tryAcquire() {
+            if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openDurationMillis) {
+                state = State.HALF_OPEN;
+                trialInFlight = false;
+            }
+
+            return switch (state) {
+                case CLOSED -> true;
+                case OPEN -> false;
+                case HALF_OPEN -> {
+                    // 반열림 상태에서는 시험 요청 하나만 통과
+                    if (trialInFlight) {
+                        yield false;
+                    }
+                    trialInFlight = true;
+                    yield true;
+                }
+            };
+        }
+
+        private synchronized void onSuccess() {
+            if (state != State.CLOSED) {
+                log.info("QR vendor circuit closed: {}", brandType);
+            }
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+            trialInFlight = false;
+        }
+
+        private synchronized void onFailure() {
+            consecutiveFailures++;
+            if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+                if (state != State.OPEN) {
+                    log.warn("QR vendor circuit opened: {} ({} consecutive failures)", brandType, consecutiveFailures);
+                }
+                state = State.OPEN;
+                openedAt = System.currentTimeMillis();
+            }
+            trialInFlight = false;
+        }
+
+        private synchronized void releaseTrial() {
+            trialInFlight = false;
+        }
+    }
+}
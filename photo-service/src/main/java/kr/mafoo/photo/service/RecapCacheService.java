@@ -0,0 +1,77 @@
+package kr.mafoo.photo.service;
+
+import kr.mafoo.photo.domain.AlbumEntity;
+import kr.mafoo.photo.domain.RecapEntity;
+import kr.mafoo.photo.repository.RecapRepository;
+import kr.mafoo.photo.util.HashGenerator;
+import kr.mafoo.photo.util.IdGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+// 같은 앨범 스냅샷으로 만든 리캡은 다시 렌더링하지 않고 저장된 url을 재사용
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class RecapCacheService {
+
+    private final RecapRepository recapRepository;
+
+    @Value("${recap.cache.ttl}")
+    private long ttlSeconds;
+
+    // 리캡 영상에 그려지는 내용이 모두 같을 때만 같은 값이 나오도록 사진 순서와 표시 정보를 함께 해시
+    // 프레임에 생성 날짜가 찍히므로 날짜가 바뀌면 같은 앨범이라도 다시 렌더링
+    public String fingerprint(AlbumEntity album, List<String> photoIds, String sort, String memberName, String createdDate) {
+        String snapshot = String.join("\n",
+                String.join(",", photoIds),
+                String.valueOf(sort),
+                memberName,
+                album.getName(),
+                String.valueOf(album.getType()),
+                createdDate
+        );
+        return HashGenerator.sha256Hex(snapshot.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Mono<String> findRecapUrl(String albumId, String fingerprint) {
+        return recapRepository.findValidRecap(albumId, fingerprint, ttlSeconds)
+                .map(RecapEntity::getRecapUrl);
+    }
+
+    // 캐시 저장에 실패해도 이미 만들어진 리캡은 그대로 응답
+    public Mono<Void> saveRecapUrl(String albumId, String fingerprint, String recapUrl) {
+        return recapRepository.upsertRecap(IdGenerator.generate(), albumId, fingerprint, recapUrl)
+                .onErrorResume(e -> {
+                    log.warn("Failed to save recap cache for album {}", albumId, e);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    // 앨범의 사진 구성이 바뀌면 이전 스냅샷의 리캡은 다시 쓰일 일이 없으므로 바로 삭제
+    public Mono<Void> invalidateAlbum(String albumId) {
+        return recapRepository.deleteAllByAlbumId(albumId).then();
+    }
+
+    @Scheduled(initialDelayString = "${recap.cache.purge-interval}", fixedDelayString = "${recap.cache.purge-interval}")
+    public Mono<Void> purgeExpiredRecaps() {
+        return recapRepository.deleteExpiredRecaps(ttlSeconds)
+                .doOnNext(purgedCount -> {
+                    if (purgedCount > 0) {
+                        log.info("Purged {} expired recap cache entries", purgedCount);
+                    }
+                })
+                .onErrorResume(e -> {
+                    log.warn("Failed to purge expired recap cache entries", e);
+                    return Mono.empty();
+                })
+                .then();
+    }
+}
@@ -0,0 +1,66 @@
+package kr.mafoo.photo.service;
+
+import static kr.mafoo.photo.domain.enums.PermissionLevel.DOWNLOAD_ACCESS;
+
+import kr.mafoo.photo.domain.RecapJobEntity;
+import kr.mafoo.photo.domain.enums.RecapJobStatus;
+import kr.mafoo.photo.exception.RecapJobLimitExceededException;
+import kr.mafoo.photo.exception.RecapJobNotFoundException;
+import kr.mafoo.photo.exception.RecapJobQueueFullException;
+import kr.mafoo.photo.repository.RecapJobRepository;
+import kr.mafoo.photo.util.IdGenerator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+@RequiredArgsConstructor
+@Service
+public class RecapJobService {
+
+    // 같은 사용자의 요청이 동시에 들어와 데드락으로 롤백된 추가를 다시 시도하는 횟수
+    private static final int INSERT_MAX_RETRIES = 3;
+
+    private final RecapJobRepository recapJobRepository;
+    private final AlbumPermissionVerifier albumPermissionVerifier;
+    private final MemberService memberService;
+
+    @Value("${recap.job.max-active-per-member}")
+    private long maxActivePerMember;
+
+    @Value("${recap.job.max-queued}")
+    private long maxQueued;
+
+    // 사용자 이름은 요청 토큰이 있을 때만 조회할 수 있으므로 작업 생성 시점에 저장
+    public Mono<RecapJobEntity> addRecapJob(String albumId, String requestMemberId, String sort, String token) {
+        return albumPermissionVerifier.verifyOwnershipOrAccessPermission(albumId, requestMemberId, DOWNLOAD_ACCESS)
+                .then(recapJobRepository.countByStatus(RecapJobStatus.QUEUED))
+                .flatMap(queuedCount -> {
+                    if (queuedCount >= maxQueued) {
+                        return Mono.error(new RecapJobQueueFullException());
+                    }
+                    return memberService.getMemberInfoByToken(token);
+                })
+                .flatMap(memberInfo -> {
+                    String recapJobId = IdGenerator.generate();
+                    return recapJobRepository.insertIfBelowActiveLimit(recapJobId, albumId, requestMemberId, memberInfo.name(), sort, maxActivePerMember)
+                            .retryWhen(Retry.max(INSERT_MAX_RETRIES).filter(TransientDataAccessException.class::isInstance))
+                            .flatMap(inserted -> inserted == 0
+                                    ? Mono.error(new RecapJobLimitExceededException())
+                                    : recapJobRepository.findById(recapJobId));
+                });
+    }
+
+    public Mono<RecapJobEntity> findRecapJob(String recapJobId, String requestMemberId) {
+        return recapJobRepository.findByRecapJobIdAndMemberId(recapJobId, requestMemberId)
+                .switchIfEmpty(Mono.error(new RecapJobNotFoundException()));
+    }
+
+    // 실행 중인 작업은 워커가 다음 진행 보고나 폴링 시점에 상태를 확인하고 중단함
+    public Mono<RecapJobEntity> cancelRecapJob(String recapJobId, String requestMemberId) {
+        return recapJobRepository.cancelJob(recapJobId, requestMemberId)
+                .then(findRecapJob(recapJobId, requestMemberId));
+    }
+}
@@ -0,0 +1,156 @@
+package kr.mafoo.photo.service;
+
+import kr.mafoo.photo.domain.RecapJobEntity;
+import kr.mafoo.photo.repository.RecapJobRepository;
+import kr.mafoo.photo.util.IdGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class RecapJobWorker {
+
+    private final RecapJobRepository recapJobRepository;
+    private final RecapServiceOld recapServiceOld;
+
+    // 워커마다 렌더링 스케줄러 자리를 하나씩 쓰므로 기본값은 동시 렌더링 수와 맞춤
+    @Value("${recap.job.worker-count:${recap.render.max-concurrency}}")
+    private int workerCount;
+
+    @Value("${recap.job.stale-timeout}")
+    private long staleTimeoutSeconds;
+
+    @Value("${recap.job.max-attempts}")
+    private int maxAttempts;
+
+    @Value("${recap.job.retention}")
+    private long retentionSeconds;
+
+    @Value("${recap.job.purge-batch-size}")
+    private int purgeBatchSize;
+
+    // 이 인스턴스에서 실행 중인 작업, 크기가 워커 수를 넘지 않도록 빈 자리만큼만 가져옴
+    private final Map<String, Disposable> runningJobs = new ConcurrentHashMap<>();
+
+    @Scheduled(fixedDelayString = "${recap.job.poll-interval}")
+    public Mono<Void> pollRecapJobs() {
+        return checkRunningJobs()
+                .then(Mono.defer(this::claimRecapJobs))
+                .onErrorResume(e -> {
+                    log.warn("Failed to poll recap jobs", e);
+                    return Mono.empty();
+                });
+    }
+
+    @Scheduled(fixedDelayString = "${recap.job.stale-check-interval}")
+    public Mono<Void> recoverStaleRecapJobs() {
+        return recapJobRepository.recoverStaleJobs(staleTimeoutSeconds, maxAttempts)
+                .doOnNext(recovered -> {
+                    if (recovered > 0) {
+                        log.warn("Recovered {} stale recap jobs", recovered);
+                    }
+                })
+                .onErrorResume(e -> {
+                    log.warn("Failed to recover stale recap jobs", e);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    // 끝난 작업은 보관 기간이 지나면 배치 단위로 삭제, 마지막 배치가 가득 차지 않으면 종료
+    @Scheduled(fixedDelayString = "${recap.job.purge-interval}")
+    public Mono<Void> purgeFinishedRecapJobs() {
+        return Mono.defer(() -> recapJobRepository.deleteFinishedJobs(retentionSeconds, purgeBatchSize))
+                .repeat()
+                .takeUntil(deleted -> deleted < purgeBatchSize)
+                .reduce(0, Integer::sum)
+                .doOnNext(deleted -> {
+                    if (deleted > 0) {
+                        log.info("Purged {} finished recap jobs", deleted);
+                    }
+                })
+                .onErrorResume(e -> {
+                    log.warn("Failed to purge finished recap jobs", e);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    // 다른 인스턴스에서 취소된 작업을 중단하고, 남은 작업은 heartbeat를 갱신
+    private Mono<Void> checkRunningJobs() {
+        List<String> runningJobIds = List.copyOf(runningJobs.keySet());
+        if (runningJobIds.isEmpty()) {
+            return Mono.empty();
+        }
+
+        return recapJobRepository.findAllCanceledIdByIdIn(runningJobIds)
+                .doOnNext(recapJobId -> {
+                    Disposable job = runningJobs.remove(recapJobId);
+                    if (job != null) {
+                        log.info("Recap job canceled: {}", recapJobId);
+                        job.dispose();
+                    }
+                })
+                .then(recapJobRepository.updateHeartbeat(runningJobIds));
+    }
+
+    private Mono<Void> claimRecapJobs() {
+        int idleWorkers = workerCount - runningJobs.size();
+        if (idleWorkers <= 0) {
+            return Mono.empty();
+        }
+
+        String claimId = IdGenerator.generate();
+        return recapJobRepository.claimQueuedJobs(claimId, idleWorkers)
+                .filter(claimed -> claimed > 0)
+                .flatMapMany(claimed -> recapJobRepository.findAllByClaimId(claimId))
+                .doOnNext(this::runRecapJob)
+                .then();
+    }
+
+    private void runRecapJob(RecapJobEntity recapJob) {
+        String recapJobId = recapJob.getRecapJobId();
+        String claimId = recapJob.getClaimId();
+
+        // 구독이 바로 끝나도 맵에 남지 않도록 자리를 먼저 잡고 실제 구독으로 교체
+        Disposable.Swap job = Disposables.swap();
+        runningJobs.put(recapJobId, job);
+
+        job.update(recapServiceOld.createRecap(
+                        recapJobId,
+                        recapJob.getAlbumId(),
+                        recapJob.getMemberId(),
+                        recapJob.getMemberName(),
+                        recapJob.getSort(),
+                        progress -> reportProgress(recapJobId, claimId, progress)
+                )
+                .flatMap(recapUrl -> recapJobRepository.completeJob(recapJobId, claimId, recapUrl))
+                .onErrorResume(CancellationException.class, e -> Mono.empty())
+                .onErrorResume(e -> {
+                    log.warn("Recap job failed: {}", recapJobId, e);
+                    return recapJobRepository.failJob(recapJobId, claimId);
+                })
+                .doFinally(signal -> runningJobs.remove(recapJobId, job))
+                .subscribe());
+    }
+
+    // 진행률 갱신이 반영되지 않으면 취소되었거나 다른 워커로 넘어간 작업이므로 중단
+    private Mono<Void> reportProgress(String recapJobId, String claimId, int progress) {
+        return recapJobRepository.updateProgress(recapJobId, claimId, progress)
+                .flatMap(updated -> updated == 0
+                        ? Mono.<Void>error(new CancellationException("Recap job is no longer running: " + recapJobId))
+                        : Mono.<Void>empty());
+    }
+}
@@ -0,0 +1,63 @@
+package kr.mafoo.photo.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Lambda 응답 지연과 실패에 따라 동시 호출 한도를 조절 (AIMD)
+@Component
+public class RecapLambdaConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdMillis;
+
+    private double limit;
+    private int inFlight = 0;
+
+    public RecapLambdaConcurrencyLimiter(
+            @Value("${lambda.recap.concurrency.initial-limit}") int initialLimit,
+            @Value("${lambda.recap.concurrency.min-limit}") int minLimit,
+            @Value("${lambda.recap.concurrency.max-limit}") int maxLimit,
+            @Value("${lambda.recap.concurrency.latency-threshold}") long latencyThresholdMillis
+    ) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdMillis = latencyThresholdMillis;
+        this.limit = initialLimit;
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    // 응답이 빠르면 한도를 조금씩 늘리고, 느리거나 실패하면 절반으로 줄임
+    public synchronized void onSuccess(long latencyMillis) {
+        inFlight--;
+        if (latencyMillis > latencyThresholdMillis) {
+            decrease();
+        } else {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    public synchronized void onFailure() {
+        inFlight--;
+        decrease();
+    }
+
+    public synchronized void onCancel() {
+        inFlight--;
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    private void decrease() {
+        limit = Math.max(minLimit, limit / 2);
+    }
+}
@@ -1,30 +1,98 @@
 package kr.mafoo.photo.service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
 import kr.mafoo.photo.exception.MafooRecapLambdaApiFailedException;
+import kr.mafoo.photo.exception.RecapLambdaBusyException;
 import kr.mafoo.photo.service.dto.RecapUrlDto;
+import kr.mafoo.photo.util.HashGenerator;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+@Slf4j
 @Service
-public class RecapLambdaService {
+public class RecapLambdaService implements RecapRenderer {
     private final WebClient client;
+    private final RecapLambdaConcurrencyLimiter concurrencyLimiter;
+    private final RecapStageObserver recapStageObserver;
+    private final Duration timeout;
+    private final long resultTtlMillis;
 
-    public RecapLambdaService(@Qualifier("recapLambdaClient") WebClient client) {
+    // 같은 사진 목록으로 진행 중인 요청은 하나의 Lambda 호출 결과를 함께 받음
+    private final Map<String, Mono<RecapUrlDto>> inFlightRequests = new ConcurrentHashMap<>();
+    private final Map<String, CachedResult> completedResults = new ConcurrentHashMap<>();
+
+    public RecapLambdaService(
+        @Qualifier("recapLambdaClient") WebClient client,
+        RecapLambdaConcurrencyLimiter concurrencyLimiter,
+        RecapStageObserver recapStageObserver,
+        @Value("${lambda.recap.timeout}") Duration timeout,
+        @Value("${lambda.recap.result-ttl}") Duration resultTtl
+    ) {
         this.client = client;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.recapStageObserver = recapStageObserver;
+        this.timeout = timeout;
+        this.resultTtlMillis = resultTtl.toMillis();
+    }
+
+    @Override
+    public Mono<RecapUrlDto> render(List<String> recapPhotoUrls) {
+        return generateVideo(recapPhotoUrls);
     }
 
     public Mono<RecapUrlDto> generateVideo(List<String> recapPhotoUrls) {
-        return client
-            .post()
-            .bodyValue(createRequestBody(recapPhotoUrls))
-            .retrieve()
-            .onStatus(status -> !status.is2xxSuccessful(), (res) -> Mono.error(new MafooRecapLambdaApiFailedException()))
-            .bodyToMono(RecapUrlDto.class);
+        String requestKey = HashGenerator.sha256Hex(String.join("\n", recapPhotoUrls).getBytes(StandardCharsets.UTF_8));
+
+        return Mono.defer(() -> {
+            CachedResult cached = completedResults.get(requestKey);
+            if (cached != null && cached.expiresAt() > System.currentTimeMillis()) {
+                return Mono.just(cached.result());
+            }
+            // 캐시되거나 합쳐진 요청은 제외하고 실제 Lambda 호출 시간만 기록, 앨범 정보는 상위 render 단계에 남음
+            return inFlightRequests.computeIfAbsent(requestKey, key -> recapStageObserver
+                .observe("lambda_invoke", RecapStageObserver.UNKNOWN, recapPhotoUrls.size(), invokeLambda(recapPhotoUrls))
+                .doOnNext(result -> completedResults.put(key, new CachedResult(result, System.currentTimeMillis() + resultTtlMillis)))
+                .doFinally(signal -> inFlightRequests.remove(key))
+                .cache());
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${lambda.recap.cleanup-interval}")
+    public void removeExpiredResults() {
+        long now = System.currentTimeMillis();
+        completedResults.values().removeIf(cached -> cached.expiresAt() <= now);
+    }
+
+    private Mono<RecapUrlDto> invokeLambda(List<String> recapPhotoUrls) {
+        return Mono.defer(() -> {
+            if (!concurrencyLimiter.tryAcquire()) {
+                return Mono.error(new RecapLambdaBusyException());
+            }
+
+            long startedAt = System.currentTimeMillis();
+            return client
+                .post()
+                .bodyValue(createRequestBody(recapPhotoUrls))
+                .retrieve()
+                .onStatus(status -> !status.is2xxSuccessful(), (res) -> Mono.error(new MafooRecapLambdaApiFailedException()))
+                .bodyToMono(RecapUrlDto.class)
+                .timeout(timeout)
+                .doOnSuccess(result -> concurrencyLimiter.onSuccess(System.currentTimeMillis() - startedAt))
+                .doOnError(e -> concurrencyLimiter.onFailure())
+                .doOnCancel(concurrencyLimiter::onCancel)
+                .onErrorMap(TimeoutException.class, e -> new MafooRecapLambdaApiFailedException());
+        });
     }
 
     private Map<String, Object> createRequestBody(List<String> recapPhotoUrls) {
@@ -32,5 +100,7 @@ public class RecapLambdaService {
         requestBody.put("fileUrls", recapPhotoUrls);
         return requestBody;
     }
-}
 
+    private record CachedResult(RecapUrlDto result, long expiresAt) {
+    }
+}
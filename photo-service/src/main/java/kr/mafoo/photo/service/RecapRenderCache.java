@@ -0,0 +1,60 @@
+package kr.mafoo.photo.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+// 같은 앨범을 같은 날 다시 리캡할 때 칩과 프레임을 다시 그리지 않도록 메모리에 보관
+@Component
+public class RecapRenderCache {
+
+    @Value("${recap.render.cache.max-size}")
+    private long maxSize;
+
+    // 접근 순서로 정렬되어 가장 오래 사용되지 않은 이미지가 맨 앞에 위치
+    private final LinkedHashMap<String, BufferedImage> entries = new LinkedHashMap<>(32, 0.75f, true);
+    private long currentSize = 0;
+
+    public static String chipKey(String albumType, String albumName) {
+        return String.join("\u0000", "chip", albumType, albumName);
+    }
+
+    public static String frameKey(String albumType, String albumName, String memberName, String createdDate) {
+        return String.join("\u0000", "frame", albumType, albumName, memberName, createdDate);
+    }
+
+    // 여러 리캡이 같은 이미지를 공유하므로 꺼낸 이미지는 읽기 전용으로만 사용해야 함
+    public synchronized Optional<BufferedImage> find(String key) {
+        return Optional.ofNullable(entries.get(key));
+    }
+
+    public synchronized void put(String key, BufferedImage image) {
+        long size = sizeOf(image);
+        if (size > maxSize) {
+            return;
+        }
+
+        BufferedImage previous = entries.put(key, image);
+        currentSize += size - (previous == null ? 0 : sizeOf(previous));
+        evictIfNeeded();
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<String, BufferedImage>> iterator = entries.entrySet().iterator();
+        while (currentSize > maxSize && iterator.hasNext()) {
+            currentSize -= sizeOf(iterator.next().getValue());
+            iterator.remove();
+        }
+    }
+
+    private static long sizeOf(BufferedImage image) {
+        DataBuffer dataBuffer = image.getRaster().getDataBuffer();
+        return (long) dataBuffer.getSize() * dataBuffer.getNumBanks() * DataBuffer.getDataTypeSize(dataBuffer.getDataType()) / 8;
+    }
+}
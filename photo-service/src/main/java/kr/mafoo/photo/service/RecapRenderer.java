@@ -0,0 +1,11 @@
+package kr.mafoo.photo.service;
+
+import kr.mafoo.photo.service.dto.RecapUrlDto;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+// 사진 url 목록으로 리캡 영상을 만들어 업로드된 url을 반환하는 백엔드
+public interface RecapRenderer {
+    Mono<RecapUrlDto> render(List<String> recapPhotoUrls);
+}
@@ -0,0 +1,41 @@
+package kr.mafoo.photo.service;
+
+import kr.mafoo.photo.service.dto.RecapUrlDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class RecapRendererRouter implements RecapRenderer {
+
+    public enum Mode {
+        LAMBDA, LOCAL, AUTO
+    }
+
+    private final RecapLambdaService recapLambdaService;
+    private final LocalRecapRenderer localRecapRenderer;
+
+    @Value("${recap.renderer.mode}")
+    private Mode mode;
+
+    // AUTO에서는 로컬 렌더러가 자리를 잡으면 로컬에서 처리하고, 버킷 밖 url이거나 바쁘거나 실패하면 Lambda로 넘김
+    @Override
+    public Mono<RecapUrlDto> render(List<String> recapPhotoUrls) {
+        return Mono.defer(() -> switch (mode) {
+            case LAMBDA -> recapLambdaService.render(recapPhotoUrls);
+            case LOCAL -> localRecapRenderer.render(recapPhotoUrls);
+            case AUTO -> localRecapRenderer.tryRender(recapPhotoUrls)
+                    .onErrorResume(e -> {
+                        log.warn("Local recap rendering failed, falling back to lambda", e);
+                        return recapLambdaService.render(recapPhotoUrls);
+                    })
+                    .switchIfEmpty(Mono.defer(() -> recapLambdaService.render(recapPhotoUrls)));
+        });
+    }
+}
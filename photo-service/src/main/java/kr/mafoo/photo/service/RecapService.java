@@ -16,12 +16,15 @@ import reactor.core.publisher.Mono;
 public class RecapService {
 
     private final AlbumPermissionVerifier albumPermissionVerifier;
-    private final RecapLambdaService recapLambdaService;
+    private final RecapRendererRouter recapRendererRouter;
+    private final RecapStageObserver recapStageObserver;
 
     public Mono<RecapUrlDto> generateRecapVideo(List<String> recapPhotoUrls, String albumId, String requestMemberId) {
         return validateRecapPhotoUrls(recapPhotoUrls)
             .then(albumPermissionVerifier.verifyOwnershipOrAccessPermission(albumId, requestMemberId, DOWNLOAD_ACCESS)
-                .then(recapLambdaService.generateVideo(recapPhotoUrls))
+                .flatMap(albumEntity -> recapStageObserver.observe(
+                    "render", String.valueOf(albumEntity.getType()), recapPhotoUrls.size(), recapRendererRouter.render(recapPhotoUrls)
+                ))
             );
     }
 
@@ -2,7 +2,11 @@ package kr.mafoo.photo.service;
 
 import static kr.mafoo.photo.domain.enums.PermissionLevel.DOWNLOAD_ACCESS;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import kr.mafoo.photo.domain.AlbumEntity;
 import kr.mafoo.photo.domain.PhotoEntity;
+import kr.mafoo.photo.exception.RecapRenderBusyException;
 import kr.mafoo.photo.util.RecapProperties;
 import kr.mafoo.photo.util.IdGenerator;
 import lombok.RequiredArgsConstructor;
@@ -10,166 +14,162 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
-
+import reactor.core.scheduler.Scheduler;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
 import java.util.List;
-
-import net.bramp.ffmpeg.builder.FFmpegBuilder;
-import net.bramp.ffmpeg.FFmpegExecutor;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.IntFunction;
 
 @Slf4j
 @RequiredArgsConstructor
 @Service
 public class RecapServiceOld {
 
+    private static final DateTimeFormatter RECAP_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy.MM.dd");
+
     @Value("${recap.max-size}")
     private int recapImageMaxSize;
 
-    @Value("${recap.path.tmp}")
-    private String tmpPath;
-
     private final AlbumPermissionVerifier albumPermissionVerifier;
     private final PhotoService photoService;
     private final MemberService memberService;
 
     private final ObjectStorageService objectStorageService;
     private final Graphics2dService graphics2dService;
-    private final FFmpegExecutor ffmpegExecutor;
+    private final RecapVideoEncoder recapVideoEncoder;
+    private final Scheduler recapRenderScheduler;
     private final LocalFileService localFileService;
+    private final RecapCacheService recapCacheService;
+    private final RecapStageObserver recapStageObserver;
+    private final MeterRegistry meterRegistry;
 
     private final RecapProperties recapProperties;
 
-    public Mono<String> createRecap(String albumId, String requestMemberId, String sort, String token) {
+    private final Map<String, DistributionSummary> recapWorkspaceSizes = new ConcurrentHashMap<>();
 
-        String recapId = IdGenerator.generate();
+    public Mono<String> createRecap(String albumId, String requestMemberId, String sort, String token) {
+        return recapStageObserver.observe("member_fetch", RecapStageObserver.UNKNOWN, 0, memberService.getMemberInfoByToken(token))
+                .flatMap(memberInfo -> createRecap(
+                        IdGenerator.generate(), albumId, requestMemberId, memberInfo.name(), sort, progress -> Mono.empty()
+                ));
+    }
 
+    // 리캡 작업 워커에서도 호출하며, 단계가 끝날 때마다 진행률을 보고함
+    public Mono<String> createRecap(
+            String recapId,
+            String albumId,
+            String requestMemberId,
+            String memberName,
+            String sort,
+            IntFunction<Mono<Void>> progressReporter
+    ) {
         return albumPermissionVerifier.verifyOwnershipOrAccessPermission(albumId, requestMemberId, DOWNLOAD_ACCESS)
-                .flatMap(albumEntity -> {
-                    String albumType = String.valueOf(albumEntity.getType());
-
-                    return graphics2dService.generateAlbumChipForRecap(recapId, albumEntity.getName(), albumType)
-                            .then(memberService.getMemberInfoByToken(token))
-                            .flatMap(memberInfo -> generateRecapFrame(recapId, memberInfo.name(), albumType))
-                            .then(photoService.findPhotoListByAlbumId(albumId, requestMemberId, sort)
-                                .collectList()
-                                .flatMap(photoEntities -> {
-                                    List<String> photoUrls = photoEntities.stream()
-                                            .limit(recapImageMaxSize)
-                                            .map(PhotoEntity::getPhotoUrl)
-                                            .toList();
-
-                                    return objectStorageService.downloadFilesForRecap(photoUrls, recapId);
-                                })
-                            )
-                            .flatMap(downloadedPath -> generateRecapPhotos(downloadedPath, recapId))
-                            .then(Mono.defer(() -> generateRecapVideo(recapId)))
-                            .flatMap(objectStorageService::uploadFileFromPath);
-                })
-                .flatMap(recapUploadedPath ->
-                        localFileService.deleteSimilarNameFileForPath(tmpPath, recapId)
-                                .thenReturn(recapUploadedPath)
-                )
-                .doOnError(e -> localFileService.deleteSimilarNameFileForPath(tmpPath, recapId));
+                .flatMap(albumEntity -> photoService.findPhotoListByAlbumId(albumId, requestMemberId, sort)
+                        .collectList()
+                        .flatMap(photoEntities -> {
+                            // 앨범에 함께 담긴 부스 영상은 리캡 프레임으로 쓸 수 없으므로 제외한 뒤 개수를 제한
+                            List<PhotoEntity> recapPhotos = photoEntities.stream()
+                                    .filter(photo -> !photo.isVideo())
+                                    .limit(recapImageMaxSize)
+                                    .toList();
+                            // 캐시 키와 프레임에 같은 날짜가 들어가도록 한 번만 계산
+                            String recapCreatedDate = RECAP_DATE_FORMATTER.format(LocalDate.now());
+                            String fingerprint = recapCacheService.fingerprint(
+                                    albumEntity, recapPhotos.stream().map(PhotoEntity::getPhotoId).toList(), sort, memberName, recapCreatedDate
+                            );
+
+                            // 같은 스냅샷의 리캡이 있으면 작업 공간을 만들지 않고 바로 응답
+                            return recapCacheService.findRecapUrl(albumId, fingerprint)
+                                    .switchIfEmpty(Mono.defer(() -> generateRecapInWorkspace(
+                                            recapId, albumEntity, recapPhotos.stream().map(PhotoEntity::getPhotoUrl).toList(), memberName, recapCreatedDate, progressReporter
+                                    ).flatMap(recapUrl -> recapCacheService.saveRecapUrl(albumId, fingerprint, recapUrl).thenReturn(recapUrl))));
+                        }));
     }
 
-    private Mono<String> generateRecapFrame(String recapId, String memberName, String albumType) {
-        return Mono.fromCallable(() -> {
-            try {
-                String recapFramePath = recapProperties.getFrameFilePath(recapId);
-                String recapCreatedDate = DateTimeFormatter.ofPattern("yyyy.MM.dd").format(LocalDate.now());
-
-                FFmpegBuilder builder = new FFmpegBuilder()
-//                        .addExtraArgs("-loglevel", "debug")
-                        .addExtraArgs(
-                                "-filter_complex",
-                                String.format(
-                                        "[1]scale=w=-1:h=176[chip]; " +
-                                        "[0][chip]overlay=188:H-h-120[bg_w_chip]; " +
-                                        "[bg_w_chip]drawtext=fontfile=%s:text='@%s님의 RECAP':fontcolor=white@0.7:fontsize=72:x=(w-tw)/2:y=208[bg_w_title]; " +
-                                        "[bg_w_title]drawtext=fontfile=%s:text='%s':fontcolor=white:fontsize=72:x=w-tw-188:y=h-th-180",
-                                        recapProperties.getAggroBFontPath(), memberName,
-                                        recapProperties.getAggroMFontPath(), recapCreatedDate
-                                )
-                        )
-                        .addInput(recapProperties.getBackgroundPath(albumType))
-                        .addInput(recapProperties.getChipFilePath(recapId))
-                        .addOutput(recapFramePath)
-                        .done();
-
-                ffmpegExecutor.createJob(builder).run();
-
-                return recapFramePath;
-            } catch (Exception e) {
-                log.error("Failed to generate recap frame", e);
-                throw new RuntimeException("Failed to generate recap frame", e);
-            }
-        });
+    // 완료, 실패, 취소 어느 경우에도 작업 공간이 통째로 삭제되도록 자원 수명을 파이프라인에 묶음
+    private Mono<String> generateRecapInWorkspace(
+            String recapId,
+            AlbumEntity albumEntity,
+            List<String> photoUrls,
+            String memberName,
+            String recapCreatedDate,
+            IntFunction<Mono<Void>> progressReporter
+    ) {
+        String albumType = String.valueOf(albumEntity.getType());
+
+        return Mono.usingWhen(
+                localFileService.createDirectory(Path.of(recapProperties.getWorkspacePath(recapId))),
+                workspace -> recapStageObserver.observe("download", albumType, photoUrls.size(), objectStorageService.downloadFilesForRecap(photoUrls, recapId))
+                        .flatMap(downloadedPath -> progressReporter.apply(40).thenReturn(downloadedPath))
+                        .flatMap(downloadedPath -> renderRecapVideo(workspace, recapId, albumEntity.getName(), albumType, memberName, recapCreatedDate, downloadedPath))
+                        .flatMap(recapUrl -> progressReporter.apply(90).thenReturn(recapUrl)),
+                // 작업 공간은 다운로드한 사진과 인코딩한 영상으로만 커지므로 삭제 시점의 크기가 리캡 하나가 차지한 최대 디스크 사용량
+                workspace -> localFileService.deleteRecursively(workspace)
+                        .doOnNext(workspaceSize -> recapWorkspaceSize(albumType).record(workspaceSize))
+        );
     }
 
-    private Mono<Void> generateRecapPhotos(List<String> downloadedPath, String recapId) {
-
-        return Mono.fromRunnable(() -> {
-            try {
-                FFmpegBuilder builder = new FFmpegBuilder()
-//                    .addExtraArgs("-loglevel", "debug")
-                    .addInput(recapProperties.getFrameFilePath(recapId));
-
-                for (String path : downloadedPath) {
-                    builder.addInput(path);
-                }
-
-                StringBuilder filterComplex = new StringBuilder();
-
-                for (int inputIndex = 1; inputIndex <= downloadedPath.size(); inputIndex++) {
-                    filterComplex.append(String.format(
-                        "[%d]scale='min(1200,iw)':'min(1776,ih)':force_original_aspect_ratio=decrease[photo_scaled_%d]; ",
-                        inputIndex, inputIndex));
-
-                    filterComplex.append(String.format(
-                        "[0][photo_scaled_%d]overlay=(W-w)/2:(H-h)/2+80[final%d]",
-                        inputIndex, inputIndex));
-
-                    if (inputIndex < downloadedPath.size()) {
-                        filterComplex.append(";");
-                    }
-                }
-
-                builder.addExtraArgs("-filter_complex", filterComplex.toString());
-
-                for (int outputIndex = 1; outputIndex <= downloadedPath.size(); outputIndex++) {
-                    builder.addOutput(recapProperties.getPhotoFilePath(recapId, outputIndex))
-                        .addExtraArgs("-map", String.format("[final%d]", outputIndex));
-                }
-
-                ffmpegExecutor.createJob(builder).run();
-            } catch (Exception e) {
-                log.error("Failed to generate recap photos", e);
-                throw new RuntimeException("Failed to generate recap photos", e);
-            }
-        }).then();
+    // album.type 마다 한 번만 등록하고, 사진 수는 태그로 두지 않아 시계열이 늘어나지 않도록 함
+    private DistributionSummary recapWorkspaceSize(String albumType) {
+        return recapWorkspaceSizes.computeIfAbsent(albumType, type -> DistributionSummary.builder("recap.workspace.size")
+                .baseUnit("bytes")
+                .tag("album.type", type)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
     }
 
-    private Mono<String> generateRecapVideo(String recapId) {
-        return Mono.fromCallable(() -> {
-            try {
-                String recapVideoPath = recapProperties.getVideoFilePath(recapId);
-
-                FFmpegBuilder builder = new FFmpegBuilder()
-//                        .addExtraArgs("-loglevel", "debug")
-                        .addExtraArgs("-r", "2")
-                        .addInput(recapProperties.getPhotoFilePath(recapId))
-                        .addOutput(recapVideoPath)
-                        .done();
-
-                ffmpegExecutor.createJob(builder).run();
+    // 프레임과 사진을 메모리에서 합성하고 ffmpeg는 인코딩에만 한 번 실행, 결과는 인코딩과 동시에 업로드
+    private Mono<String> renderRecapVideo(Path workspace, String recapId, String albumName, String albumType, String memberName, String recapCreatedDate, List<String> downloadedPath) {
+        int photoCount = downloadedPath.size();
+
+        return recapVideoEncoder.trackPending(recapStageObserver.observeCallable("render", albumType, photoCount, () -> {
+                    BufferedImage frame = recapStageObserver.stage("frame_render", albumType, photoCount)
+                            .observeChecked(() -> graphics2dService.renderRecapFrame(albumName, albumType, memberName, recapCreatedDate));
+                    BufferedImage canvas = graphics2dService.createCanvas(frame);
+
+                    // 인코더가 프레임을 파이프에 다 쓴 뒤에 다음 사진을 합성하므로 캔버스 하나로 충분
+                    Iterator<BufferedImage> photoFrames = downloadedPath.stream()
+                            .map(path -> recapStageObserver.stage("photo_compose", albumType, photoCount)
+                                    .observe(() -> renderRecapPhoto(frame, path, canvas)))
+                            .iterator();
+
+                    // 합성된 프레임을 받는 즉시 인코딩하고 업로드하므로 이 단계 시간에는 사진 합성 시간도 포함됨
+                    return recapStageObserver.stage("encode_upload", albumType, photoCount)
+                            .observeChecked(() -> recapVideoEncoder.encode(
+                                    workspace,
+                                    frame.getWidth(),
+                                    frame.getHeight(),
+                                    photoFrames,
+                                    video -> objectStorageService.uploadRecapVideo(recapId, video)
+                            ));
+                })
+                .subscribeOn(recapRenderScheduler))
+                // 렌더링 대기열까지 가득 차면 500 대신 잠시 후 재시도하라고 응답
+                .onErrorMap(RejectedExecutionException.class, e -> new RecapRenderBusyException())
+                .doOnError(e -> log.error("Failed to render recap video", e));
+    }
 
-                return recapVideoPath;
-            } catch (Exception e) {
-                log.error("Failed to generate recap video", e);
-                throw new RuntimeException("Failed to generate recap video", e);
+    private BufferedImage renderRecapPhoto(BufferedImage frame, String path, BufferedImage canvas) {
+        try {
+            BufferedImage photo = ImageIO.read(new File(path));
+            if (photo == null) {
+                throw new IOException("Unsupported image format: " + path);
             }
-        });
+            return graphics2dService.renderRecapPhoto(frame, photo, canvas);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
-}
\ No newline at end of file
+}
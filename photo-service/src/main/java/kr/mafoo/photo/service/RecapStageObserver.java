@@ -0,0 +1,67 @@
+package kr.mafoo.photo.service;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.Callable;
+
+// 리캡 단계별 소요 시간을 observation으로 남겨 prometheus 히스토그램과 트레이스 span을 함께 기록
+@RequiredArgsConstructor
+@Component
+public class RecapStageObserver {
+
+    public static final String UNKNOWN = "UNKNOWN";
+
+    private static final String OBSERVATION_NAME = "recap.stage";
+
+    private final ObservationRegistry observationRegistry;
+
+    // 현재 스레드에 열린 observation이 있으면 자동으로 그 자식이 됨
+    public Observation stage(String stage, String albumType, int photoCount) {
+        return Observation.createNotStarted(OBSERVATION_NAME, observationRegistry)
+                .contextualName("recap " + stage)
+                .lowCardinalityKeyValue("stage", stage)
+                .lowCardinalityKeyValue("album.type", albumType)
+                .lowCardinalityKeyValue("photo.count", photoCountBucket(photoCount))
+                .highCardinalityKeyValue("photo.count.exact", String.valueOf(photoCount));
+    }
+
+    // 히스토그램 시계열이 사진 수마다 늘어나지 않도록 메트릭 태그는 구간으로 묶고, 정확한 값은 트레이스에만 남김
+    static String photoCountBucket(int photoCount) {
+        if (photoCount <= 10) {
+            return "1-10";
+        }
+        if (photoCount <= 30) {
+            return "11-30";
+        }
+        return "31+";
+    }
+
+    // Reactor 파이프라인은 스레드가 바뀌므로 부모 observation을 Reactor context에서 찾아 연결
+    public <T> Mono<T> observe(String stage, String albumType, int photoCount, Mono<T> source) {
+        return Mono.deferContextual(context -> {
+            Observation observation = stage(stage, albumType, photoCount)
+                    .parentObservation(context.getOrDefault(ObservationThreadLocalAccessor.KEY, null))
+                    .start();
+
+            return source
+                    .doOnError(observation::error)
+                    .doFinally(signal -> observation.stop())
+                    .contextWrite(ctx -> ctx.put(ObservationThreadLocalAccessor.KEY, observation));
+        });
+    }
+
+    // blocking 단계는 scope를 열고 실행해, 안에서 stage()로 만든 하위 단계가 이 단계의 자식이 되도록 함
+    public <T> Mono<T> observeCallable(String stage, String albumType, int photoCount, Callable<T> body) {
+        return Mono.deferContextual(context -> {
+            Observation observation = stage(stage, albumType, photoCount)
+                    .parentObservation(context.getOrDefault(ObservationThreadLocalAccessor.KEY, null));
+
+            return Mono.fromCallable(() -> observation.observeChecked(body::call));
+        });
+    }
+}
@@ -0,0 +1,205 @@
+package kr.mafoo.photo.service;
+
+import kr.mafoo.photo.util.RecapEncodingProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+// 합성된 프레임을 raw BGR로 파이프에 흘려보내 ffmpeg 프로세스 하나로 영상을 인코딩
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class RecapVideoEncoder {
+
+    private static final String FRAME_RATE = "2";
+    private static final String OUTPUT_FILE_NAME = "recap.mp4";
+
+    private final RecapEncodingProperties recapEncodingProperties;
+
+    @Value("${ffmpeg.path}")
+    private String ffmpegPath;
+
+    // 스케줄러 대기열에 있는 것까지 포함한 렌더링 수, 몰릴수록 빠른 프로필을 선택하는 기준
+    private final AtomicInteger pendingRenders = new AtomicInteger();
+
+    // 렌더링 스케줄러에 올리는 작업을 감싸 대기열 깊이에 포함시킴
+    public <T> Mono<T> trackPending(Mono<T> render) {
+        return render
+                .doOnSubscribe(subscription -> pendingRenders.incrementAndGet())
+                .doFinally(signal -> pendingRenders.decrementAndGet());
+    }
+
+    // 프레임은 하나씩 받아서 바로 쓰고, 인코딩 결과는 outputSink로 흘려보냄
+    // 기본은 만들어지는 대로 스트리밍하고, faststart를 지정한 프로필만 작업 공간에 파일로 인코딩한 뒤 올림
+    public String encode(Path workspace, int width, int height, Iterator<BufferedImage> frames, Function<InputStream, Mono<String>> outputSink) throws IOException, InterruptedException {
+        int queueDepth = Math.max(0, pendingRenders.get() - 1);
+        RecapEncodingProperties.Profile profile = recapEncodingProperties.selectProfile(queueDepth);
+        log.debug("Encoding recap with profile {} (queue depth {})", profile.getName(), queueDepth);
+
+        return profile.isFaststart()
+                ? encodeToFile(workspace.resolve(OUTPUT_FILE_NAME), width, height, frames, profile, outputSink)
+                : encodeToStream(width, height, frames, profile, outputSink);
+    }
+
+    // 되돌아가 쓸 수 있는 파일로 출력해야 ffmpeg가 마지막에 moov를 앞으로 옮겨, 재생 시간과 탐색 정보가 있는 MP4가 됨
+    private String encodeToFile(Path outputPath, int width, int height, Iterator<BufferedImage> frames, RecapEncodingProperties.Profile profile, Function<InputStream, Mono<String>> outputSink) throws IOException, InterruptedException {
+        List<String> command = buildCommand(width, height, profile);
+        command.addAll(List.of("-movflags", "+faststart", outputPath.toString()));
+
+        Process process = new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+
+        try {
+            writeFrames(process, width, height, frames);
+            int exitCode = process.waitFor();
+            if (exitCode != 0) {
+                throw new IOException("ffmpeg exited with code " + exitCode);
+            }
+        } catch (IOException | RuntimeException | InterruptedException e) {
+            process.destroyForcibly();
+            throw e;
+        }
+
+        return awaitOutput(process, outputSink.apply(Files.newInputStream(outputPath)).toFuture());
+    }
+
+    // 파이프 출력은 되돌아가 moov를 쓸 수 없으므로 빈 moov로 시작하는 fragmented MP4로 출력
+    // 키프레임마다 moof가 자기 위치 기준으로 샘플을 가리키므로(default_base_moof) 임시 파일 없이도 탐색 가능한 영상이 됨
+    private String encodeToStream(int width, int height, Iterator<BufferedImage> frames, RecapEncodingProperties.Profile profile, Function<InputStream, Mono<String>> outputSink) throws IOException, InterruptedException {
+        List<String> command = buildCommand(width, height, profile);
+        command.addAll(List.of("-movflags", "frag_keyframe+empty_moov+default_base_moof", "-f", "mp4", "pipe:1"));
+
+        Process process = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+
+        // stdout을 읽는 쪽이 멈추면 ffmpeg가 stdin을 더 받지 않으므로 업로드는 별도 스레드에서 진행
+        CompletableFuture<String> output = outputSink.apply(new ProcessOutputStream(process)).toFuture();
+
+        try {
+            writeFrames(process, width, height, frames);
+        } catch (IOException | RuntimeException e) {
+            process.destroyForcibly();
+            // 프로세스가 비정상 종료되면 업로드 쪽에서 실패를 감지하고 멀티파트 업로드를 중단함
+            output.exceptionally(uploadException -> null).join();
+            throw e;
+        } catch (InterruptedException e) {
+            abort(process, output);
+            throw e;
+        }
+
+        return awaitOutput(process, output);
+    }
+
+    private void writeFrames(Process process, int width, int height, Iterator<BufferedImage> frames) throws IOException, InterruptedException {
+        try (OutputStream stdin = process.getOutputStream()) {
+            while (frames.hasNext()) {
+                // 작업이 취소되면 렌더링 스레드가 인터럽트되므로 프레임마다 확인하고 중단
+                if (Thread.interrupted()) {
+                    throw new InterruptedException("Recap encoding interrupted");
+                }
+                BufferedImage frame = frames.next();
+                if (frame.getType() != BufferedImage.TYPE_3BYTE_BGR || frame.getWidth() != width || frame.getHeight() != height) {
+                    throw new IllegalArgumentException("Recap frame must be " + width + "x" + height + " TYPE_3BYTE_BGR");
+                }
+                stdin.write(((DataBufferByte) frame.getRaster().getDataBuffer()).getData());
+            }
+        }
+    }
+
+    private String awaitOutput(Process process, CompletableFuture<String> output) throws IOException, InterruptedException {
+        try {
+            return output.get();
+        } catch (InterruptedException e) {
+            abort(process, output);
+            throw e;
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to encode recap video", e.getCause());
+        }
+    }
+
+    // 취소된 작업은 업로드가 끝나기를 기다리지 않고 ffmpeg와 업로드 구독을 바로 정리
+    private static void abort(Process process, CompletableFuture<String> output) {
+        process.destroyForcibly();
+        output.cancel(true);
+    }
+
+    private List<String> buildCommand(int width, int height, RecapEncodingProperties.Profile profile) {
+        return new ArrayList<>(List.of(
+                ffmpegPath,
+                "-y",
+                "-loglevel", "error",
+                "-f", "rawvideo",
+                "-pix_fmt", "bgr24",
+                "-s", width + "x" + height,
+                "-r", FRAME_RATE,
+                "-i", "pipe:0",
+                "-vf", "scale=trunc(iw/2)*2:trunc(ih/2)*2",
+                "-c:v", "libx264",
+                "-preset", profile.getPreset(),
+                "-crf", String.valueOf(profile.getCrf()),
+                "-threads", String.valueOf(profile.getThreads()),
+                "-pix_fmt", profile.getPixelFormat()
+        ));
+    }
+
+    // 출력이 끝났을 때 ffmpeg 종료 코드를 확인해, 실패한 인코딩이 정상 파일로 업로드되지 않도록 함
+    private static class ProcessOutputStream extends FilterInputStream {
+        private final Process process;
+
+        private ProcessOutputStream(Process process) {
+            super(process.getInputStream());
+            this.process = process;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            if (read == -1) {
+                checkExitCode();
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read == -1) {
+                checkExitCode();
+            }
+            return read;
+        }
+
+        private void checkExitCode() throws IOException {
+            try {
+                int exitCode = process.waitFor();
+                if (exitCode != 0) {
+                    throw new IOException("ffmpeg exited with code " + exitCode);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for ffmpeg", e);
+            }
+        }
+    }
+}
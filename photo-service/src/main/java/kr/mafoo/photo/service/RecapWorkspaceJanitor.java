@@ -0,0 +1,78 @@
+package kr.mafoo.photo.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+// 프로세스가 죽는 등 정리 콜백이 실행되지 못한 리캡 작업 공간을 주기적으로 삭제
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class RecapWorkspaceJanitor {
+
+    private final LocalFileService localFileService;
+
+    @Value("${recap.path.tmp}")
+    private String tmpPath;
+
+    @Value("${recap.workspace.max-age}")
+    private long maxAgeMillis;
+
+    @Scheduled(initialDelayString = "${recap.workspace.sweep-interval}", fixedDelayString = "${recap.workspace.sweep-interval}")
+    public Mono<Void> sweepAbandonedWorkspaces() {
+        return Mono.fromCallable(this::sweep)
+                .subscribeOn(Schedulers.boundedElastic())
+                .doOnNext(sweptCount -> {
+                    if (sweptCount > 0) {
+                        log.info("Swept {} abandoned recap workspaces", sweptCount);
+                    }
+                })
+                .onErrorResume(e -> {
+                    log.warn("Failed to sweep recap workspaces", e);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private int sweep() throws IOException {
+        Path root = Path.of(tmpPath);
+        if (Files.notExists(root)) {
+            return 0;
+        }
+
+        long boundary = System.currentTimeMillis() - maxAgeMillis;
+        List<Path> abandoned;
+        try (Stream<Path> entries = Files.list(root)) {
+            abandoned = entries.filter(entry -> lastModified(entry) < boundary).toList();
+        }
+
+        int sweptCount = 0;
+        for (Path entry : abandoned) {
+            try {
+                localFileService.deleteRecursivelyBlocking(entry);
+                sweptCount++;
+            } catch (IOException e) {
+                log.warn("Failed to delete recap workspace: {}", entry, e);
+            }
+        }
+        return sweptCount;
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+}
@@ -30,6 +30,10 @@ public class SharedMemberCommand {
         return sharedMemberRepository.delete(sharedMember);
     }
 
+    public Mono<Integer> removeSharedMembersInAlbum(String albumId, int limit) {
+        return sharedMemberRepository.deleteAllByAlbumIdLimit(albumId, limit);
+    }
+
     public Mono<SharedMemberEntity> modifySharedMemberShareStatus(SharedMemberEntity sharedMember, String newShareStatus) {
         return sharedMemberRepository.save(sharedMember.updateShareStatus(
             ShareStatus.valueOf(newShareStatus)
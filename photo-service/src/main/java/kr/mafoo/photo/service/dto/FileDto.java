@@ -4,6 +4,8 @@ import kr.mafoo.photo.domain.enums.BrandType;
 
 public record FileDto (
         BrandType type,
-        byte[] fileByte
+        byte[] fileByte,
+        String hash,
+        String videoUrl
 ) {
 }
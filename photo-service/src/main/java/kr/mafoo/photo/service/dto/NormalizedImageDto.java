@@ -0,0 +1,15 @@
+package kr.mafoo.photo.service.dto;
+
+public record NormalizedImageDto(
+        byte[] originalByte,
+        byte[] thumbnailByte,
+        byte[] mediumByte
+) {
+    public static NormalizedImageDto fromOriginal(byte[] originalByte) {
+        return new NormalizedImageDto(originalByte, null, null);
+    }
+
+    public boolean hasVariants() {
+        return thumbnailByte != null && mediumByte != null;
+    }
+}
@@ -0,0 +1,17 @@
+package kr.mafoo.photo.service.dto;
+
+import org.springframework.core.io.Resource;
+
+public record PhotoRenditionDto(
+        String eTag,
+        String format,
+        Resource resource
+) {
+    public static PhotoRenditionDto notModified(String eTag, String format) {
+        return new PhotoRenditionDto(eTag, format, null);
+    }
+
+    public boolean isNotModified() {
+        return resource == null;
+    }
+}
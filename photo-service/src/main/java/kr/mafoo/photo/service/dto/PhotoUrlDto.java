@@ -0,0 +1,8 @@
+package kr.mafoo.photo.service.dto;
+
+public record PhotoUrlDto(
+        String photoUrl,
+        String thumbnailUrl,
+        String mediumUrl
+) {
+}
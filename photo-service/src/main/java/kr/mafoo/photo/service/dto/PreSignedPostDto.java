@@ -0,0 +1,10 @@
+package kr.mafoo.photo.service.dto;
+
+import java.util.Map;
+
+public record PreSignedPostDto(
+        String url,
+        String key,
+        Map<String, String> fields
+) {
+}
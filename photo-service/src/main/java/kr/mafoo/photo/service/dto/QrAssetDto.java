@@ -0,0 +1,10 @@
+package kr.mafoo.photo.service.dto;
+
+public record QrAssetDto(
+        byte[] imageByte,
+        String videoUrl
+) {
+    public static QrAssetDto fromImage(byte[] imageByte) {
+        return new QrAssetDto(imageByte, null);
+    }
+}
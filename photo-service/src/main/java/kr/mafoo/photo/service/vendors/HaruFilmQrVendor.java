@@ -1,6 +1,6 @@
 package kr.mafoo.photo.service.vendors;
 
-import kr.mafoo.photo.exception.PhotoQrUrlExpiredException;
+import kr.mafoo.photo.service.dto.QrAssetDto;
 import kr.mafoo.photo.util.WebClientUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -14,16 +14,21 @@ public class HaruFilmQrVendor implements QrVendor {
 
     @Override
     public Mono<byte[]> extractImageFromQrUrl(String qrUrl) {
+        return extractAssetsFromQrUrl(qrUrl)
+                .map(QrAssetDto::imageByte);
+    }
+
+    @Override
+    public Mono<QrAssetDto> extractAssetsFromQrUrl(String qrUrl) {
         String[] urlValueList = qrUrl.split("/@");
         String albumCode = urlValueList[1];
 
         String baseUrl = urlValueList[0] + "/base_api?command=albumdn&albumCode=";
         String imageUrl = baseUrl + albumCode + "&type=photo&file_name=output.jpg&max=10&limit=+24%20hours";
-
-        // TODO : 추후 비디오 URL 추가 예정
-        // String videoUrl = baseUrl + albumCode + "&type=video&max=10&limit=+24 hours";
+        String videoUrl = baseUrl + albumCode + "&type=video&max=10&limit=+24%20hours";
 
         return WebClientUtil.getBlob(webClient, imageUrl)
-                .onErrorMap(e -> new PhotoQrUrlExpiredException());
+                .map(imageByte -> new QrAssetDto(imageByte, videoUrl))
+                .onErrorMap(QrVendor::mapVendorError);
     }
 }
@@ -1,6 +1,6 @@
 package kr.mafoo.photo.service.vendors;
 
-import kr.mafoo.photo.exception.PhotoQrUrlExpiredException;
+import kr.mafoo.photo.service.dto.QrAssetDto;
 import kr.mafoo.photo.util.WebClientUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -14,15 +14,21 @@ public class LifeFourCutsQrVendor implements QrVendor {
 
     @Override
     public Mono<byte[]> extractImageFromQrUrl(String qrUrl) {
+        return extractAssetsFromQrUrl(qrUrl)
+                .map(QrAssetDto::imageByte);
+    }
+
+    @Override
+    public Mono<QrAssetDto> extractAssetsFromQrUrl(String qrUrl) {
         return WebClientUtil.getRedirectUri(webClient, qrUrl)
                 .flatMap(redirectUri -> {
-                    String imageUrl = redirectUri.split("path=")[1].replace("index.html", "image.jpg");
-
-                    // TODO : 추후 비디오 URL 추가 예정
-                    // String videoUrl = redirectUri.toString().replace("index.html", "video.mp4");
+                    String resourceUrl = redirectUri.split("path=")[1];
+                    String imageUrl = resourceUrl.replace("index.html", "image.jpg");
+                    String videoUrl = resourceUrl.replace("index.html", "video.mp4");
 
-                    return WebClientUtil.getBlob(webClient, imageUrl);
+                    return WebClientUtil.getBlob(webClient, imageUrl)
+                            .map(imageByte -> new QrAssetDto(imageByte, videoUrl));
                 })
-                .onErrorMap(e -> new PhotoQrUrlExpiredException());
+                .onErrorMap(QrVendor::mapVendorError);
     }
 }
@@ -1,6 +1,5 @@
 package kr.mafoo.photo.service.vendors;
 
-import kr.mafoo.photo.exception.PhotoQrUrlExpiredException;
 import kr.mafoo.photo.util.WebClientUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -18,6 +17,6 @@ public class MafooQrVendor implements QrVendor {
     public Mono<byte[]> extractImageFromQrUrl(String qrUrl) {
         return WebClientUtil
                 .getBlobByAnyMediaType(webClient, sampleImageUrl) //just image url
-                .onErrorMap(e -> new PhotoQrUrlExpiredException());
+                .onErrorMap(QrVendor::mapVendorError);
     }
 }
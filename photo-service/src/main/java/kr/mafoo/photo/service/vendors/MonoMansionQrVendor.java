@@ -1,6 +1,5 @@
 package kr.mafoo.photo.service.vendors;
 
-import kr.mafoo.photo.exception.PhotoQrUrlExpiredException;
 import kr.mafoo.photo.util.WebClientUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -19,7 +18,7 @@ public class MonoMansionQrVendor implements QrVendor {
         String imageUrl = String.format("https://monomansion.net/api/download.php?qrcode=%s&type=P", qrCode);
         return WebClientUtil
                 .getBlob(webClient, imageUrl)
-                .onErrorMap(e -> new PhotoQrUrlExpiredException());
+                .onErrorMap(QrVendor::mapVendorError);
     }
 
     private String extractQrCodeFromUrl(String url) {
@@ -1,6 +1,5 @@
 package kr.mafoo.photo.service.vendors;
 
-import kr.mafoo.photo.exception.PhotoQrUrlExpiredException;
 import kr.mafoo.photo.util.WebClientUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -16,6 +15,6 @@ public class MyFourCutQrVendor implements QrVendor {
     public Mono<byte[]> extractImageFromQrUrl(String qrUrl) {
         return WebClientUtil
                 .getBlob(webClient, qrUrl) //just image url
-                .onErrorMap(e -> new PhotoQrUrlExpiredException());
+                .onErrorMap(QrVendor::mapVendorError);
     }
 }
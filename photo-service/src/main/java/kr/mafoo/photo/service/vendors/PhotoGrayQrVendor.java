@@ -1,6 +1,5 @@
 package kr.mafoo.photo.service.vendors;
 
-import kr.mafoo.photo.exception.PhotoQrUrlExpiredException;
 import kr.mafoo.photo.util.WebClientUtil;
 import lombok.RequiredArgsConstructor;
 import org.apache.http.client.utils.URLEncodedUtils;
@@ -28,7 +27,7 @@ public class PhotoGrayQrVendor implements QrVendor {
                     String imageUrl = String.format("https://pg-qr-resource.aprd.io/%s/image.jpg", sessionId);
                     return WebClientUtil.getBlob(webClient, imageUrl);
                 }) //https://pg-qr-resource.aprd.io/{sessionId}/image.jpg
-                .onErrorMap(e -> new PhotoQrUrlExpiredException());
+                .onErrorMap(QrVendor::mapVendorError);
     }
 
     private String extractIdFromUrl(String url) {
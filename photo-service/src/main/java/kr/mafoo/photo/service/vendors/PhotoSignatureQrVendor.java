@@ -1,6 +1,5 @@
 package kr.mafoo.photo.service.vendors;
 
-import kr.mafoo.photo.exception.PhotoQrUrlExpiredException;
 import kr.mafoo.photo.util.WebClientUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -17,6 +16,6 @@ public class PhotoSignatureQrVendor implements QrVendor {
         String imageUrl = qrUrl.replace("index.html", "a.jpg");
         return WebClientUtil
                 .getBlobByAnyMediaType(webClient, imageUrl)
-                .onErrorMap(e -> new PhotoQrUrlExpiredException());
+                .onErrorMap(QrVendor::mapVendorError);
     }
 }
@@ -1,6 +1,5 @@
 package kr.mafoo.photo.service.vendors;
 
-import kr.mafoo.photo.exception.PhotoQrUrlExpiredException;
 import kr.mafoo.photo.util.WebClientUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
@@ -40,7 +39,7 @@ public class PhotoismQrVendor implements QrVendor {
                 })
                 .onErrorMap(e -> {
                     e.printStackTrace();
-                    return new PhotoQrUrlExpiredException();
+                    return QrVendor.mapVendorError(e);
                 });
     }
 }
@@ -1,7 +1,36 @@
 package kr.mafoo.photo.service.vendors;
 
+import kr.mafoo.photo.exception.PhotoQrUrlExpiredException;
+import kr.mafoo.photo.service.dto.QrAssetDto;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
 
+import java.util.concurrent.TimeoutException;
+
 public interface QrVendor {
     Mono<byte[]> extractImageFromQrUrl(String qrUrl);
+
+    // 영상을 제공하는 브랜드는 사진과 함께 영상 URL을 반환하도록 재정의
+    default Mono<QrAssetDto> extractAssetsFromQrUrl(String qrUrl) {
+        return extractImageFromQrUrl(qrUrl)
+                .map(QrAssetDto::fromImage);
+    }
+
+    // 연결 실패, 타임아웃, 5xx/429 응답은 브랜드 서버의 일시적인 장애로 간주
+    static boolean isTransientError(Throwable e) {
+        if (e instanceof WebClientRequestException || e instanceof TimeoutException) {
+            return true;
+        }
+        if (e instanceof WebClientResponseException responseException) {
+            return responseException.getStatusCode().is5xxServerError()
+                    || responseException.getStatusCode().value() == 429;
+        }
+        return false;
+    }
+
+    // 일시적인 장애는 재시도와 서킷 브레이커가 처리하도록 그대로 전달하고, 나머지는 만료된 QR로 간주
+    static Throwable mapVendorError(Throwable e) {
+        return isTransientError(e) ? e : new PhotoQrUrlExpiredException();
+    }
 }
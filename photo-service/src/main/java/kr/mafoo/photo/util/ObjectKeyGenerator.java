@@ -0,0 +1,75 @@
+package kr.mafoo.photo.util;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+public class ObjectKeyGenerator {
+
+    // 영구 보관 원본, 원본에서 다시 만들 수 있는 변형, 수명 주기로 만료되는 리캡 산출물을 prefix로 구분
+    public static final String ORIGINAL_PREFIX = "original/";
+    public static final String DERIVATIVE_PREFIX = "derivative/";
+    public static final String EPHEMERAL_RECAP_PHOTO_PREFIX = "ephemeral/recap/photo/";
+    public static final String EPHEMERAL_RECAP_VIDEO_PREFIX = "ephemeral/recap/video/";
+
+    private static final DateTimeFormatter DATE_SHARD_FORMATTER = DateTimeFormatter.ofPattern("yyyy/MM/dd");
+
+    // 날짜 prefix와 시간순 ULID로 같은 시기에 업로드된 객체가 인접하도록 배치
+    public static String generateObjectId() {
+        return LocalDate.now(ZoneOffset.UTC).format(DATE_SHARD_FORMATTER) + "/" + IdGenerator.generate();
+    }
+
+    public static String generateHashObjectId(String hash) {
+        return "qr/" + hash;
+    }
+
+    public static String original(String objectId) {
+        return ORIGINAL_PREFIX + objectId + ".jpeg";
+    }
+
+    public static String derivative(String objectId, String variant) {
+        return DERIVATIVE_PREFIX + objectId + "_" + variant + ".jpeg";
+    }
+
+    public static boolean isOriginal(String keyName) {
+        return keyName.startsWith(ORIGINAL_PREFIX);
+    }
+
+    // 클라이언트가 직접 올린 원본은 확장자가 jpeg가 아닐 수 있으므로 원본 키의 확장자를 변형 키에 그대로 남김
+    // 변형은 화면 표시용이라 PNG 원본도 JPEG로 손실 압축하며, 무손실 원본은 원래 형식 그대로 보관됨
+    // original/ 밖의 키는 originalOfDerivative로 되돌릴 수 없어 정리 작업이 변형을 고아로 판단하므로 받지 않음
+    public static String derivativeOfOriginal(String originalKey, String variant) {
+        if (!isOriginal(originalKey)) {
+            throw new IllegalArgumentException("Derivative requires an original key: " + originalKey);
+        }
+        return DERIVATIVE_PREFIX + originalKey.substring(ORIGINAL_PREFIX.length()) + "_" + variant + ".jpeg";
+    }
+
+    public static String originalOfDerivative(String derivativeKey) {
+        String objectId = derivativeKey.substring(DERIVATIVE_PREFIX.length(), derivativeKey.lastIndexOf('_'));
+        if (objectId.lastIndexOf('.') > objectId.lastIndexOf('/')) {
+            return ORIGINAL_PREFIX + objectId;
+        }
+        return original(objectId);
+    }
+
+    public static String video() {
+        return ORIGINAL_PREFIX + "video/" + generateObjectId() + ".mp4";
+    }
+
+    public static String memberOriginalPrefix(String memberId) {
+        return ORIGINAL_PREFIX + "member/" + memberId + "/";
+    }
+
+    public static String memberOriginal(String memberId, String extension) {
+        return memberOriginalPrefix(memberId) + generateObjectId() + "." + extension;
+    }
+
+    public static String recapPhoto(String extension) {
+        return EPHEMERAL_RECAP_PHOTO_PREFIX + generateObjectId() + "." + extension;
+    }
+
+    public static String recapVideo(String fileName) {
+        return EPHEMERAL_RECAP_VIDEO_PREFIX + fileName;
+    }
+}
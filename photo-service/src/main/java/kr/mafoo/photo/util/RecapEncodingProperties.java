@@ -0,0 +1,40 @@
+package kr.mafoo.photo.util;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "recap.encoding")
+public class RecapEncodingProperties {
+
+    private List<Profile> profiles = new ArrayList<>();
+
+    // 대기 중인 인코딩 수가 기준 이상인 프로필 중 가장 높은 기준을 가진 프로필을 선택
+    public Profile selectProfile(int queueDepth) {
+        return profiles.stream()
+                .filter(profile -> profile.getMinQueueDepth() <= queueDepth)
+                .max(Comparator.comparingInt(Profile::getMinQueueDepth))
+                .orElseThrow(() -> new IllegalStateException("No recap encoding profile for queue depth " + queueDepth));
+    }
+
+    @Getter
+    @Setter
+    public static class Profile {
+        private String name;
+        private int minQueueDepth;
+        private String preset;
+        private int crf;
+        private int threads;
+        private String pixelFormat;
+        // 기본은 파이프로 스트리밍, true로 지정한 프로필만 작업 공간에 파일로 인코딩한 뒤 moov를 앞으로 옮겨 올림
+        private boolean faststart;
+    }
+}
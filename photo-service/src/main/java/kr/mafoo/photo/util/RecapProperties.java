@@ -14,28 +14,13 @@ public class RecapProperties {
     @Value("${recap.path.src}")
     private String srcPath;
 
-    public String getDownloadFilePath(String identifier, int index) {
-        return String.format("%s%s_download_%02d.png", tmpPath, identifier, index);
-    }
-
-    public String getPhotoFilePath(String identifier) {
-        return String.format("%s%s_photo_%%02d.png", tmpPath, identifier);
-    }
-
-    public String getPhotoFilePath(String identifier, int index) {
-        return String.format("%s%s_photo_%02d.png", tmpPath, identifier, index);
+    // 리캡마다 독립된 작업 공간을 두고 끝나면 디렉토리째 삭제
+    public String getWorkspacePath(String identifier) {
+        return String.format("%s%s", tmpPath, identifier);
     }
 
-    public String getVideoFilePath(String identifier) {
-        return String.format("%s%s_video.mp4", tmpPath, identifier);
-    }
-
-    public String getChipFilePath(String identifier) {
-        return String.format("%s%s_chip.png", tmpPath, identifier);
-    }
-
-    public String getFrameFilePath(String identifier) {
-        return String.format("%s%s_frame.png", tmpPath, identifier);
+    public String getDownloadFilePath(String identifier, int index) {
+        return String.format("%s%s/download_%02d.png", tmpPath, identifier, index);
     }
 
     public String getBackgroundPath(String identifier) {
@@ -0,0 +1,5 @@
+CREATE TABLE photo_object(
+    `hash` CHAR(64) PRIMARY KEY NOT NULL COMMENT '원본 SHA-256 해시',
+    `url` VARCHAR(255) NOT NULL COMMENT '저장된 오브젝트 url',
+    `created_at` TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,5 @@
+CREATE TABLE qr_import(
+    `idempotency_key` VARCHAR(128) PRIMARY KEY NOT NULL COMMENT '멱등성 키',
+    `photo_id` CHAR(26) NOT NULL COMMENT '사진아이디',
+    `created_at` TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
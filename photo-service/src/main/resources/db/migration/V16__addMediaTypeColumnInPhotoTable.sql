@@ -0,0 +1,2 @@
+ALTER TABLE `photo`
+    ADD `media_type` VARCHAR(255) NOT NULL DEFAULT 'IMAGE' COMMENT '미디어 타입' AFTER `brand`;
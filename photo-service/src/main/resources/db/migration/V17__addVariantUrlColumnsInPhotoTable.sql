@@ -0,0 +1,7 @@
+ALTER TABLE `photo`
+    ADD `thumbnail_url` VARCHAR(255) NULL COMMENT '썸네일 url' AFTER `url`,
+    ADD `medium_url` VARCHAR(255) NULL COMMENT '중간 크기 url' AFTER `thumbnail_url`;
+
+ALTER TABLE `photo_object`
+    ADD `thumbnail_url` VARCHAR(255) NULL COMMENT '썸네일 url' AFTER `url`,
+    ADD `medium_url` VARCHAR(255) NULL COMMENT '중간 크기 url' AFTER `thumbnail_url`;
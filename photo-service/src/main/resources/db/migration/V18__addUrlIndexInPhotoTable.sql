@@ -0,0 +1,2 @@
+CREATE INDEX `idx_photo_url` ON `photo`(`url`);
+CREATE INDEX `idx_photo_object_url` ON `photo_object`(`url`);
@@ -0,0 +1,9 @@
+CREATE TABLE object_tombstone(
+    `id` CHAR(26) PRIMARY KEY NOT NULL COMMENT '툼스톤아이디',
+    `url` VARCHAR(255) NOT NULL COMMENT '삭제할 오브젝트 url',
+    `reference_url` VARCHAR(255) NOT NULL COMMENT '참조 여부를 확인할 원본 url',
+    `attempt_count` INT NOT NULL DEFAULT 0 COMMENT '삭제 시도 횟수',
+    `next_attempt_at` TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '다음 삭제 시도 시각',
+    `created_at` TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    INDEX `object_tombstone_idx1` (`next_attempt_at`)
+);
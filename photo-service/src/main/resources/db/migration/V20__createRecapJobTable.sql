@@ -0,0 +1,19 @@
+CREATE TABLE recap_job(
+    `id` CHAR(26) PRIMARY KEY NOT NULL COMMENT '리캡작업아이디',
+    `album_id` CHAR(26) NOT NULL COMMENT '앨범아이디',
+    `member_id` CHAR(26) NOT NULL COMMENT '요청한 사용자아이디',
+    `member_name` VARCHAR(255) NOT NULL COMMENT '리캡에 표시할 사용자 이름',
+    `sort` VARCHAR(255) NULL COMMENT '사진 정렬 순서',
+    `status` VARCHAR(255) NOT NULL DEFAULT 'QUEUED' COMMENT '작업 상태',
+    `progress` INT NOT NULL DEFAULT 0 COMMENT '진행률(0~100)',
+    `recap_url` VARCHAR(255) NULL COMMENT '생성된 리캡 url',
+    `claim_id` CHAR(26) NULL COMMENT '작업을 가져간 워커의 claim 아이디',
+    `attempt_count` INT NOT NULL DEFAULT 0 COMMENT '실행 시도 횟수',
+    `started_at` TIMESTAMP NULL COMMENT '마지막 실행 시작 시각',
+    `heartbeat_at` TIMESTAMP NULL COMMENT '실행 중인 워커의 마지막 진행 보고 시각',
+    `finished_at` TIMESTAMP NULL COMMENT '작업 종료 시각',
+    `created_at` TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    INDEX `recap_job_idx1` (`status`, `created_at`),
+    INDEX `recap_job_idx2` (`member_id`, `status`),
+    INDEX `recap_job_idx3` (`claim_id`)
+);
@@ -0,0 +1,9 @@
+CREATE TABLE recap(
+    `id` CHAR(26) PRIMARY KEY NOT NULL COMMENT '리캡아이디',
+    `album_id` CHAR(26) NOT NULL COMMENT '앨범아이디',
+    `fingerprint` CHAR(64) NOT NULL COMMENT '리캡에 사용된 사진 목록, 정렬, 표시 내용의 SHA-256 해시',
+    `recap_url` VARCHAR(255) NOT NULL COMMENT '생성된 리캡 url',
+    `created_at` TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE INDEX `recap_uk1` (`album_id`, `fingerprint`),
+    INDEX `recap_idx1` (`created_at`)
+);
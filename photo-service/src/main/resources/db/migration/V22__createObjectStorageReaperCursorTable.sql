@@ -0,0 +1,9 @@
+CREATE TABLE object_storage_reaper_cursor(
+    `id` INT PRIMARY KEY NOT NULL COMMENT '커서아이디',
+    `prefix_index` INT NOT NULL DEFAULT 0 COMMENT '확인 중인 prefix 순번',
+    `continuation_token` VARCHAR(1024) NULL COMMENT '다음에 확인할 페이지의 continuation token',
+    `version` BIGINT NOT NULL DEFAULT 0 COMMENT '같은 페이지를 여러 인스턴스가 가져가지 않도록 비교하는 버전',
+    `updated_at` TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
+INSERT INTO object_storage_reaper_cursor(`id`) VALUES (1);
@@ -0,0 +1,4 @@
+ALTER TABLE `object_tombstone`
+    ADD `status` VARCHAR(255) NOT NULL DEFAULT 'PENDING' COMMENT '삭제 상태' AFTER `reference_url`,
+    DROP INDEX `object_tombstone_idx1`,
+    ADD INDEX `object_tombstone_idx1` (`status`, `next_attempt_at`);
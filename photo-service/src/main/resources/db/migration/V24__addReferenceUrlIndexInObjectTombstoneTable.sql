@@ -0,0 +1,2 @@
+ALTER TABLE `object_tombstone`
+    ADD INDEX `object_tombstone_idx2` (`reference_url`);
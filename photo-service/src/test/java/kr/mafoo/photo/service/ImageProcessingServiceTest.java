@@ -0,0 +1,173 @@
+package kr.mafoo.photo.service;
+
+import kr.mafoo.photo.service.dto.NormalizedImageDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.scheduler.Schedulers;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageProcessingServiceTest {
+
+    // 왼쪽 절반은 빨간색, 오른쪽 절반은 파란색인 가로 이미지
+    private static final int WIDTH = 80;
+    private static final int HEIGHT = 40;
+
+    private ImageProcessingService imageProcessingService;
+
+    @BeforeEach
+    void setUp() {
+        imageProcessingService = new ImageProcessingService(Schedulers.immediate());
+        ReflectionTestUtils.setField(imageProcessingService, "thumbnailWidth", 20);
+        ReflectionTestUtils.setField(imageProcessingService, "mediumWidth", 40);
+        ReflectionTestUtils.setField(imageProcessingService, "variantQuality", 0.9f);
+    }
+
+    @Test
+    void keepsOriginalBytesWithoutExifWhenNoRotationIsNeeded() throws IOException {
+        byte[] jpeg = withExifOrientation(halfRedHalfBlueJpeg(), 1, ByteOrder.BIG_ENDIAN);
+
+        NormalizedImageDto normalized = imageProcessingService.normalize(jpeg).block();
+
+        assertThat(normalized.originalByte()).isEqualTo(halfRedHalfBlueJpeg());
+        BufferedImage original = decode(normalized.originalByte());
+        assertThat(original.getWidth()).isEqualTo(WIDTH);
+        assertThat(original.getHeight()).isEqualTo(HEIGHT);
+    }
+
+    // 6: 시계 방향 90도, 왼쪽(빨강)이 위로 감
+    @ParameterizedTest
+    @ValueSource(strings = {"BIG_ENDIAN", "LITTLE_ENDIAN"})
+    void rotatesClockwiseForOrientationSix(String byteOrder) throws IOException {
+        byte[] jpeg = withExifOrientation(halfRedHalfBlueJpeg(), 6, toByteOrder(byteOrder));
+
+        BufferedImage original = decode(imageProcessingService.normalize(jpeg).block().originalByte());
+
+        assertThat(original.getWidth()).isEqualTo(HEIGHT);
+        assertThat(original.getHeight()).isEqualTo(WIDTH);
+        assertThat(isRed(original.getRGB(HEIGHT / 2, WIDTH / 4))).isTrue();
+        assertThat(isBlue(original.getRGB(HEIGHT / 2, WIDTH * 3 / 4))).isTrue();
+    }
+
+    // 8: 반시계 방향 90도, 왼쪽(빨강)이 아래로 감
+    @Test
+    void rotatesCounterClockwiseForOrientationEight() throws IOException {
+        byte[] jpeg = withExifOrientation(halfRedHalfBlueJpeg(), 8, ByteOrder.BIG_ENDIAN);
+
+        BufferedImage original = decode(imageProcessingService.normalize(jpeg).block().originalByte());
+
+        assertThat(original.getWidth()).isEqualTo(HEIGHT);
+        assertThat(original.getHeight()).isEqualTo(WIDTH);
+        assertThat(isBlue(original.getRGB(HEIGHT / 2, WIDTH / 4))).isTrue();
+        assertThat(isRed(original.getRGB(HEIGHT / 2, WIDTH * 3 / 4))).isTrue();
+    }
+
+    // 3: 180도, 왼쪽(빨강)이 오른쪽으로 감
+    @Test
+    void rotatesHalfTurnForOrientationThree() throws IOException {
+        byte[] jpeg = withExifOrientation(halfRedHalfBlueJpeg(), 3, ByteOrder.BIG_ENDIAN);
+
+        BufferedImage original = decode(imageProcessingService.normalize(jpeg).block().originalByte());
+
+        assertThat(original.getWidth()).isEqualTo(WIDTH);
+        assertThat(isBlue(original.getRGB(WIDTH / 4, HEIGHT / 2))).isTrue();
+        assertThat(isRed(original.getRGB(WIDTH * 3 / 4, HEIGHT / 2))).isTrue();
+    }
+
+    @Test
+    void rendersVariantsInDisplayOrientation() throws IOException {
+        byte[] jpeg = withExifOrientation(halfRedHalfBlueJpeg(), 6, ByteOrder.BIG_ENDIAN);
+
+        NormalizedImageDto normalized = imageProcessingService.normalize(jpeg).block();
+
+        BufferedImage thumbnail = decode(normalized.thumbnailByte());
+        assertThat(thumbnail.getWidth()).isEqualTo(20);
+        assertThat(thumbnail.getHeight()).isEqualTo(40);
+        assertThat(isRed(thumbnail.getRGB(10, 10))).isTrue();
+    }
+
+    // 세그먼트 밖을 가리키는 EXIF는 회전 없이 처리
+    @Test
+    void ignoresMalformedExifSegment() throws IOException {
+        byte[] jpeg = withExifOrientation(halfRedHalfBlueJpeg(), 6, ByteOrder.BIG_ENDIAN);
+        // SOI(2) + APP1 헤더(4) + "Exif\0\0"(6) 뒤의 TIFF 헤더에서 IFD 오프셋의 첫 바이트
+        jpeg[2 + 4 + 6 + 4] = 0x7F;
+
+        BufferedImage original = decode(imageProcessingService.normalize(jpeg).block().originalByte());
+
+        assertThat(original.getWidth()).isEqualTo(WIDTH);
+        assertThat(original.getHeight()).isEqualTo(HEIGHT);
+    }
+
+    private static byte[] halfRedHalfBlueJpeg() throws IOException {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setColor(Color.RED);
+        g2d.fillRect(0, 0, WIDTH / 2, HEIGHT);
+        g2d.setColor(Color.BLUE);
+        g2d.fillRect(WIDTH / 2, 0, WIDTH / 2, HEIGHT);
+        g2d.dispose();
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpeg", outputStream);
+        return outputStream.toByteArray();
+    }
+
+    // SOI 바로 뒤에 Orientation 태그 하나만 담은 APP1(Exif) 세그먼트를 삽입
+    private static byte[] withExifOrientation(byte[] jpeg, int orientation, ByteOrder byteOrder) {
+        ByteBuffer tiff = ByteBuffer.allocate(26).order(byteOrder);
+        tiff.put(byteOrder == ByteOrder.LITTLE_ENDIAN ? (byte) 'I' : (byte) 'M');
+        tiff.put(byteOrder == ByteOrder.LITTLE_ENDIAN ? (byte) 'I' : (byte) 'M');
+        tiff.putShort((short) 42);
+        tiff.putInt(8);
+        tiff.putShort((short) 1);
+        tiff.putShort((short) 0x0112);
+        tiff.putShort((short) 3);
+        tiff.putInt(1);
+        tiff.putShort((short) orientation);
+        tiff.putShort((short) 0);
+        tiff.putInt(0);
+
+        int segmentLength = 2 + 6 + tiff.capacity();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        outputStream.write(jpeg, 0, 2);
+        outputStream.write(0xFF);
+        outputStream.write(0xE1);
+        outputStream.write(segmentLength >> 8);
+        outputStream.write(segmentLength & 0xFF);
+        outputStream.writeBytes(new byte[]{'E', 'x', 'i', 'f', 0, 0});
+        outputStream.writeBytes(tiff.array());
+        outputStream.write(jpeg, 2, jpeg.length - 2);
+        return outputStream.toByteArray();
+    }
+
+    private static ByteOrder toByteOrder(String name) {
+        return "LITTLE_ENDIAN".equals(name) ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+    }
+
+    private static BufferedImage decode(byte[] bytes) throws IOException {
+        return ImageIO.read(new ByteArrayInputStream(bytes));
+    }
+
+    private static boolean isRed(int rgb) {
+        Color color = new Color(rgb);
+        return color.getRed() > 200 && color.getBlue() < 60;
+    }
+
+    private static boolean isBlue(int rgb) {
+        Color color = new Color(rgb);
+        return color.getBlue() > 200 && color.getRed() < 60;
+    }
+}
@@ -0,0 +1,52 @@
+package kr.mafoo.photo.service;
+
+import com.amazonaws.SdkClientException;
+import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import kr.mafoo.photo.util.RecapProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ObjectStorageServiceTest {
+
+    private final AmazonS3Client amazonS3Client = mock(AmazonS3Client.class);
+    private final ObjectStorageService objectStorageService = new ObjectStorageService(
+            amazonS3Client, null, null, new RecapProperties(), WebClient.create(), Schedulers.immediate());
+
+    // 업로드를 시작하지 못해도 ffmpeg stdout을 닫아야 인코더가 stdin 쓰기에서 멈추지 않음
+    @Test
+    void closesRecapStreamWhenInitiatingUploadFails() {
+        ReflectionTestUtils.setField(objectStorageService, "bucketName", "mafoo");
+        when(amazonS3Client.initiateMultipartUpload(any(InitiateMultipartUploadRequest.class)))
+                .thenThrow(new SdkClientException("Unable to execute HTTP request"));
+        AtomicBoolean closed = new AtomicBoolean();
+        ByteArrayInputStream recapStream = new ByteArrayInputStream(new byte[1024]) {
+            @Override
+            public void close() throws IOException {
+                closed.set(true);
+                super.close();
+            }
+        };
+
+        StepVerifier.create(objectStorageService.uploadRecapVideo("recap", recapStream))
+                .expectError(SdkClientException.class)
+                .verify();
+
+        assertThat(closed).isTrue();
+        verify(amazonS3Client, never()).abortMultipartUpload(any());
+    }
+}
@@ -0,0 +1,84 @@
+package kr.mafoo.photo.service;
+
+import kr.mafoo.photo.domain.AlbumEntity;
+import kr.mafoo.photo.domain.PhotoEntity;
+import kr.mafoo.photo.domain.enums.AlbumType;
+import kr.mafoo.photo.domain.enums.BrandType;
+import kr.mafoo.photo.exception.PhotoUploadKeyNotValidException;
+import kr.mafoo.photo.service.dto.PhotoUrlDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Optional;
+
+import static kr.mafoo.photo.domain.enums.PermissionLevel.FULL_ACCESS;
+import static kr.mafoo.photo.support.PhotoServiceBuilder.photoService;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PhotoServiceBulkUploadTest {
+
+    private static final String MEMBER_ID = "member";
+    private static final String ALBUM_ID = "album";
+
+    private final ObjectStorageService objectStorageService = mock(ObjectStorageService.class);
+    private final AlbumPermissionVerifier albumPermissionVerifier = mock(AlbumPermissionVerifier.class);
+    private final PhotoObjectService photoObjectService = mock(PhotoObjectService.class);
+    private final PhotoCommand photoCommand = mock(PhotoCommand.class);
+    private final AlbumCommand albumCommand = mock(AlbumCommand.class);
+    private final PhotoService photoService = photoService()
+            .objectStorageService(objectStorageService)
+            .albumPermissionVerifier(albumPermissionVerifier)
+            .photoObjectService(photoObjectService)
+            .photoCommand(photoCommand)
+            .albumCommand(albumCommand)
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        when(albumPermissionVerifier.verifyOwnershipOrAccessPermission(ALBUM_ID, MEMBER_ID, FULL_ACCESS))
+                .thenReturn(Mono.just(AlbumEntity.newAlbum(ALBUM_ID, "album", AlbumType.HEART, MEMBER_ID, null)));
+    }
+
+    // 발급한 PUT url이 공개 권한을 서명에 담고 있으므로 등록 시 HEAD만 하고 ACL은 바꾸지 않음
+    @Test
+    void registersOwnUploadWithoutChangingAcl() {
+        String keyName = "original/member/" + MEMBER_ID + "/photo.jpeg";
+        String fileUrl = "https://kr.object.ncloudstorage.com/mafoo/" + keyName;
+        PhotoUrlDto photoUrls = new PhotoUrlDto(fileUrl, fileUrl + "_thumbnail", fileUrl + "_medium");
+        when(objectStorageService.extractKeyName(fileUrl)).thenReturn(Optional.of(keyName));
+        when(objectStorageService.findUploadedObjectLink(keyName)).thenReturn(Mono.just(fileUrl));
+        when(photoObjectService.uploadVariantsOfUploadedImage(fileUrl)).thenReturn(Mono.just(photoUrls));
+        when(photoCommand.addPhoto(eq(photoUrls), eq(BrandType.EXTERNAL), eq(ALBUM_ID), anyInt(), eq(MEMBER_ID)))
+                .thenReturn(Mono.just(PhotoEntity.newPhoto("photo", fileUrl, BrandType.EXTERNAL, ALBUM_ID, 0, MEMBER_ID)));
+        when(albumCommand.increaseAlbumPhotoCount(any(), eq(1))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(photoService.addPhotoBulkWithFileUrls(new String[]{fileUrl}, ALBUM_ID, MEMBER_ID))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(objectStorageService, never()).setObjectPublicReadByKey(anyString());
+    }
+
+    // 버킷 안의 다른 회원 객체는 존재 확인이나 권한 변경 전에 거부
+    @Test
+    void rejectsFileUrlOutsideRequestMemberUploadPath() {
+        String fileUrl = "https://kr.object.ncloudstorage.com/mafoo/original/member/other/photo.jpeg";
+        when(objectStorageService.extractKeyName(fileUrl)).thenReturn(Optional.of("original/member/other/photo.jpeg"));
+
+        StepVerifier.create(photoService.addPhotoBulkWithFileUrls(new String[]{fileUrl}, ALBUM_ID, MEMBER_ID))
+                .expectError(PhotoUploadKeyNotValidException.class)
+                .verify();
+
+        verify(objectStorageService, never()).findUploadedObjectLink(anyString());
+        verify(objectStorageService, never()).setObjectPublicReadByKey(anyString());
+    }
+}
@@ -0,0 +1,161 @@
+package kr.mafoo.photo.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kr.mafoo.photo.domain.PhotoEntity;
+import kr.mafoo.photo.domain.QrImportEntity;
+import kr.mafoo.photo.domain.enums.BrandType;
+import kr.mafoo.photo.exception.PhotoBrandNotExistsException;
+import kr.mafoo.photo.exception.PhotoQrImportInProgressException;
+import kr.mafoo.photo.repository.PhotoRepository;
+import kr.mafoo.photo.repository.QrImportRepository;
+import kr.mafoo.photo.service.dto.FileDto;
+import kr.mafoo.photo.service.dto.PhotoUrlDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static kr.mafoo.photo.support.PhotoServiceBuilder.photoService;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 같은 멱등 키로 동시에 들어온 QR 가져오기가 하나의 사진으로 수렴하는지 확인
+// 저장소는 커밋된 행을 맵으로 흉내 내고, 일반 조회는 두 요청이 시작할 때의 스냅샷처럼 항상 비어 있게 둠
+class PhotoServiceQrImportTest {
+
+    private static final String QR_URL = "https://qr.example.com/photo";
+    private static final String MEMBER_ID = "member";
+    private static final String IDEMPOTENCY_KEY = "retry-1";
+
+    private final Map<String, QrImportEntity> committedQrImports = new ConcurrentHashMap<>();
+    private final Map<String, PhotoEntity> committedPhotos = new ConcurrentHashMap<>();
+    private final AtomicInteger photoIds = new AtomicInteger();
+
+    private final QrService qrService = mock(QrService.class);
+    private final PhotoCommand photoCommand = mock(PhotoCommand.class);
+    private final QrImportRepository qrImportRepository = mock(QrImportRepository.class);
+    private final PhotoRepository photoRepository = mock(PhotoRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PhotoService photoService;
+
+    @BeforeEach
+    void setUp() {
+        PhotoObjectService photoObjectService = mock(PhotoObjectService.class);
+        when(photoObjectService.findOrUploadPhotoObject(any()))
+                .thenReturn(Mono.just(new PhotoUrlDto("https://storage/original", "https://storage/thumbnail", "https://storage/medium")));
+
+        when(photoCommand.addPhotoWithoutOwnerAndAlbum(any(), any())).thenAnswer(invocation -> Mono.fromCallable(() -> {
+            PhotoEntity photo = PhotoEntity.newPhoto("photo-" + photoIds.incrementAndGet(), "https://storage/original", BrandType.MAFOO, null, 0, null);
+            committedPhotos.put(photo.getPhotoId(), photo);
+            return photo;
+        }));
+        when(photoCommand.removePhoto(any())).thenAnswer(invocation -> Mono.fromRunnable(
+                () -> committedPhotos.remove(invocation.<PhotoEntity>getArgument(0).getPhotoId())));
+
+        when(qrImportRepository.findById(anyString())).thenReturn(Mono.empty());
+        when(qrImportRepository.save(any(QrImportEntity.class))).thenAnswer(invocation -> Mono.defer(() -> {
+            QrImportEntity qrImport = invocation.getArgument(0);
+            return committedQrImports.putIfAbsent(qrImport.getIdempotencyKey(), qrImport) == null
+                    ? Mono.just(qrImport)
+                    : Mono.error(new DuplicateKeyException("Duplicate entry for qr_import"));
+        }));
+        when(qrImportRepository.findByIdForShare(anyString()))
+                .thenAnswer(invocation -> Mono.justOrEmpty(committedQrImports.get(invocation.<String>getArgument(0))));
+        when(qrImportRepository.delete(any(QrImportEntity.class))).thenAnswer(invocation -> Mono.fromRunnable(
+                () -> committedQrImports.remove(invocation.<QrImportEntity>getArgument(0).getIdempotencyKey())));
+        when(photoRepository.findByIdForShare(anyString()))
+                .thenAnswer(invocation -> Mono.justOrEmpty(committedPhotos.get(invocation.<String>getArgument(0))));
+
+        photoService = photoService()
+                .qrService(qrService)
+                .photoCommand(photoCommand)
+                .photoObjectService(photoObjectService)
+                .qrImportRepository(qrImportRepository)
+                .photoRepository(photoRepository)
+                .meterRegistry(meterRegistry)
+                .build();
+    }
+
+    @Test
+    void concurrentImportsWithSameKeyReturnTheFirstCommittedPhoto() {
+        // 두 요청 모두 기록이 없는 것을 확인한 뒤에 가져오기를 시작하도록 맞춤
+        CyclicBarrier bothMissedRecord = new CyclicBarrier(2);
+        when(qrService.getFileFromQrUrl(QR_URL)).thenAnswer(invocation -> Mono.fromCallable(() -> {
+            bothMissedRecord.await(5, TimeUnit.SECONDS);
+            return new FileDto(BrandType.MAFOO, new byte[0], "hash", null);
+        }));
+
+        Mono<PhotoEntity> first = photoService.addPhotoWithQrUrl(QR_URL, MEMBER_ID, IDEMPOTENCY_KEY).subscribeOn(Schedulers.boundedElastic());
+        Mono<PhotoEntity> second = photoService.addPhotoWithQrUrl(QR_URL, MEMBER_ID, IDEMPOTENCY_KEY).subscribeOn(Schedulers.boundedElastic());
+
+        StepVerifier.create(Mono.zip(first, second))
+                .assertNext(photos -> {
+                    String winnerPhotoId = committedQrImports.get(MEMBER_ID + ":" + IDEMPOTENCY_KEY).getPhotoId();
+                    assertThat(photos.getT1().getPhotoId()).isEqualTo(winnerPhotoId);
+                    assertThat(photos.getT2().getPhotoId()).isEqualTo(winnerPhotoId);
+                })
+                .expectComplete()
+                .verify(Duration.ofSeconds(10));
+
+        verify(photoCommand, times(1)).removePhoto(any());
+        assertThat(committedPhotos).containsOnlyKeys(committedQrImports.get(MEMBER_ID + ":" + IDEMPOTENCY_KEY).getPhotoId());
+    }
+
+    // 브랜드 판별은 구독 전에 바로 던지므로, 타이머가 먼저 시작되어야 결과가 기록됨
+    @Test
+    void recordsUnsupportedBrandThrownWhileAssemblingImport() {
+        when(qrService.getFileFromQrUrl(QR_URL)).thenThrow(new PhotoBrandNotExistsException());
+
+        StepVerifier.create(photoService.addPhotoWithQrUrl(QR_URL, MEMBER_ID, null))
+                .expectError(PhotoBrandNotExistsException.class)
+                .verify();
+
+        assertThat(meterRegistry.get("photo.qr.import").tag("outcome", "UNSUPPORTED_BRAND").timer().count()).isEqualTo(1);
+    }
+
+    // 이미 가져온 사진을 돌려준 재시도는 가져오기 성공과 따로 기록
+    @Test
+    void recordsIdempotentReplayApartFromImports() {
+        PhotoEntity photo = PhotoEntity.newPhoto("photo-1", "https://storage/original", BrandType.MAFOO, null, 0, null);
+        committedPhotos.put(photo.getPhotoId(), photo);
+        when(qrImportRepository.findById(MEMBER_ID + ":" + IDEMPOTENCY_KEY))
+                .thenReturn(Mono.just(QrImportEntity.newQrImport(MEMBER_ID + ":" + IDEMPOTENCY_KEY, photo.getPhotoId())));
+        when(photoRepository.findById(photo.getPhotoId())).thenReturn(Mono.just(photo));
+
+        StepVerifier.create(photoService.addPhotoWithQrUrl(QR_URL, MEMBER_ID, IDEMPOTENCY_KEY))
+                .expectNext(photo)
+                .verifyComplete();
+
+        assertThat(meterRegistry.get("photo.qr.import").tag("outcome", "REPLAYED").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("photo.qr.import").tag("outcome", "SUCCESS").timer()).isNull();
+        verify(qrService, never()).getFileFromQrUrl(anyString());
+    }
+
+    // 먼저 저장된 사진이 그새 삭제됐으면 빈 성공 대신 재시도할 수 있는 오류로 응답하고 기록을 지움
+    @Test
+    void failsInsteadOfEmptySuccessWhenFirstCommittedPhotoIsGone() {
+        committedQrImports.put(MEMBER_ID + ":" + IDEMPOTENCY_KEY, QrImportEntity.newQrImport(MEMBER_ID + ":" + IDEMPOTENCY_KEY, "deleted-photo"));
+        when(qrService.getFileFromQrUrl(QR_URL)).thenReturn(Mono.just(new FileDto(BrandType.MAFOO, new byte[0], "hash", null)));
+
+        StepVerifier.create(photoService.addPhotoWithQrUrl(QR_URL, MEMBER_ID, IDEMPOTENCY_KEY))
+                .expectError(PhotoQrImportInProgressException.class)
+                .verify();
+
+        assertThat(committedQrImports).isEmpty();
+    }
+}
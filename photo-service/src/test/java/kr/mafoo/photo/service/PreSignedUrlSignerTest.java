@@ -0,0 +1,158 @@
+package kr.mafoo.photo.service;
+
+import kr.mafoo.photo.service.dto.PreSignedPostDto;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 서명 결과를 SigV4 문서의 canonical request 형식대로 테스트에서 따로 계산한 값과 비교
+class PreSignedUrlSignerTest {
+
+    private static final String ACCESS_KEY = "AKIDEXAMPLE";
+    private static final String SECRET_KEY = "wJalrXUtnFEMI/K7MDENG+bPxRfiCYEXAMPLEKEY";
+    private static final String REGION = "kr-standard";
+    private static final String BUCKET = "mafoo";
+    private static final String HOST = "mafoo.kr.object.ncloudstorage.com";
+
+    private final PreSignedUrlSigner signer = new PreSignedUrlSigner(
+            ACCESS_KEY, SECRET_KEY, REGION, "https://kr.object.ncloudstorage.com", BUCKET);
+
+    @Test
+    void signsPutUrlWithCanonicalQueryInSortedOrder() {
+        URI url = URI.create(signer.signPutUrls(List.of("original/member/m1/photo.jpg"), 1800).get(0));
+        String amzDate = queryParam(url, "X-Amz-Date");
+        String date = amzDate.substring(0, 8);
+
+        assertThat(url.getHost()).isEqualTo(HOST);
+        assertThat(url.getRawPath()).isEqualTo("/original/member/m1/photo.jpg");
+        assertThat(url.getRawQuery()).startsWith("X-Amz-Algorithm=AWS4-HMAC-SHA256"
+                + "&X-Amz-Credential=AKIDEXAMPLE%2F" + date + "%2Fkr-standard%2Fs3%2Faws4_request"
+                + "&X-Amz-Date=" + amzDate
+                + "&X-Amz-Expires=1800"
+                + "&X-Amz-SignedHeaders=host"
+                + "&x-amz-acl=public-read"
+                + "&X-Amz-Signature=");
+    }
+
+    @Test
+    void signatureMatchesIndependentlyComputedCanonicalRequest() {
+        URI url = URI.create(signer.signPutUrls(List.of("original/member/m1/photo.jpg"), 1800).get(0));
+        String amzDate = queryParam(url, "X-Amz-Date");
+        String date = amzDate.substring(0, 8);
+
+        String canonicalRequest = String.join("\n",
+                "PUT",
+                "/original/member/m1/photo.jpg",
+                "X-Amz-Algorithm=AWS4-HMAC-SHA256"
+                        + "&X-Amz-Credential=AKIDEXAMPLE%2F" + date + "%2Fkr-standard%2Fs3%2Faws4_request"
+                        + "&X-Amz-Date=" + amzDate
+                        + "&X-Amz-Expires=1800"
+                        + "&X-Amz-SignedHeaders=host"
+                        + "&x-amz-acl=public-read",
+                "host:" + HOST,
+                "",
+                "host",
+                "UNSIGNED-PAYLOAD");
+
+        assertThat(queryParam(url, "X-Amz-Signature")).isEqualTo(expectedSignature(date, amzDate, canonicalRequest));
+    }
+
+    // 공백, '+', 한글은 퍼센트 인코딩하고 경로 구분자 '/'와 unreserved 문자는 그대로 유지
+    @Test
+    void encodesObjectKeyPerRfc3986ExceptSlash() {
+        String keyName = "original/member/m1/내 사진+1~(a).jpg";
+        URI url = URI.create(signer.signPutUrls(List.of(keyName), 1800).get(0));
+        String amzDate = queryParam(url, "X-Amz-Date");
+        String date = amzDate.substring(0, 8);
+        String encodedPath = "/original/member/m1/%EB%82%B4%20%EC%82%AC%EC%A7%84%2B1~%28a%29.jpg";
+
+        assertThat(url.getRawPath()).isEqualTo(encodedPath);
+
+        String canonicalRequest = "PUT\n" + encodedPath + "\n" + url.getRawQuery().substring(0, url.getRawQuery().indexOf("&X-Amz-Signature="))
+                + "\nhost:" + HOST + "\n\nhost\nUNSIGNED-PAYLOAD";
+        assertThat(queryParam(url, "X-Amz-Signature")).isEqualTo(expectedSignature(date, amzDate, canonicalRequest));
+    }
+
+    @Test
+    void signsEachKeyOfBatchSeparately() {
+        List<String> urls = signer.signPutUrls(List.of("original/a.jpg", "original/b.jpg"), 60);
+
+        assertThat(urls).hasSize(2);
+        assertThat(queryParam(URI.create(urls.get(0)), "X-Amz-Signature"))
+                .isNotEqualTo(queryParam(URI.create(urls.get(1)), "X-Amz-Signature"));
+    }
+
+    @Test
+    void signsPostPolicyWithDerivedSigningKey() {
+        Map<String, String> contentTypeByKeyName = new LinkedHashMap<>();
+        contentTypeByKeyName.put("original/member/m1/photo.png", "image/png");
+
+        PreSignedPostDto post = signer.signPostPolicies(contentTypeByKeyName, 10485760, 1800).get(0);
+        Map<String, String> fields = post.fields();
+        String amzDate = fields.get("x-amz-date");
+        String date = amzDate.substring(0, 8);
+        String policy = new String(Base64.getDecoder().decode(fields.get("policy")), StandardCharsets.UTF_8);
+
+        assertThat(post.url()).isEqualTo("https://" + HOST + "/");
+        assertThat(fields.get("x-amz-credential")).isEqualTo(ACCESS_KEY + "/" + date + "/kr-standard/s3/aws4_request");
+        assertThat(policy)
+                .contains("{\"bucket\":\"mafoo\"}")
+                .contains("{\"key\":\"original/member/m1/photo.png\"}")
+                .contains("{\"Content-Type\":\"image/png\"}")
+                .contains("[\"content-length-range\",1,10485760]");
+        assertThat(fields.get("x-amz-signature"))
+                .isEqualTo(HexFormat.of().formatHex(hmac(signingKey(date), fields.get("policy"))));
+    }
+
+    private static String expectedSignature(String date, String amzDate, String canonicalRequest) {
+        String stringToSign = "AWS4-HMAC-SHA256\n" + amzDate + "\n" + date + "/kr-standard/s3/aws4_request\n"
+                + HexFormat.of().formatHex(sha256(canonicalRequest));
+        return HexFormat.of().formatHex(hmac(signingKey(date), stringToSign));
+    }
+
+    private static byte[] signingKey(String date) {
+        byte[] dateKey = hmac(("AWS4" + SECRET_KEY).getBytes(StandardCharsets.UTF_8), date);
+        byte[] regionKey = hmac(dateKey, REGION);
+        byte[] serviceKey = hmac(regionKey, "s3");
+        return hmac(serviceKey, "aws4_request");
+    }
+
+    private static byte[] hmac(byte[] key, String data) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] sha256(String data) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(data.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String queryParam(URI url, String name) {
+        for (String param : url.getRawQuery().split("&")) {
+            if (param.startsWith(name + "=")) {
+                return param.substring(name.length() + 1);
+            }
+        }
+        throw new AssertionError("Missing query parameter: " + name);
+    }
+}
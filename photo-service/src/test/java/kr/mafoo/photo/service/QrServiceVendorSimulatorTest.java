@@ -0,0 +1,67 @@
+package kr.mafoo.photo.service;
+
+import kr.mafoo.photo.domain.enums.BrandType;
+import kr.mafoo.photo.exception.PhotoQrUrlExpiredException;
+import kr.mafoo.photo.exception.PhotoQrVendorUnavailableException;
+import kr.mafoo.photo.support.VendorSimulator;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QrServiceVendorSimulatorTest {
+
+    private static VendorSimulator vendorSimulator;
+    private static QrService qrService;
+
+    @BeforeAll
+    static void startSimulator() throws IOException {
+        vendorSimulator = VendorSimulator.start();
+        qrService = vendorSimulator.qrService();
+    }
+
+    @AfterAll
+    static void stopSimulator() throws IOException {
+        vendorSimulator.close();
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BrandType.class, names = "EXTERNAL", mode = EnumSource.Mode.EXCLUDE)
+    void importsImageFromRecordedVendorResponses(BrandType brandType) {
+        String qrUrl = vendorSimulator.recording(brandType).validQrUrl();
+
+        StepVerifier.create(qrService.getFileFromQrUrl(qrUrl))
+                .assertNext(fileDto -> {
+                    assertThat(fileDto.type()).isEqualTo(brandType);
+                    assertThat(fileDto.fileByte()).isEqualTo(vendorSimulator.sampleImage());
+                    assertThat(fileDto.hash()).hasSize(64);
+                })
+                .verifyComplete();
+    }
+
+    // 마푸 샘플 QR은 항상 같은 이미지를 돌려주므로 만료 페이지가 없음
+    @ParameterizedTest
+    @EnumSource(value = BrandType.class, names = {"EXTERNAL", "MAFOO"}, mode = EnumSource.Mode.EXCLUDE)
+    void mapsRecordedExpiryResponsesToExpiredQr(BrandType brandType) {
+        String qrUrl = vendorSimulator.recording(brandType).expiredQrUrl();
+
+        StepVerifier.create(qrService.getFileFromQrUrl(qrUrl))
+                .expectError(PhotoQrUrlExpiredException.class)
+                .verify();
+    }
+
+    @Test
+    void reportsVendorUnavailableWhenRecordedOutagePersistsAfterRetries() {
+        String qrUrl = vendorSimulator.recording(BrandType.MY_FOUR_CUT).unavailableQrUrl();
+
+        StepVerifier.create(qrService.getFileFromQrUrl(qrUrl))
+                .expectError(PhotoQrVendorUnavailableException.class)
+                .verify();
+    }
+}
@@ -0,0 +1,137 @@
+package kr.mafoo.photo.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecapLambdaConcurrencyLimiterTest {
+
+    private static final long LATENCY_THRESHOLD = 1000;
+
+    @Test
+    void rejectsAcquireOnceInFlightReachesLimit() {
+        RecapLambdaConcurrencyLimiter limiter = limiter(2, 1, 10);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void releasesSlotWithoutChangingLimitWhenCanceled() {
+        RecapLambdaConcurrencyLimiter limiter = limiter(1, 1, 10);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        limiter.onCancel();
+
+        assertThat(limiter.getLimit()).isEqualTo(1);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    // 한도가 n일 때 빠른 응답마다 1/n씩 늘어나므로 대략 n번 성공해야 1이 늘어남
+    @Test
+    void increasesLimitAdditivelyAfterFastResponses() {
+        RecapLambdaConcurrencyLimiter limiter = limiter(2, 1, 10);
+
+        completeFast(limiter, 1);
+        assertThat(limiter.getLimit()).isEqualTo(2);
+
+        completeFast(limiter, 1);
+        assertThat(limiter.getLimit()).isEqualTo(2);
+
+        completeFast(limiter, 1);
+        assertThat(limiter.getLimit()).isEqualTo(3);
+    }
+
+    @Test
+    void halvesLimitOnFailure() {
+        RecapLambdaConcurrencyLimiter limiter = limiter(8, 1, 10);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        limiter.onFailure();
+
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void halvesLimitOnSlowResponse() {
+        RecapLambdaConcurrencyLimiter limiter = limiter(8, 1, 10);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        limiter.onSuccess(LATENCY_THRESHOLD + 1);
+
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void keepsLimitWithinBounds() {
+        RecapLambdaConcurrencyLimiter limiter = limiter(3, 2, 4);
+
+        completeFast(limiter, 100);
+        assertThat(limiter.getLimit()).isEqualTo(4);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+            limiter.onFailure();
+        }
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    // 여러 요청이 동시에 획득해도 실행 중인 호출 수가 한도를 넘지 않아야 함
+    @Test
+    void neverAdmitsMoreThanLimitConcurrently() throws Exception {
+        int limit = 3;
+        int threads = 16;
+        RecapLambdaConcurrencyLimiter limiter = limiter(limit, limit, limit);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int attempt = 0; attempt < 1000; attempt++) {
+                        if (limiter.tryAcquire()) {
+                            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                            inFlight.decrementAndGet();
+                            limiter.onSuccess(0);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(limit);
+        assertThat(limiter.getLimit()).isEqualTo(limit);
+    }
+
+    private static RecapLambdaConcurrencyLimiter limiter(int initialLimit, int minLimit, int maxLimit) {
+        return new RecapLambdaConcurrencyLimiter(initialLimit, minLimit, maxLimit, LATENCY_THRESHOLD);
+    }
+
+    private static void completeFast(RecapLambdaConcurrencyLimiter limiter, int times) {
+        for (int i = 0; i < times; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+            limiter.onSuccess(LATENCY_THRESHOLD / 2);
+        }
+    }
+}
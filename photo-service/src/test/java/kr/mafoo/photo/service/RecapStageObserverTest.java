@@ -0,0 +1,31 @@
+package kr.mafoo.photo.service;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecapStageObserverTest {
+
+    private final RecapStageObserver observer = new RecapStageObserver(ObservationRegistry.create());
+
+    @Test
+    void bucketsPhotoCountForMetricTags() {
+        assertThat(RecapStageObserver.photoCountBucket(1)).isEqualTo("1-10");
+        assertThat(RecapStageObserver.photoCountBucket(10)).isEqualTo("1-10");
+        assertThat(RecapStageObserver.photoCountBucket(11)).isEqualTo("11-30");
+        assertThat(RecapStageObserver.photoCountBucket(30)).isEqualTo("11-30");
+        assertThat(RecapStageObserver.photoCountBucket(31)).isEqualTo("31+");
+    }
+
+    @Test
+    void keepsExactPhotoCountOnlyAsHighCardinalityKeyValue() {
+        Observation.ContextView context = observer.stage("render", "HEART", 17).getContext();
+
+        assertThat(context.getLowCardinalityKeyValues()).contains(KeyValue.of("photo.count", "11-30"));
+        assertThat(context.getLowCardinalityKeyValues().stream().map(KeyValue::getKey)).doesNotContain("photo.count.exact");
+        assertThat(context.getHighCardinalityKeyValues()).contains(KeyValue.of("photo.count.exact", "17"));
+    }
+}
@@ -0,0 +1,151 @@
+package kr.mafoo.photo.service;
+
+import kr.mafoo.photo.support.ApplicationProperties;
+import kr.mafoo.photo.util.RecapEncodingProperties;
+import org.junit.jupiter.api.Named;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 설정된 인코딩 프로필마다 샘플 앨범을 실제 ffmpeg로 인코딩해 결과 형식과 크기를 확인하고, 소요 시간과 크기는 로그로 남김
+// ffmpeg가 없는 환경에서는 건너뛰며, 다른 위치의 ffmpeg는 -Dffmpeg.path=<경로> 로 지정
+@EnabledIf("ffmpegAvailable")
+class RecapVideoEncoderProfileTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RecapVideoEncoderProfileTest.class);
+
+    private static final String FFMPEG_PATH = System.getProperty("ffmpeg.path", "ffmpeg");
+
+    // 로컬 렌더러와 같은 세로 영상 크기
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 1920;
+
+    static boolean ffmpegAvailable() {
+        try {
+            Process process = new ProcessBuilder(FFMPEG_PATH, "-version")
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            return process.waitFor(10, TimeUnit.SECONDS) && process.exitValue() == 0;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // 리캡에 넣을 수 있는 최소, 중간, 최대 사진 수
+    static Stream<Arguments> profilesAndAlbumSizes() {
+        return ApplicationProperties.bind("recap.encoding", RecapEncodingProperties.class).getProfiles().stream()
+                .flatMap(profile -> Stream.of(2, 5, 10).map(photoCount -> Arguments.of(Named.of(profile.getName(), profile), photoCount)));
+    }
+
+    @ParameterizedTest(name = "{0} profile, {1} photos")
+    @MethodSource("profilesAndAlbumSizes")
+    void encodesSampleAlbumWithProfile(RecapEncodingProperties.Profile profile, int photoCount, @TempDir Path workspace) throws Exception {
+        RecapVideoEncoder recapVideoEncoder = encoderWithOnly(profile);
+        List<BufferedImage> frames = sampleAlbum(photoCount);
+        AtomicReference<byte[]> video = new AtomicReference<>();
+
+        long startedAt = System.nanoTime();
+        recapVideoEncoder.encode(workspace, WIDTH, HEIGHT, frames.iterator(), inputStream -> Mono.fromCallable(() -> {
+                    video.set(inputStream.readAllBytes());
+                    return "recap.mp4";
+                })
+                .subscribeOn(Schedulers.boundedElastic()));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        log.info("Encoded recap with profile {} (preset={}, crf={}, threads={}, faststart={}): {} photos in {}ms, {}KB",
+                profile.getName(), profile.getPreset(), profile.getCrf(), profile.getThreads(), profile.isFaststart(),
+                photoCount, elapsedMillis, video.get().length / 1024);
+
+        // MP4는 ftyp 박스로 시작
+        String boxes = new String(video.get(), StandardCharsets.ISO_8859_1);
+        assertThat(boxes.substring(4, 8)).isEqualTo("ftyp");
+        // faststart는 moov가 mdat 앞에 오고, 스트리밍은 moof 조각으로 나뉨
+        if (profile.isFaststart()) {
+            assertThat(boxes.indexOf("moov")).isLessThan(boxes.indexOf("mdat"));
+        } else {
+            assertThat(boxes).contains("moof");
+        }
+        // 프레임당 원본 크기의 10분의 1도 안 되게 압축되어야 업로드와 저장 비용이 의미 있게 줄어듦
+        assertThat((long) video.get().length).isPositive().isLessThan((long) photoCount * WIDTH * HEIGHT * 3 / 10);
+    }
+
+    // 운영 설정 그대로면 작업 공간에 파일을 남기지 않고 fragmented MP4(moof)를 바로 흘려보냄
+    @Test
+    void streamsFragmentedMp4WithShippedDefaultProfile(@TempDir Path workspace) throws Exception {
+        RecapVideoEncoder recapVideoEncoder = new RecapVideoEncoder(ApplicationProperties.bind("recap.encoding", RecapEncodingProperties.class));
+        ReflectionTestUtils.setField(recapVideoEncoder, "ffmpegPath", FFMPEG_PATH);
+        AtomicReference<byte[]> video = new AtomicReference<>();
+
+        recapVideoEncoder.encode(workspace, WIDTH, HEIGHT, sampleAlbum(2).iterator(), inputStream -> Mono.fromCallable(() -> {
+                    video.set(inputStream.readAllBytes());
+                    return "recap.mp4";
+                })
+                .subscribeOn(Schedulers.boundedElastic()));
+
+        assertThat(workspace).isEmptyDirectory();
+        assertThat(new String(video.get(), StandardCharsets.ISO_8859_1)).contains("moof");
+    }
+
+    private static RecapVideoEncoder encoderWithOnly(RecapEncodingProperties.Profile profile) {
+        RecapEncodingProperties.Profile selected = new RecapEncodingProperties.Profile();
+        selected.setName(profile.getName());
+        selected.setMinQueueDepth(0);
+        selected.setPreset(profile.getPreset());
+        selected.setCrf(profile.getCrf());
+        selected.setThreads(profile.getThreads());
+        selected.setPixelFormat(profile.getPixelFormat());
+        selected.setFaststart(profile.isFaststart());
+
+        RecapEncodingProperties properties = new RecapEncodingProperties();
+        properties.setProfiles(List.of(selected));
+
+        RecapVideoEncoder recapVideoEncoder = new RecapVideoEncoder(properties);
+        ReflectionTestUtils.setField(recapVideoEncoder, "ffmpegPath", FFMPEG_PATH);
+        return recapVideoEncoder;
+    }
+
+    // 단색 배경은 압축이 너무 잘 되므로 사진처럼 그라데이션과 잡음이 섞인 프레임을 사용
+    private static List<BufferedImage> sampleAlbum(int photoCount) {
+        Random random = new Random(photoCount);
+        return IntStream.range(0, photoCount)
+                .mapToObj(index -> {
+                    BufferedImage frame = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_3BYTE_BGR);
+                    Graphics2D g2d = frame.createGraphics();
+                    g2d.setPaint(new GradientPaint(0, 0, new Color(random.nextInt()), WIDTH, HEIGHT, new Color(random.nextInt())));
+                    g2d.fillRect(0, 0, WIDTH, HEIGHT);
+                    for (int i = 0; i < 2000; i++) {
+                        g2d.setColor(new Color(random.nextInt()));
+                        g2d.fillOval(random.nextInt(WIDTH), random.nextInt(HEIGHT), 4 + random.nextInt(40), 4 + random.nextInt(40));
+                    }
+                    g2d.dispose();
+                    return frame;
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,32 @@
+package kr.mafoo.photo.support;
+
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+// 스프링 컨텍스트 없이 application.yaml 의 설정 묶음을 운영과 같은 방식으로 바인딩
+public final class ApplicationProperties {
+
+    private static final String APPLICATION_YAML = "application.yaml";
+
+    private ApplicationProperties() {
+    }
+
+    public static <T> T bind(String prefix, Class<T> type) {
+        try {
+            List<PropertySource<?>> propertySources = new YamlPropertySourceLoader()
+                    .load(APPLICATION_YAML, new ClassPathResource(APPLICATION_YAML));
+            return new Binder(ConfigurationPropertySources.from(propertySources))
+                    .bind(prefix, type)
+                    .orElseThrow(() -> new IllegalStateException("No properties under " + prefix));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
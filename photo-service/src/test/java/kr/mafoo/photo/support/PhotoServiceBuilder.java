@@ -0,0 +1,129 @@
+package kr.mafoo.photo.support;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kr.mafoo.photo.repository.PhotoRepository;
+import kr.mafoo.photo.repository.QrImportRepository;
+import kr.mafoo.photo.service.AlbumCommand;
+import kr.mafoo.photo.service.AlbumPermissionVerifier;
+import kr.mafoo.photo.service.AlbumQuery;
+import kr.mafoo.photo.service.ObjectStorageService;
+import kr.mafoo.photo.service.PhotoCommand;
+import kr.mafoo.photo.service.PhotoObjectService;
+import kr.mafoo.photo.service.PhotoPermissionVerifier;
+import kr.mafoo.photo.service.PhotoQuery;
+import kr.mafoo.photo.service.PhotoService;
+import kr.mafoo.photo.service.QrService;
+import kr.mafoo.photo.service.RecapCacheService;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// PhotoService 의존성이 바뀌어도 테스트와 벤치마크는 필요한 협력 객체만 지정하도록 생성을 한곳에 모음
+// 지정하지 않은 의존성은 mock, 트랜잭션 경계는 DB 없이 그대로 통과
+public class PhotoServiceBuilder {
+
+    private PhotoQuery photoQuery = mock(PhotoQuery.class);
+    private PhotoCommand photoCommand = mock(PhotoCommand.class);
+    private PhotoPermissionVerifier photoPermissionVerifier = mock(PhotoPermissionVerifier.class);
+    private AlbumQuery albumQuery = mock(AlbumQuery.class);
+    private AlbumCommand albumCommand = mock(AlbumCommand.class);
+    private AlbumPermissionVerifier albumPermissionVerifier = mock(AlbumPermissionVerifier.class);
+    private QrService qrService = mock(QrService.class);
+    private ObjectStorageService objectStorageService = mock(ObjectStorageService.class);
+    private PhotoObjectService photoObjectService = mock(PhotoObjectService.class);
+    private RecapCacheService recapCacheService = mock(RecapCacheService.class);
+    private QrImportRepository qrImportRepository = mock(QrImportRepository.class);
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TransactionalOperator transactionalOperator = passThroughTransactionalOperator();
+    private PhotoRepository photoRepository = mock(PhotoRepository.class);
+    private int uploadCheckConcurrency = 8;
+
+    public static PhotoServiceBuilder photoService() {
+        return new PhotoServiceBuilder();
+    }
+
+    public PhotoServiceBuilder photoQuery(PhotoQuery photoQuery) {
+        this.photoQuery = photoQuery;
+        return this;
+    }
+
+    public PhotoServiceBuilder photoCommand(PhotoCommand photoCommand) {
+        this.photoCommand = photoCommand;
+        return this;
+    }
+
+    public PhotoServiceBuilder albumCommand(AlbumCommand albumCommand) {
+        this.albumCommand = albumCommand;
+        return this;
+    }
+
+    public PhotoServiceBuilder albumPermissionVerifier(AlbumPermissionVerifier albumPermissionVerifier) {
+        this.albumPermissionVerifier = albumPermissionVerifier;
+        return this;
+    }
+
+    public PhotoServiceBuilder qrService(QrService qrService) {
+        this.qrService = qrService;
+        return this;
+    }
+
+    public PhotoServiceBuilder objectStorageService(ObjectStorageService objectStorageService) {
+        this.objectStorageService = objectStorageService;
+        return this;
+    }
+
+    public PhotoServiceBuilder photoObjectService(PhotoObjectService photoObjectService) {
+        this.photoObjectService = photoObjectService;
+        return this;
+    }
+
+    public PhotoServiceBuilder qrImportRepository(QrImportRepository qrImportRepository) {
+        this.qrImportRepository = qrImportRepository;
+        return this;
+    }
+
+    public PhotoServiceBuilder meterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        return this;
+    }
+
+    public PhotoServiceBuilder photoRepository(PhotoRepository photoRepository) {
+        this.photoRepository = photoRepository;
+        return this;
+    }
+
+    public PhotoService build() {
+        PhotoService photoService = new PhotoService(
+                photoQuery,
+                photoCommand,
+                photoPermissionVerifier,
+                albumQuery,
+                albumCommand,
+                albumPermissionVerifier,
+                qrService,
+                objectStorageService,
+                photoObjectService,
+                recapCacheService,
+                qrImportRepository,
+                meterRegistry,
+                transactionalOperator,
+                photoRepository
+        );
+        ReflectionTestUtils.setField(photoService, "uploadCheckConcurrency", uploadCheckConcurrency);
+        return photoService;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static TransactionalOperator passThroughTransactionalOperator() {
+        TransactionalOperator transactionalOperator = mock(TransactionalOperator.class);
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(transactionalOperator.transactional(any(Flux.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        return transactionalOperator;
+    }
+}
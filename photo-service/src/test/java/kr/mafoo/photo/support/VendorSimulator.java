@@ -0,0 +1,220 @@
+package kr.mafoo.photo.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.mafoo.photo.domain.enums.BrandType;
+import kr.mafoo.photo.service.QrService;
+import kr.mafoo.photo.service.QrVendorCircuitBreaker;
+import kr.mafoo.photo.service.vendors.DontLookUpQrVendor;
+import kr.mafoo.photo.service.vendors.HaruFilmQrVendor;
+import kr.mafoo.photo.service.vendors.LifeFourCutsQrVendor;
+import kr.mafoo.photo.service.vendors.MafooQrVendor;
+import kr.mafoo.photo.service.vendors.MonoMansionQrVendor;
+import kr.mafoo.photo.service.vendors.MyFourCutQrVendor;
+import kr.mafoo.photo.service.vendors.PhotoGrayQrVendor;
+import kr.mafoo.photo.service.vendors.PhotoSignatureQrVendor;
+import kr.mafoo.photo.service.vendors.PhotoismQrVendor;
+import kr.mafoo.photo.service.vendors.PicDotQrVendor;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// 실제 브랜드 서버 대신 녹화된 응답(리다이렉트, 지연, 만료 페이지)을 재생하는 로컬 서버
+// 브랜드마다 vendor-recordings/<brand>.json 이 있어야 하며, 요청은 원래 host + 메서드 + 경로(쿼리 포함)로 찾음
+public class VendorSimulator implements Closeable {
+
+    private static final String RECORDING_PATH = "vendor-recordings/";
+    private static final String SIMULATED_HOST_HEADER = "X-Simulated-Host";
+
+    private final MockWebServer server = new MockWebServer();
+    private final Map<BrandType, VendorRecording> recordings;
+    private final Map<String, byte[]> bodyFiles = new ConcurrentHashMap<>();
+
+    private VendorSimulator(Map<BrandType, VendorRecording> recordings) {
+        this.recordings = Collections.unmodifiableMap(recordings);
+        this.server.setDispatcher(new RecordingDispatcher());
+    }
+
+    public static VendorSimulator start() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<BrandType, VendorRecording> recordings = new EnumMap<>(BrandType.class);
+
+        for (BrandType brandType : BrandType.values()) {
+            // 직접 업로드한 사진용 타입이라 브랜드 서버가 없음
+            if (brandType == BrandType.EXTERNAL) {
+                continue;
+            }
+            try (InputStream inputStream = openResource(recordingFileName(brandType))) {
+                recordings.put(brandType, objectMapper.readValue(inputStream, VendorRecording.class));
+            }
+        }
+
+        VendorSimulator vendorSimulator = new VendorSimulator(recordings);
+        vendorSimulator.server.start();
+        return vendorSimulator;
+    }
+
+    public VendorRecording recording(BrandType brandType) {
+        return recordings.get(brandType);
+    }
+
+    public byte[] sampleImage() {
+        return readBodyFile("sample.jpg");
+    }
+
+    // 운영 externalWebClient와 같은 설정에, 모든 요청을 시뮬레이터로 돌리는 필터만 추가
+    public WebClient webClient() {
+        DefaultUriBuilderFactory factory = new DefaultUriBuilderFactory();
+        factory.setEncodingMode(DefaultUriBuilderFactory.EncodingMode.NONE);
+        return WebClient.builder()
+                .uriBuilderFactory(factory)
+                .codecs(clientCodecConfigurer -> clientCodecConfigurer
+                        .defaultCodecs()
+                        .maxInMemorySize(16 * 1024 * 1024))
+                .filter(this::redirectToSimulator)
+                .build();
+    }
+
+    // 운영과 같은 재시도와 서킷 브레이커 설정으로 모든 브랜드를 시뮬레이터에 연결한 QrService
+    public QrService qrService() {
+        WebClient webClient = webClient();
+        QrService qrService = new QrService(
+                new LifeFourCutsQrVendor(webClient),
+                new PhotoismQrVendor(webClient),
+                new DontLookUpQrVendor(webClient),
+                new HaruFilmQrVendor(webClient),
+                new MyFourCutQrVendor(webClient),
+                new PhotoGrayQrVendor(webClient),
+                new MonoMansionQrVendor(webClient),
+                new PhotoSignatureQrVendor(webClient),
+                new PicDotQrVendor(webClient),
+                new MafooQrVendor(webClient),
+                new QrVendorCircuitBreaker(5, 30000)
+        );
+        ReflectionTestUtils.setField(qrService, "vendorTimeout", 10000L);
+        ReflectionTestUtils.setField(qrService, "vendorRetryMaxAttempts", 2);
+        ReflectionTestUtils.setField(qrService, "vendorRetryBackoff", 20L);
+        ReflectionTestUtils.setField(qrService, "videoTimeout", 60000L);
+        return qrService;
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.shutdown();
+    }
+
+    // 브랜드 코드는 host를 그대로 쓰므로, 경로와 쿼리는 유지하고 host만 헤더로 옮겨 시뮬레이터로 보냄
+    private Mono<ClientResponse> redirectToSimulator(ClientRequest request, ExchangeFunction next) {
+        URI url = request.url();
+        String rawQuery = url.getRawQuery();
+        URI simulatedUrl = URI.create("http://" + server.getHostName() + ":" + server.getPort()
+                + url.getRawPath() + (rawQuery != null ? "?" + rawQuery : ""));
+
+        return next.exchange(ClientRequest.from(request)
+                .url(simulatedUrl)
+                .header(SIMULATED_HOST_HEADER, url.getHost())
+                .build());
+    }
+
+    private MockResponse toMockResponse(RecordedExchange exchange) {
+        MockResponse response = new MockResponse().setResponseCode(exchange.status());
+        if (exchange.headers() != null) {
+            exchange.headers().forEach(response::setHeader);
+        }
+        if (exchange.bodyFile() != null) {
+            response.setBody(new Buffer().write(readBodyFile(exchange.bodyFile())));
+        } else if (exchange.body() != null) {
+            response.setBody(exchange.body());
+        }
+        if (exchange.delayMillis() > 0) {
+            response.setHeadersDelay(exchange.delayMillis(), TimeUnit.MILLISECONDS);
+        }
+        return response;
+    }
+
+    private byte[] readBodyFile(String bodyFile) {
+        return bodyFiles.computeIfAbsent(bodyFile, fileName -> {
+            try (InputStream inputStream = openResource(RECORDING_PATH + fileName)) {
+                return inputStream.readAllBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static String recordingFileName(BrandType brandType) {
+        return RECORDING_PATH + brandType.name().toLowerCase().replace('_', '-') + ".json";
+    }
+
+    private static InputStream openResource(String path) throws IOException {
+        InputStream inputStream = VendorSimulator.class.getClassLoader().getResourceAsStream(path);
+        if (inputStream == null) {
+            throw new IOException("Vendor recording not found: " + path);
+        }
+        return inputStream;
+    }
+
+    private class RecordingDispatcher extends Dispatcher {
+        @Override
+        public MockResponse dispatch(RecordedRequest request) {
+            String host = request.getHeader(SIMULATED_HOST_HEADER);
+            String body = request.getBody().readUtf8();
+
+            // 녹화되지 않은 요청은 브랜드 서버의 404처럼 응답해 테스트에서 만료로 드러나게 함
+            return recordings.values().stream()
+                    .flatMap(recording -> recording.exchanges().stream())
+                    .filter(exchange -> exchange.matches(host, request.getMethod(), request.getPath(), body))
+                    .findFirst()
+                    .map(VendorSimulator.this::toMockResponse)
+                    .orElseGet(() -> new MockResponse().setResponseCode(404).setBody("No recording for " + host + request.getPath()));
+        }
+    }
+
+    public record VendorRecording(
+            BrandType brand,
+            String validQrUrl,
+            String expiredQrUrl,
+            String unavailableQrUrl,
+            List<RecordedExchange> exchanges
+    ) {
+    }
+
+    public record RecordedExchange(
+            String host,
+            String method,
+            String path,
+            String bodyContains,
+            int status,
+            Map<String, String> headers,
+            String body,
+            String bodyFile,
+            long delayMillis
+    ) {
+        boolean matches(String requestHost, String requestMethod, String requestPath, String requestBody) {
+            return host.equals(requestHost)
+                    && method.equals(requestMethod)
+                    && path.equals(requestPath)
+                    && (bodyContains == null || requestBody.contains(bodyContains));
+        }
+    }
+}
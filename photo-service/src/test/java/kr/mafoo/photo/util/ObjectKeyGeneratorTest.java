@@ -0,0 +1,26 @@
+package kr.mafoo.photo.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ObjectKeyGeneratorTest {
+
+    // 정리 작업이 변형에서 원본을 찾아 참조 여부를 확인하므로 변형 키는 항상 원본 키로 되돌아가야 함
+    @Test
+    void derivativeOfUploadedOriginalMapsBackToOriginal() {
+        String originalKey = "original/member/m1/2024/07/01/01J1.png";
+
+        String derivativeKey = ObjectKeyGenerator.derivativeOfOriginal(originalKey, "thumbnail");
+
+        assertThat(derivativeKey).isEqualTo("derivative/member/m1/2024/07/01/01J1.png_thumbnail.jpeg");
+        assertThat(ObjectKeyGenerator.originalOfDerivative(derivativeKey)).isEqualTo(originalKey);
+    }
+
+    @Test
+    void rejectsDerivativeOfKeyOutsideOriginalPrefix() {
+        assertThatThrownBy(() -> ObjectKeyGenerator.derivativeOfOriginal("sumone/photo.jpeg", "medium"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
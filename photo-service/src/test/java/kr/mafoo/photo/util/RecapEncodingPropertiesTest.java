@@ -0,0 +1,64 @@
+package kr.mafoo.photo.util;
+
+import kr.mafoo.photo.support.ApplicationProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecapEncodingPropertiesTest {
+
+    // 운영 설정의 기준값이 바뀌면 이 표도 같이 바꿔야 함
+    @ParameterizedTest
+    @CsvSource({
+            "0, quality",
+            "1, quality",
+            "2, balanced",
+            "3, balanced",
+            "4, fast",
+            "50, fast"
+    })
+    void selectsConfiguredProfileByQueueDepth(int queueDepth, String expectedProfile) {
+        RecapEncodingProperties properties = ApplicationProperties.bind("recap.encoding", RecapEncodingProperties.class);
+
+        assertThat(properties.selectProfile(queueDepth).getName()).isEqualTo(expectedProfile);
+    }
+
+    // 임시 파일을 거치는 faststart는 프로필별로 명시해야만 쓰이고, 기본 프로필은 파이프로 스트리밍
+    @Test
+    void defaultProfileStreamsWithoutFaststart() {
+        RecapEncodingProperties properties = ApplicationProperties.bind("recap.encoding", RecapEncodingProperties.class);
+
+        assertThat(properties.selectProfile(0).isFaststart()).isFalse();
+    }
+
+    @Test
+    void selectsHighestReachedThresholdRegardlessOfDeclarationOrder() {
+        RecapEncodingProperties properties = new RecapEncodingProperties();
+        properties.setProfiles(List.of(profile("fast", 4), profile("quality", 0), profile("balanced", 2)));
+
+        assertThat(properties.selectProfile(0).getName()).isEqualTo("quality");
+        assertThat(properties.selectProfile(3).getName()).isEqualTo("balanced");
+        assertThat(properties.selectProfile(7).getName()).isEqualTo("fast");
+    }
+
+    @Test
+    void failsWhenNoProfileCoversQueueDepth() {
+        RecapEncodingProperties properties = new RecapEncodingProperties();
+        properties.setProfiles(List.of(profile("balanced", 2)));
+
+        assertThatThrownBy(() -> properties.selectProfile(1))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static RecapEncodingProperties.Profile profile(String name, int minQueueDepth) {
+        RecapEncodingProperties.Profile profile = new RecapEncodingProperties.Profile();
+        profile.setName(name);
+        profile.setMinQueueDepth(minQueueDepth);
+        return profile;
+    }
+}